@@ -2,6 +2,7 @@ package Project.ProjectBackend.config;
 
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
@@ -22,6 +23,10 @@ public class AwsS3Config {
     @Value("${cloud.aws.region.static}")
     private String region;
 
+    // 로컬 S3 호환 서버(MinIO, LocalStack 등)로 테스트할 때만 지정 (예: http://localhost:9000)
+    @Value("${cloud.aws.s3.endpoint:}")
+    private String endpoint;
+
     @PostConstruct
     public void testKey() {
         System.out.println("✅ 액세스 키: " + accessKey);
@@ -30,9 +35,16 @@ public class AwsS3Config {
     @Bean
     public AmazonS3 amazonS3() {
         BasicAWSCredentials credentials = new BasicAWSCredentials(accessKey, secretKey);
-        return AmazonS3ClientBuilder.standard()
-                .withRegion(Regions.fromName(region))
-                .withCredentials(new AWSStaticCredentialsProvider(credentials))
-                .build();
+        AmazonS3ClientBuilder builder = AmazonS3ClientBuilder.standard()
+                .withCredentials(new AWSStaticCredentialsProvider(credentials));
+
+        if (endpoint.isEmpty()) {
+            builder.withRegion(Regions.fromName(region));
+        } else {
+            // 로컬 서버는 버킷 서브도메인을 쓸 수 없으므로 경로 방식 주소 사용
+            builder.withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpoint, region))
+                    .withPathStyleAccessEnabled(true);
+        }
+        return builder.build();
     }
 }
@@ -0,0 +1,12 @@
+package Project.ProjectBackend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+// JPA 기본 설정 (application.yml 등 외부 설정이 있으면 그 값이 우선)
+// - open-in-view 비활성화: 컨트롤러/직렬화 단계의 숨은 지연 로딩을 허용하지 않음
+// - batch fetch size: 지연 로딩되는 연관관계/컬렉션을 IN 절로 묶어서 조회
+@Configuration
+@PropertySource("classpath:jpa-defaults.properties")
+public class JpaConfig {
+}
@@ -0,0 +1,30 @@
+package Project.ProjectBackend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+import org.springframework.web.servlet.DispatcherServlet;
+
+// 스트리밍 업로드(/api/uploads/stream/**)는 컨트롤러가 요청 본문을 직접 읽으므로
+// DispatcherServlet이 먼저 multipart를 해석(컨테이너가 파트 전체를 임시 파일로 저장)하지 않도록 제외
+// 나머지 요청은 기본 설정(spring.servlet.multipart.*)과 같게 처리
+@Configuration
+public class MultipartConfig {
+
+    private static final String STREAMING_UPLOAD_PATH = "/api/uploads/stream/";
+
+    @Bean(name = DispatcherServlet.MULTIPART_RESOLVER_BEAN_NAME)
+    public StandardServletMultipartResolver multipartResolver(MultipartProperties multipartProperties) {
+        StandardServletMultipartResolver resolver = new StandardServletMultipartResolver() {
+            @Override
+            public boolean isMultipart(HttpServletRequest request) {
+                String path = request.getRequestURI().substring(request.getContextPath().length());
+                return !path.startsWith(STREAMING_UPLOAD_PATH) && super.isMultipart(request);
+            }
+        };
+        resolver.setResolveLazily(multipartProperties.isResolveLazily());
+        return resolver;
+    }
+}
@@ -14,13 +14,16 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -208,8 +211,7 @@ public class AdminController {
     // 아이템 상세(단건) 조회
     @GetMapping("/admin/items/{itemId}")
     public ResponseEntity<ItemResponseDto> getItem(@PathVariable Long itemId) {
-        Item item = adminService.getItemById(itemId);
-        ItemResponseDto responseDto = ItemResponseDto.from(item);
+        ItemResponseDto responseDto = adminService.getItemById(itemId);
         return ResponseEntity.ok(responseDto);
     }
 
@@ -282,6 +284,14 @@ public class AdminController {
     }
 
 
+    // 카테고리별 상품 수 보정
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PostMapping("/admin/item-categories/item-count/reconcile")
+    public ResponseEntity<String> reconcileItemCategoryCounts() {
+        adminService.reconcileItemCategoryCounts();
+        return ResponseEntity.ok("카테고리 상품 수 보정 완료");
+    }
+
     // 아이템 카테고리 삭제
     @DeleteMapping("/admin/item-categories/{id}")
     public ResponseEntity<String> deleteCategory(@PathVariable Long id) {
@@ -387,6 +397,14 @@ public class AdminController {
         return ResponseEntity.ok(updatedPost);
     }
 
+    // 게시글 댓글 수 보정 (실제 댓글 수와 어긋난 comment_count 재계산)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PostMapping("/admin/posts/comment-count/reconcile")
+    public ResponseEntity<String> reconcileCommentCounts() {
+        int repaired = adminService.reconcileCommentCounts();
+        return ResponseEntity.ok("댓글 수 보정 완료: " + repaired + "건 수정");
+    }
+
 
     //    ======= 포스트 카테고리 관리 =========
     // 게시글 카테고리 전체 조회
@@ -462,6 +480,78 @@ public class AdminController {
     }
 
 
+    // 일별 매출 (dimension=TOTAL|SELLER|ITEM|CATEGORY, TOTAL 이외에는 key 필수)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/admin/sales/daily")
+    public ResponseEntity<List<SalesDailyDto>> getDailySales(
+            @RequestParam(defaultValue = "TOTAL") SalesDimension dimension,
+            @RequestParam(required = false) String key,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(adminService.getDailySales(dimension, key, from, to));
+    }
+
+    // 기간 매출 상위 목록
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/admin/sales/ranking")
+    public ResponseEntity<List<SalesDailyDto>> getSalesRanking(
+            @RequestParam(defaultValue = "SELLER") SalesDimension dimension,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(adminService.getSalesRanking(dimension, from, to, limit));
+    }
+
+    // 기간 매출 집계 재구성
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PostMapping("/admin/sales/rebuild")
+    public ResponseEntity<String> rebuildSales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        int rows = adminService.rebuildSales(from, to);
+        return ResponseEntity.ok("매출 집계 재구성 완료 - " + rows + "건");
+    }
+
+    // S3 이미지 삭제 대기열 상태 (대기/멈춤 건수, 누적 삭제/실패 수)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/admin/images/deletion-queue")
+    public ResponseEntity<S3DeletionStatsDto> getImageDeletionStats() {
+        return ResponseEntity.ok(adminService.getImageDeletionStats());
+    }
+
+    // 고아 이미지(DB에서 참조하지 않는 S3 객체) 정리 - 기본은 dry-run 보고서만 생성
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PostMapping("/admin/images/orphans/collect")
+    public ResponseEntity<OrphanImageReportDto> collectOrphanImages(
+            @RequestParam(defaultValue = "true") boolean dryRun) {
+        return ResponseEntity.ok(adminService.collectOrphanImages(dryRun));
+    }
+
+    // 쿠폰 수정 (발급/사용 중인 쿠폰 캐시도 갱신)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PutMapping("/admin/coupons/{couponId}")
+    public ResponseEntity<CouponDto> updateCoupon(@PathVariable Long couponId,
+                                                  @RequestBody CouponUpdateRequestDto requestDto) {
+        return ResponseEntity.ok(adminService.updateCoupon(couponId, requestDto));
+    }
+
+    // 쿠폰 삭제 (주문에 사용된 쿠폰은 삭제 불가)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @DeleteMapping("/admin/coupons/{couponId}")
+    public ResponseEntity<String> deleteCoupon(@PathVariable Long couponId) {
+        adminService.deleteCoupon(couponId);
+        return ResponseEntity.ok("쿠폰이 삭제되었습니다.");
+    }
+
+    // 마지막 고아 이미지 정리 결과 (실행한 적 없으면 204)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/admin/images/orphans")
+    public ResponseEntity<OrphanImageReportDto> getLastOrphanImageReport() {
+        OrphanImageReportDto report = adminService.getLastOrphanImageReport();
+        return report != null ? ResponseEntity.ok(report) : ResponseEntity.noContent().build();
+    }
+
+
 
 
 
@@ -1,9 +1,40 @@
 package Project.ProjectBackend.controller;
 
+import Project.ProjectBackend.dto.CouponDto;
+import Project.ProjectBackend.entity.Member;
+import Project.ProjectBackend.service.AuthService;
+import Project.ProjectBackend.service.CouponService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/api")
+@RequiredArgsConstructor
 public class CouponController {
+
+    private final CouponService couponService;
+    private final AuthService authService;
+
+    // 쿠폰 정보 + 남은 수량
+    @GetMapping("/coupons/{couponCode}")
+    public ResponseEntity<CouponDto> getCoupon(@PathVariable String couponCode) {
+        CouponService.CouponInfo coupon = couponService.getCoupon(couponCode);
+        return ResponseEntity.ok(CouponDto.from(coupon, couponService.getRemainingQuantity(coupon)));
+    }
+
+    // 선착순 쿠폰 발급
+    @PreAuthorize("hasAuthority('ROLE_USER') or hasAuthority('ROLE_ADMIN')")
+    @PostMapping("/coupons/{couponCode}/issue")
+    public ResponseEntity<CouponDto> issueCoupon(@PathVariable String couponCode) {
+        Member currentUser = authService.getCurrentUser();
+        CouponService.CouponInfo coupon = couponService.issue(couponCode, currentUser.getMemberId());
+        return new ResponseEntity<>(CouponDto.from(coupon, couponService.getRemainingQuantity(coupon)), HttpStatus.CREATED);
+    }
 }
@@ -1,15 +1,16 @@
 package Project.ProjectBackend.controller;
 
 import Project.ProjectBackend.dto.ItemCategorySimpleDto;
-import Project.ProjectBackend.dto.ItemCategoryTreeDto;
-import Project.ProjectBackend.entity.ItemCategory;
-import Project.ProjectBackend.repository.ItemCategoryRepository;
+import Project.ProjectBackend.service.ItemCategoryTreeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,35 +18,41 @@ import java.util.List;
 @RequestMapping("/api/item-categories")
 @RequiredArgsConstructor
 public class ItemCategoryController {
-    private final ItemCategoryRepository itemCategoryRepository;
+    private final ItemCategoryTreeService itemCategoryTreeService;
 
     // 모든 카테고리
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     public List<ItemCategorySimpleDto> getAllCategories() {
-        return itemCategoryRepository.findAll()
-                .stream()
-                .map(ItemCategorySimpleDto::from)
-                .toList();
+        return itemCategoryTreeService.current().all();
     }
 
 
-    // 트리 구조
+    // 트리 구조 (미리 직렬화된 JSON, ETag가 같으면 304)
     @GetMapping("/tree")
-    public List<ItemCategoryTreeDto> getCategoryTree() {
-        List<ItemCategory> roots = itemCategoryRepository.findByParentIsNull();
-        return roots.stream().map(ItemCategoryTreeDto::from).toList();
+    public ResponseEntity<byte[]> getCategoryTree(WebRequest request) {
+        ItemCategoryTreeService.Snapshot snapshot = itemCategoryTreeService.current();
+
+        if (request.checkNotModified(snapshot.etag())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.treeJson());
     }
 
     // 최상위 카테고리
     @GetMapping("/top-level")
-    public List<ItemCategory> getTopCategories() {
-        return itemCategoryRepository.findByParentIsNull();
+    public List<ItemCategorySimpleDto> getTopCategories() {
+        return itemCategoryTreeService.current().topLevel();
     }
 
     // 특정 부모의 자식 카테고리들
     @GetMapping("/{parentId}/children")
-    public List<ItemCategory> getSubCategories(@PathVariable Long parentId) {
-        return itemCategoryRepository.findByParentCategoryId(parentId);
+    public List<ItemCategorySimpleDto> getSubCategories(@PathVariable Long parentId) {
+        return itemCategoryTreeService.current().children(parentId);
     }
 
 }
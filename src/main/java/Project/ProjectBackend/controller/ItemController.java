@@ -1,15 +1,19 @@
         package Project.ProjectBackend.controller;
 
 
+        import Project.ProjectBackend.dto.CursorSliceDto;
         import Project.ProjectBackend.dto.ItemListDto;
         import Project.ProjectBackend.dto.PostResponseDto;
         import Project.ProjectBackend.entity.Item;
         import Project.ProjectBackend.dto.ItemRequestDto;
         import Project.ProjectBackend.dto.ItemResponseDto;
+        import Project.ProjectBackend.dto.ItemStockDto;
         import Project.ProjectBackend.entity.Member;
         import Project.ProjectBackend.service.AuthService;
+        import Project.ProjectBackend.service.IdempotencyService;
         import Project.ProjectBackend.service.ItemService;
         import Project.ProjectBackend.service.SortService;
+        import Project.ProjectBackend.service.StockReservationService;
         import jakarta.validation.Valid;
         import lombok.RequiredArgsConstructor;
         import org.springframework.data.domain.*;
@@ -18,6 +22,7 @@
         import org.springframework.web.bind.annotation.*;
         import org.springframework.web.multipart.MultipartFile;
 
+        import java.util.Arrays;
         import java.util.List;
 
         @RestController
@@ -27,12 +32,15 @@
 
             private final ItemService itemService;
             private final AuthService authService;
+            private final IdempotencyService idempotencyService;
             private final SortService sortService;
+            private final StockReservationService stockReservationService;
 
             // 1. 모든 아이템 목록 조회
             @GetMapping("/items/list")
             public ResponseEntity<Slice<ItemResponseDto>> getAllItems(
                     @RequestParam(required = false) String category,
+                    @RequestParam(required = false) Long categoryId,
                     @RequestParam(defaultValue = "0") int page,
                     @RequestParam(defaultValue = "10") int size,
                     @RequestParam(defaultValue = "latest") String sortOption) {
@@ -40,29 +48,49 @@
                 Sort sortOrder = sortService.createSort(sortOption, "item"); // 🔹 SortService 사용
                 Pageable pageable = PageRequest.of(page, size, sortOrder);
 
-                Slice<Item> itemSlice;
+                Slice<ItemResponseDto> itemDtoSlice;
 
-                if (category != null && !category.isEmpty()) {
-                    itemSlice = itemService.getItemsByCategoryName(category, pageable);
+                if (categoryId != null) {
+                    itemDtoSlice = itemService.getItemsInCategoryTree(categoryId, pageable);
+                } else if (category != null && !category.isEmpty()) {
+                    itemDtoSlice = itemService.getItemsByCategoryName(category, pageable);
                 } else {
-                    itemSlice = itemService.getAllItems(pageable);
+                    itemDtoSlice = itemService.getAllItems(pageable);
                 }
 
-                Slice<ItemResponseDto> itemDtoSlice = itemSlice.map(ItemResponseDto::fromForList);
                 return ResponseEntity.ok(itemDtoSlice);
             }
 
+            // 1-1. 아이템 목록 커서 조회 (무한 스크롤용, 첫 페이지는 cursor= 빈 값)
+            @GetMapping(value = "/items/list", params = "cursor")
+            public ResponseEntity<CursorSliceDto<ItemResponseDto>> getAllItemsByCursor(
+                    @RequestParam(required = false) String category,
+                    @RequestParam(required = false) String cursor,
+                    @RequestParam(defaultValue = "10") int size,
+                    @RequestParam(defaultValue = "latest") String sortOption) {
+
+                Sort sortOrder = sortService.createSort(sortOption, "item");
+                CursorSliceDto<Item> itemSlice = itemService.getItemsByCursor(category, cursor, sortOrder, size);
+
+                return ResponseEntity.ok(itemSlice.map(ItemResponseDto::fromForList));
+            }
+
             // 2. 아이템 등록
             @PreAuthorize("hasAuthority('ROLE_USER')")
             @PostMapping("/items/new")
             public ResponseEntity<ItemResponseDto> createItem(
                     @RequestPart(value = "itemData") @Valid ItemRequestDto itemRequestDto,
-                    @RequestPart(value = "imageFiles", required = false) List<MultipartFile> imageFiles) {
+                    @RequestPart(value = "imageFiles", required = false) List<MultipartFile> imageFiles,
+                    @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
 
                 Member currentUser = authService.getCurrentUser(); // 현재 로그인된 사용자
 
-                Item createdItem = itemService.createItem(itemRequestDto, currentUser, imageFiles); // 이미지 파일 전달
-                return ResponseEntity.ok(ItemResponseDto.from(createdItem));
+                // 같은 Idempotency-Key로 재시도하면 상품을 다시 등록하지 않고 처음 응답을 돌려줌
+                return idempotencyService.execute(idempotencyKey, currentUser.getMemberId() + ":POST /items/new",
+                        Arrays.asList(itemRequestDto, imageFiles), () -> {
+                    Item createdItem = itemService.createItem(itemRequestDto, currentUser, imageFiles); // 이미지 파일 전달
+                    return ResponseEntity.ok(ItemResponseDto.from(createdItem));
+                });
             }
 
 
@@ -90,11 +118,16 @@
             // 4. 아이템 상세(단건) 조회
             @GetMapping("/items/{itemId}")
             public ResponseEntity<ItemResponseDto> getItem(@PathVariable Long itemId) {
-                Item item = itemService.getItemById(itemId);
-                ItemResponseDto responseDto = ItemResponseDto.from(item);
+                ItemResponseDto responseDto = itemService.getItemById(itemId);
                 return ResponseEntity.ok(responseDto);
             }
 
+            // 4-1. 구매 가능 수량 (다른 구매자의 재고 예약분 제외, 메모리에서 응답)
+            @GetMapping("/items/{itemId}/stock")
+            public ResponseEntity<ItemStockDto> getAvailableStock(@PathVariable Long itemId) {
+                return ResponseEntity.ok(new ItemStockDto(itemId, stockReservationService.getAvailableQuantity(itemId)));
+            }
+
             // 5. 특정 판매자가 등록한 아이템 조회
             @GetMapping("/items/seller/{memberId}")
             public ResponseEntity<Slice<ItemListDto>> getItemsBySeller(
@@ -111,15 +144,28 @@
                 return ResponseEntity.ok(itemDtoSlice);
             }
 
+            // 5-1. 특정 판매자 아이템 커서 조회
+            @GetMapping(value = "/items/seller/{memberId}", params = "cursor")
+            public ResponseEntity<CursorSliceDto<ItemListDto>> getItemsBySellerByCursor(
+                    @PathVariable String memberId,
+                    @RequestParam(required = false) String cursor,
+                    @RequestParam(defaultValue = "10") int size,
+                    @RequestParam(defaultValue = "latest") String sortOption) {
+
+                Sort sortOrder = sortService.createSort(sortOption, "item");
+
+                return ResponseEntity.ok(itemService.getItemsBySellerByCursor(memberId, cursor, sortOrder, size));
+            }
+
 
 
-            // 6. 키워드 검색으로 조회
+            // 6. 키워드 검색으로 조회 (기본: 관련도순)
             @GetMapping("/items/search")
             public ResponseEntity<Slice<ItemResponseDto>> searchItems(
                     @RequestParam String keyword,
                     @RequestParam(defaultValue = "0") int page,
                     @RequestParam(defaultValue = "10") int size,
-                    @RequestParam(defaultValue = "latest") String sortOption) {
+                    @RequestParam(defaultValue = "relevance") String sortOption) {
 
                 Sort sortOrder = sortService.createSort(sortOption, "item");
                 Pageable pageable = PageRequest.of(page, size, sortOrder);
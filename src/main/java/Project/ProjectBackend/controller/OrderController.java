@@ -1,12 +1,21 @@
 package Project.ProjectBackend.controller;
 
+import Project.ProjectBackend.dto.CartOrderRequestDto;
+import Project.ProjectBackend.dto.CursorSliceDto;
 import Project.ProjectBackend.dto.DeliveryUpdateRequestDto;
 import Project.ProjectBackend.dto.OrderCreateRequestDto;
 import Project.ProjectBackend.dto.OrderDto;
+import Project.ProjectBackend.dto.SalesDailyDto;
+import Project.ProjectBackend.dto.SellerOrderItemDto;
+import Project.ProjectBackend.dto.StockReservationDto;
+import Project.ProjectBackend.dto.StockReservationRequestDto;
+import Project.ProjectBackend.entity.DeliveryStatus;
 import Project.ProjectBackend.entity.Member;
 import Project.ProjectBackend.entity.Orders;
 import Project.ProjectBackend.service.AuthService;
+import Project.ProjectBackend.service.IdempotencyService;
 import Project.ProjectBackend.service.OrderService;
+import Project.ProjectBackend.service.StockReservationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,11 +23,15 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.List;
+
 
 @RestController
 @Slf4j
@@ -27,23 +40,62 @@ import org.springframework.web.bind.annotation.*;
 public class OrderController {
     private final OrderService orderService;
     private final AuthService authService;
+    private final IdempotencyService idempotencyService;
 
     // 1. 주문 생성
     @PreAuthorize("hasAuthority('ROLE_USER') or hasAuthority('ROLE_ADMIN')")
     @PostMapping("/orders/new")
-    public ResponseEntity<OrderDto> createOrder(@RequestBody OrderCreateRequestDto requestDto) {
+    public ResponseEntity<OrderDto> createOrder(
+            @RequestBody OrderCreateRequestDto requestDto,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
         log.info("New order request received: {}", requestDto);
 
         Member currentUser = authService.getCurrentUser(); // 현재 로그인된 사용자
 
-        try {
-            Orders createdOrder = orderService.createOrder(requestDto, currentUser);
-            log.info("주문이 성공적으로 생성되었습니다.");
+        // 같은 Idempotency-Key로 재시도하면 주문을 다시 만들지 않고 처음 응답을 돌려줌
+        return idempotencyService.execute(idempotencyKey, currentUser.getMemberId() + ":POST /orders/new", requestDto, () -> {
+            try {
+                Orders createdOrder = orderService.createOrder(requestDto, currentUser);
+                log.info("주문이 성공적으로 생성되었습니다.");
+                return new ResponseEntity<>(new OrderDto(createdOrder), HttpStatus.CREATED);
+            } catch (Exception e) {
+                log.error("주문 생성에 실패했습니다.");
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            }
+        });
+    }
+
+    // 1-0. 장바구니 주문 (여러 상품을 주문 1건으로)
+    @PreAuthorize("hasAuthority('ROLE_USER') or hasAuthority('ROLE_ADMIN')")
+    @PostMapping("/orders/cart")
+    public ResponseEntity<OrderDto> createCartOrder(
+            @RequestBody @Valid CartOrderRequestDto requestDto,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        Member currentUser = authService.getCurrentUser();
+
+        return idempotencyService.execute(idempotencyKey, currentUser.getMemberId() + ":POST /orders/cart", requestDto, () -> {
+            Orders createdOrder = orderService.createCartOrder(requestDto, currentUser);
+            log.info("장바구니 주문 생성 - orderId={}, 상품 {}건", createdOrder.getOrderId(), createdOrder.getOrderItems().size());
             return new ResponseEntity<>(new OrderDto(createdOrder), HttpStatus.CREATED);
-        } catch (Exception e) {
-            log.error("주문 생성에 실패했습니다.");
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        });
+    }
+
+    // 1-1. 재고 예약 (주문서 작성 동안 수량 확보, 만료 시 자동 해제)
+    @PreAuthorize("hasAuthority('ROLE_USER') or hasAuthority('ROLE_ADMIN')")
+    @PostMapping("/orders/reservations")
+    public ResponseEntity<StockReservationDto> reserveStock(@RequestBody @Valid StockReservationRequestDto requestDto) {
+        Member currentUser = authService.getCurrentUser();
+        StockReservationService.Reservation reservation = orderService.reserveStock(requestDto, currentUser);
+        return new ResponseEntity<>(StockReservationDto.from(reservation), HttpStatus.CREATED);
+    }
+
+    // 1-2. 재고 예약 취소
+    @PreAuthorize("hasAuthority('ROLE_USER') or hasAuthority('ROLE_ADMIN')")
+    @DeleteMapping("/orders/reservations/{reservationId}")
+    public ResponseEntity<String> cancelReservation(@PathVariable String reservationId) {
+        Member currentUser = authService.getCurrentUser();
+        orderService.cancelReservation(reservationId, currentUser);
+        return ResponseEntity.ok("재고 예약이 취소되었습니다.");
     }
 
     // 2. 주문 수정 (배송지 변경)
@@ -100,12 +152,35 @@ public class OrderController {
         Sort sort = sortOption.equalsIgnoreCase("latest") ? Sort.by(Sort.Direction.DESC, "orderDate") : Sort.unsorted();
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Slice<Orders> ordersSlice = orderService.getOrdersByMember(memberId, pageable, currentUser);
-        Slice<OrderDto> orderDtosSlice = ordersSlice.map(OrderDto::new);
+        Slice<OrderDto> orderDtosSlice = orderService.getOrdersByMember(memberId, pageable, currentUser);
 
         return ResponseEntity.ok(orderDtosSlice);
     }
 
 
+    // 5. 판매자 주문함 (내 상품이 주문된 내역, 배송 상태별 필터, 첫 페이지는 cursor 생략)
+    @PreAuthorize("hasAuthority('ROLE_USER') or hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/orders/seller/inbox")
+    public ResponseEntity<CursorSliceDto<SellerOrderItemDto>> getSellerInbox(
+            @RequestParam(required = false) DeliveryStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+
+        Member currentUser = authService.getCurrentUser();
+        return ResponseEntity.ok(orderService.getSellerInbox(status, cursor, size, currentUser));
+    }
+
+
+    // 6. 판매자 일별 매출
+    @PreAuthorize("hasAuthority('ROLE_USER') or hasAuthority('ROLE_ADMIN')")
+    @GetMapping("/orders/seller/sales")
+    public ResponseEntity<List<SalesDailyDto>> getSellerSales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        Member currentUser = authService.getCurrentUser();
+        return ResponseEntity.ok(orderService.getSellerSales(from, to, currentUser));
+    }
+
+
 
 }
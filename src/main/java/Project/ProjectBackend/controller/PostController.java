@@ -1,5 +1,6 @@
 package Project.ProjectBackend.controller;
 
+import Project.ProjectBackend.dto.CursorSliceDto;
 import Project.ProjectBackend.dto.PostListDto;
 import Project.ProjectBackend.dto.PostRequestDto;
 import Project.ProjectBackend.dto.PostResponseDto;
@@ -84,19 +85,29 @@ public class  PostController {
            Sort sortOrder = sortService.createSort(sortOption, "post");
            Pageable pageable = PageRequest.of(page, size, sortOrder);
 
-           Slice<Post> postSlice;
+           Slice<PostResponseDto> postDtoSlice;
 
             if (categoryId != null) {
-                postSlice = postService.getPostsByCategoryId(categoryId, pageable);
+                postDtoSlice = postService.getPostsByCategoryId(categoryId, pageable);
             } else {
-                postSlice = postService.getAllPosts(pageable);
+                postDtoSlice = postService.getAllPosts(pageable);
             }
 
-           Slice<PostResponseDto> postDtoSlice = postSlice.map(PostResponseDto::from);
-
             return ResponseEntity.ok(postDtoSlice);
     }
 
+    // 4-1. 게시글 목록 커서 조회 (무한 스크롤용, 첫 페이지는 cursor= 빈 값)
+    @GetMapping(value = "/posts/list", params = "cursor")
+    public ResponseEntity<CursorSliceDto<PostResponseDto>> getAllPostsByCursor(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "latest") String sortOption) {
+
+        Sort sortOrder = sortService.createSort(sortOption, "post");
+        return ResponseEntity.ok(postService.getPostsByCursor(categoryId, cursor, sortOrder, size));
+    }
+
     // 5. 카테고리별 게시글 목록 조회
 //    @GetMapping("/posts/category/{categoryId}")
 //    public ResponseEntity<Slice<PostListDto>> getPostsByCategory(
@@ -124,8 +135,7 @@ public class  PostController {
         Sort sortOrder = sortService.createSort(sortOption, "post");
         Pageable pageable = PageRequest.of(page, size, sortOrder);
 
-        Slice<Post> postSlice = postService.getAllPosts(pageable);
-        Slice<PostResponseDto> postDtoSlice = postSlice.map(PostResponseDto::from);
+        Slice<PostResponseDto> postDtoSlice = postService.getPostListByWriter(memberId, pageable);
 
         return ResponseEntity.ok(postDtoSlice);
 
@@ -3,6 +3,7 @@ package Project.ProjectBackend.controller;
 import Project.ProjectBackend.dto.ReviewRequestDto;
 import Project.ProjectBackend.dto.ReviewResponseDto;
 import Project.ProjectBackend.entity.Review;
+import Project.ProjectBackend.service.IdempotencyService;
 import Project.ProjectBackend.service.ReviewService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +19,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Arrays;
 import java.util.List;
 
 @RestController
@@ -26,6 +28,7 @@ import java.util.List;
 public class ReviewController {
 
     private final ReviewService reviewService;
+    private final IdempotencyService idempotencyService;
 
     private static final Logger logger = LoggerFactory.getLogger(ReviewController.class);
 
@@ -36,15 +39,20 @@ public class ReviewController {
             @PathVariable String storeOwnerId,
             @RequestPart("reviewData") @Valid ReviewRequestDto reviewRequestDto,
             @RequestPart(value = "imageFiles", required = false) List<MultipartFile> imageFiles,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             Authentication authentication) {
 
         String writerId = authentication.getName(); // 현재 로그인 사용자 ID
 
-        Review review = reviewService.writeReview(writerId, storeOwnerId, reviewRequestDto, imageFiles);
-        logger.info("Review successfully created for storeOwnerId: {}", storeOwnerId);
+        // 같은 Idempotency-Key로 재시도하면 리뷰를 다시 작성하지 않고 처음 응답을 돌려줌
+        String scope = writerId + ":POST /store/" + storeOwnerId + "/reviews";
+        return idempotencyService.execute(idempotencyKey, scope, Arrays.asList(reviewRequestDto, imageFiles), () -> {
+            Review review = reviewService.writeReview(writerId, storeOwnerId, reviewRequestDto, imageFiles);
+            logger.info("Review successfully created for storeOwnerId: {}", storeOwnerId);
 
-        ReviewResponseDto reviewResponseDto = ReviewResponseDto.from(review); // DTO로 변환
-        return ResponseEntity.status(HttpStatus.CREATED).body(reviewResponseDto);
+            ReviewResponseDto reviewResponseDto = ReviewResponseDto.from(review); // DTO로 변환
+            return ResponseEntity.status(HttpStatus.CREATED).body(reviewResponseDto);
+        });
     }
 
 
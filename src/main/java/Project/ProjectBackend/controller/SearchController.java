@@ -7,6 +7,7 @@ import Project.ProjectBackend.entity.Item;
 import Project.ProjectBackend.entity.Post;
 import Project.ProjectBackend.service.ItemService;
 import Project.ProjectBackend.service.PostService;
+import Project.ProjectBackend.service.SearchIndexService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -26,6 +27,7 @@ public class SearchController {
 
     private final ItemService itemService;
     private final PostService postService;
+    private final SearchIndexService searchIndexService;
 
     @GetMapping
     public SearchResultDto searchAll(
@@ -36,8 +38,13 @@ public class SearchController {
             @RequestParam(required = false) String postCategory
     ) {
 
-        Pageable itemPageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "itemDate"));
-        Pageable postPageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "postDate"));
+        // 검색 인덱스 관련도순 (인덱스 준비 전에는 LIKE 검색 + 최신순)
+        Pageable itemPageable = searchIndexService.isReady()
+                ? PageRequest.of(page, size)
+                : PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "itemDate"));
+        Pageable postPageable = searchIndexService.isReady()
+                ? PageRequest.of(page, size)
+                : PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "postDate"));
 
        Slice<Item> items = (itemCategory != null && !itemCategory.isEmpty())
             ? itemService.searchItemsByKeywordAndCategory(keyword, itemCategory, itemPageable)
@@ -51,8 +58,7 @@ public class SearchController {
         return SearchResultDto.builder()
                 .items(items.map(ItemResponseDto::fromForList).getContent())
                 .posts(posts.map(PostResponseDto::fromForList).getContent())
-                .hasNext(items.hasNext())
-                .hasNext(posts.hasNext())
+                .hasNext(items.hasNext() || posts.hasNext())
                 .build();
     }
 
@@ -0,0 +1,58 @@
+package Project.ProjectBackend.controller;
+
+import Project.ProjectBackend.dto.PresignedUploadConfirmDto;
+import Project.ProjectBackend.dto.PresignedUploadDto;
+import Project.ProjectBackend.dto.PresignedUploadRequestDto;
+import Project.ProjectBackend.service.PresignedUploadService;
+import Project.ProjectBackend.service.StreamingUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+
+// S3 직접 업로드 (서명 URL 발급 -> 클라이언트 PUT -> 확정), 요청 본문 스트리밍 업로드
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/uploads")
+public class UploadController {
+
+    private final PresignedUploadService presignedUploadService;
+    private final StreamingUploadService streamingUploadService;
+
+    // 서명된 PUT URL 발급 (folder: post, item, review, profile)
+    @PostMapping("/presigned")
+    public ResponseEntity<List<PresignedUploadDto>> issuePresignedUploads(
+            @RequestBody PresignedUploadRequestDto request,
+            Authentication authentication) {
+        return ResponseEntity.ok(presignedUploadService.issue(authentication.getName(), request));
+    }
+
+    // 업로드 확정 후 대상에 이미지 추가, 저장된 이미지 경로 반환
+    @PostMapping("/confirm")
+    public ResponseEntity<List<String>> confirmUploads(
+            @RequestBody PresignedUploadConfirmDto request,
+            Authentication authentication) {
+        return ResponseEntity.ok(presignedUploadService.confirm(authentication.getName(), request));
+    }
+
+    // multipart 본문을 그대로 S3로 전송한 뒤 대상에 이미지 추가 (프로필은 targetId 없이)
+    // 본문을 직접 읽으므로 MultipartConfig에서 multipart 처리 대상에서 빠져 있고,
+    // request.getParameter를 호출하면 컨테이너가 본문 전체를 읽어버리므로 값은 경로로만 받음
+    @PostMapping({"/stream/{folder}", "/stream/{folder}/{targetId}"})
+    public ResponseEntity<List<String>> streamUpload(
+            @PathVariable String folder,
+            @PathVariable(required = false) Long targetId,
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
+        return ResponseEntity.ok(streamingUploadService.upload(authentication.getName(), folder, targetId,
+                request.getContentType(), request.getInputStream()));
+    }
+}
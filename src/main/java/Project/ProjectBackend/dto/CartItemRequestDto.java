@@ -0,0 +1,27 @@
+package Project.ProjectBackend.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 장바구니 주문의 상품 한 줄
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartItemRequestDto {
+
+    @NotNull(message = "상품 ID는 필수입니다.")
+    private Long itemId;
+
+    @Min(value = 1, message = "상품 수량은 최소 1개 이상이어야 합니다.")
+    private Integer count;
+
+    // 재고 예약 id (선택)
+    private String reservationId;
+
+    public int countOrDefault() {
+        return count != null ? count : 1;
+    }
+}
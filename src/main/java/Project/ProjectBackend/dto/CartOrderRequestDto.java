@@ -0,0 +1,25 @@
+package Project.ProjectBackend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 장바구니 주문 (여러 상품을 주문 1건으로)
+@Getter
+@NoArgsConstructor
+public class CartOrderRequestDto {
+
+    @NotEmpty(message = "주문할 상품이 없습니다.")
+    @Valid
+    private List<CartItemRequestDto> items;
+
+    @NotNull(message = "배송 주소는 필수입니다.")
+    @Valid
+    private AddressDto address;
+
+    private String couponCode;
+}
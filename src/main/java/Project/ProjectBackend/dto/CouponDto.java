@@ -0,0 +1,33 @@
+package Project.ProjectBackend.dto;
+
+import Project.ProjectBackend.service.CouponService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class CouponDto {
+    private String couponCode;
+    private Integer discountAmount;
+    private Double discountRate;
+    private Integer minPurchaseAmount;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private Integer totalQuantity;
+    private Integer remainingQuantity; // 한도가 없으면 null
+
+    public static CouponDto from(CouponService.CouponInfo coupon, Integer remainingQuantity) {
+        return new CouponDto(
+                coupon.couponCode(),
+                coupon.discountAmount(),
+                coupon.discountRate(),
+                coupon.minPurchaseAmount(),
+                coupon.startDate(),
+                coupon.endDate(),
+                coupon.totalQuantity(),
+                remainingQuantity
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package Project.ProjectBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 관리자 쿠폰 수정 요청 (쿠폰 코드는 변경 불가)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CouponUpdateRequestDto {
+    private Integer discountAmount;
+    private Double discountRate;
+    private Integer minPurchaseAmount;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private Integer totalQuantity; // null이면 무제한
+}
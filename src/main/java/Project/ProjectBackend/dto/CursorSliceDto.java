@@ -0,0 +1,48 @@
+package Project.ProjectBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.function.Function;
+
+// 커서 기반 목록 응답 (다음 페이지 요청 시 nextCursor 전달)
+@Getter
+@AllArgsConstructor
+public class CursorSliceDto<T> {
+
+    // 커서 목록 한 페이지 최대 크기
+    public static final int MAX_SIZE = 100;
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    // size + 1 개를 조회한 결과로 다음 페이지 여부와 커서 계산
+    public static <T> CursorSliceDto<T> of(List<T> rows, int size, Sort.Order order, Function<T, Long> idGetter) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            T last = content.get(content.size() - 1);
+            Object sortValue = new BeanWrapperImpl(last).getPropertyValue(order.getProperty());
+            nextCursor = new FeedCursor(order.getProperty(), String.valueOf(sortValue), idGetter.apply(last)).encode();
+        }
+
+        return new CursorSliceDto<>(content, size, hasNext, nextCursor);
+    }
+
+    // 요청한 페이지 크기를 1 ~ MAX_SIZE로 제한
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    public <R> CursorSliceDto<R> map(Function<? super T, ? extends R> converter) {
+        List<R> converted = content.stream().<R>map(converter).toList();
+        return new CursorSliceDto<>(converted, size, hasNext, nextCursor);
+    }
+}
@@ -0,0 +1,50 @@
+package Project.ProjectBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// 키셋(커서) 페이징용 불투명 커서 - 마지막 행의 정렬값 + id (동일 정렬값 구분용)
+@Getter
+@AllArgsConstructor
+public class FeedCursor {
+
+    private static final String DELIMITER = "|";
+
+    private String sortProperty;
+    private String sortValue;
+    private Long id;
+
+    public String encode() {
+        String raw = sortProperty + DELIMITER + sortValue + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 빈 커서는 첫 페이지(null), 다른 정렬로 만들어진 커서는 거부
+    public static FeedCursor decode(String cursor, String expectedSortProperty) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        String[] parts;
+        Long id;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            parts = raw.split("\\|", -1);
+            id = parts.length == 3 ? Long.valueOf(parts[2]) : null;
+        } catch (IllegalArgumentException e) {
+            // Base64/숫자 형식 오류
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+
+        if (id == null) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+        if (!parts[0].equals(expectedSortProperty)) {
+            throw new IllegalArgumentException("정렬 조건과 일치하지 않는 커서입니다.");
+        }
+        return new FeedCursor(parts[0], parts[1], id);
+    }
+}
@@ -2,22 +2,29 @@ package Project.ProjectBackend.dto;
 
 import Project.ProjectBackend.entity.ItemCategory;
 import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 
-@Data
+// 불변 - 카테고리 트리 스냅샷이 그대로 돌려줌
+@Getter
+@ToString
+@EqualsAndHashCode
 @AllArgsConstructor
-@NoArgsConstructor
 public class ItemCategoryFlatDto {
-    private Long categoryId;
-    private String categoryName;
-    private Long parentId;
+    private final Long categoryId;
+    private final String categoryName;
+    private final Long parentId;
+    private final int directItemCount; // 이 카테고리에 직접 등록된 상품 수
+    private final int itemCount;       // 하위 카테고리 포함 상품 수
 
     public static ItemCategoryFlatDto from(ItemCategory category) {
         return new ItemCategoryFlatDto(
                 category.getCategoryId(),
                 category.getCategoryName(),
-                category.getParent() != null ? category.getParent().getCategoryId() : null
+                category.getParent() != null ? category.getParent().getCategoryId() : null,
+                category.getDirectItemCount(),
+                category.getItemCount()
         );
     }
 }
@@ -1,17 +1,21 @@
 package Project.ProjectBackend.dto;
 
 import Project.ProjectBackend.entity.ItemCategory;
-import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 
-@Data
+// 불변 - 카테고리 트리 스냅샷이 그대로 돌려줌
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
 public class ItemCategorySimpleDto {
-    private Long categoryId;
-    private String categoryName;
+    private final Long categoryId;
+    private final String categoryName;
 
     public static ItemCategorySimpleDto from(ItemCategory entity) {
-        ItemCategorySimpleDto dto = new ItemCategorySimpleDto();
-        dto.setCategoryId(entity.getCategoryId());
-        dto.setCategoryName(entity.getCategoryName());
-        return dto;
+        return new ItemCategorySimpleDto(entity.getCategoryId(), entity.getCategoryName());
     }
 }
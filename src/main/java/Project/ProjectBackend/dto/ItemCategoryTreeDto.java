@@ -2,34 +2,46 @@ package Project.ProjectBackend.dto;
 
 import Project.ProjectBackend.entity.ItemCategory;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-// 트리구조 응답용 DTO
+@Getter
+@ToString
+@EqualsAndHashCode
+// 트리구조 응답용 DTO (불변 - 카테고리 트리 스냅샷이 그대로 돌려줌)
 public class ItemCategoryTreeDto {
 
-    private Long categoryId;
+    private final Long categoryId;
 
     @JsonProperty("categoryName")  // 👈 프론트에 맞게 맞춰줌
-    private String categoryName;
+    private final String categoryName;
 
-    private List<ItemCategoryTreeDto> children = new ArrayList<>();
+    private final int directItemCount; // 이 카테고리에 직접 등록된 상품 수
+    private final int itemCount;       // 하위 카테고리 포함 상품 수
+
+    private final List<ItemCategoryTreeDto> children;
+
+    public ItemCategoryTreeDto(Long categoryId, String categoryName, int directItemCount, int itemCount,
+                               List<ItemCategoryTreeDto> children) {
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.directItemCount = directItemCount;
+        this.itemCount = itemCount;
+        this.children = List.copyOf(children);
+    }
 
     public static ItemCategoryTreeDto from(ItemCategory category) {
         return new ItemCategoryTreeDto(
                 category.getCategoryId(),
                 category.getCategoryName(),
+                category.getDirectItemCount(),
+                category.getItemCount(),
                 category.getChildren().stream()
                         .map(ItemCategoryTreeDto::from)
-                        .collect(Collectors.toList())
+                        .toList()
         );
     }
-}
\ No newline at end of file
+}
@@ -30,7 +30,7 @@ public class ItemListDto {
                 .price(item.getPrice())
                 .categoryId(item.getCategory() != null ? item.getCategory().getCategoryId() : null)
                 .categoryName(item.getCategory() != null ? item.getCategory().getCategoryName() : null)
-                .representativeImagePath(item.getImages().isEmpty() ? null : item.getImages().get(0).getImagePath())
+                .representativeImagePath(item.getListImagePath())
                 .itemDate(item.getItemDate())
                 .build();
     }
@@ -30,6 +30,7 @@ public class ItemResponseDto {
     private LocalDateTime itemDate;
     private String representativeImagePath;
     private List<String> imagePaths;
+    private int hitCount;
 
     // Item 엔티티를 기반으로 Dto 객체를 생성하는 메서드
     public static ItemResponseDto from(Item item) {
@@ -56,11 +57,27 @@ public class ItemResponseDto {
                 category != null ? category.getCategoryName() : null,
                 item.getItemDate(),
                 representativeImagePath,
-                imagePaths
+                imagePaths,
+                item.getHitCount()
         );
     }
 
 
+    // 목록 조회용 생성자 (ItemRepository 목록 프로젝션 쿼리에서 사용)
+    public ItemResponseDto(Long itemId, String itemName, Integer price, String description, Integer stockQuantity,
+                           Long categoryId, String categoryName, LocalDateTime itemDate, String representativeImagePath) {
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.price = price;
+        this.description = description;
+        this.stockQuantity = stockQuantity;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.itemDate = itemDate;
+        this.representativeImagePath = representativeImagePath;
+    }
+
+
     // 목록 조회용 메소드 (대표 이미지만 포함)
     public static ItemResponseDto fromForList(Item item) {
         return ItemResponseDto.builder()
@@ -71,8 +88,7 @@ public class ItemResponseDto {
                 .stockQuantity(item.getStockQuantity())
                 .categoryId(item.getCategory() != null ? item.getCategory().getCategoryId() : null)
                 .categoryName(item.getCategory() != null ? item.getCategory().getCategoryName() : null)
-                .representativeImagePath(
-                        item.getImages().isEmpty() ? null : item.getImages().get(0).getImagePath())
+                .representativeImagePath(item.getListImagePath()) // 이미지 컬렉션 로딩 없이 대표 썸네일(없으면 원본) 컬럼 사용
                 .itemDate(item.getItemDate())
                 .build();
     }
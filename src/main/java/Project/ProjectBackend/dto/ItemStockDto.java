@@ -0,0 +1,12 @@
+package Project.ProjectBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// 예약분을 제외한 현재 구매 가능 수량
+@Data
+@AllArgsConstructor
+public class ItemStockDto {
+    private Long itemId;
+    private int availableQuantity;
+}
@@ -24,5 +24,8 @@ public class OrderCreateRequestDto {
 
     private String couponCode;
 
+    // 재고 예약 id (없으면 주문 시점에 바로 재고 확보)
+    private String reservationId;
+
 
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package Project.ProjectBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 고아 이미지 정리 결과 (dryRun이면 삭제하지 않고 대상만 집계)
+@Getter
+@AllArgsConstructor
+public class OrphanImageReportDto {
+    private boolean dryRun;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long scannedObjects;     // 조회한 S3 객체 수
+    private long referencedObjects;  // DB에서 참조 중인 객체
+    private long recentObjects;      // 유예 기간이 지나지 않아 건너뜀
+    private long queuedObjects;      // 이미 삭제 대기열에 있음
+    private long orphanObjects;      // 참조가 없는 객체
+    private long orphanBytes;
+    private long enqueuedObjects;    // 삭제 대기열에 등록한 객체 (dryRun이면 0)
+    private List<String> sampleKeys; // 고아 객체 키 일부
+}
@@ -53,9 +53,6 @@ public class PostResponseDto {
         String representativeImagePath = imagePaths.isEmpty() ? null : imagePaths.get(0);
         logger.info("이미지 경로 목록: {}", imagePaths);
 
-        // 댓글 수 계산
-        int commentCount = post.getComments().size();
-
         return PostResponseDto.builder()
                 .postId(post.getPostId())
                 .title(post.getTitle())
@@ -70,7 +67,7 @@ public class PostResponseDto {
                 .likeCount(post.getLikeCount())
                 .representativeImagePath(representativeImagePath)
                 .imagePaths(imagePaths)
-                .commentCount(post.getComments().size())
+                .commentCount(post.getCommentCount())
                 .build();
     }
 
@@ -95,9 +92,6 @@ public class PostResponseDto {
         String representativeImagePath = imagePaths.isEmpty() ? null : imagePaths.get(0);
         logger.info("이미지 경로 목록: {}", imagePaths);
 
-        // 댓글 수 계산
-        int commentCount = post.getComments().size();
-
         return PostResponseDto.builder()
                 .postId(post.getPostId())
                 .title(post.getTitle())
@@ -112,7 +106,7 @@ public class PostResponseDto {
                 .likeCount(post.getLikeCount())
                 .representativeImagePath(representativeImagePath)
                 .imagePaths(imagePaths)
-                .commentCount(post.getComments().size())
+                .commentCount(post.getCommentCount())
                 .isOwner(isOwner)
                 .build();
     }
@@ -121,14 +115,32 @@ public class PostResponseDto {
 
 
 
+    // 게시글 목록 조회용 생성자 (PostRepository 목록 프로젝션 쿼리에서 사용)
+    public PostResponseDto(Long postId, String title, String content, String writerId, String writerNickname, String profileImageUrl,
+                           Long categoryId, String categoryName, LocalDateTime postDate, Integer hitCount,
+                           Integer likeCount, String representativeImagePath, Integer commentCount) {
+        this.postId = postId;
+        this.title = title;
+        this.content = content;
+        this.writerId = writerId;
+        this.writerNickname = writerNickname;
+        this.profileImageUrl = profileImageUrl;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.postDate = postDate;
+        this.hitCount = hitCount;
+        this.likeCount = likeCount;
+        this.representativeImagePath = representativeImagePath;
+        this.commentCount = commentCount;
+    }
+
+
     // 게시글 목록 조회를 위한 Dto 변환 메서드
     public static PostResponseDto fromForList(Post post) {
         Member writer = post.getWriter();
 
-        // 대표 이미지 경로
-        String representativeImagePath = post.getImages().isEmpty()
-                ? null
-                : post.getImages().get(0).getImagePath();
+        // 대표 이미지 경로 (이미지 컬렉션 로딩 없이 대표 썸네일, 없으면 원본 컬럼 사용)
+        String representativeImagePath = post.getListImagePath();
 
         return PostResponseDto.builder()
                 .postId(post.getPostId())
@@ -137,13 +149,14 @@ public class PostResponseDto {
                 .writerId(writer != null ? writer.getMemberId() : null)
                 .writerNickname(writer != null ? writer.getNickName() : null)
                 .profileImageUrl(writer != null ? writer.getProfileImageUrl() : null)
+                .categoryId(post.getPostCategory().getCategoryId())
                 .categoryName(post.getPostCategory().getCategoryName()) // ✅ 카테고리 이름 추가
                 .postDate(post.getPostDate())
                 .hitCount(post.getHitCount())
                 .likeCount(post.getLikeCount())
                 .representativeImagePath(representativeImagePath)
                 .imagePaths(null) // 목록에서는 전체 이미지 리스트 제외
-                .commentCount(post.getComments().size()) //  댓글 수 계산
+                .commentCount(post.getCommentCount()) // 댓글 수 (비정규화 컬럼)
                 .build();
 
     }
@@ -0,0 +1,16 @@
+package Project.ProjectBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 직접 업로드 확정 요청 (targetId: 이미지를 붙일 게시글/상품/리뷰 id, 프로필은 생략)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PresignedUploadConfirmDto {
+    private List<String> uploadIds;
+    private Long targetId;
+}
@@ -0,0 +1,16 @@
+package Project.ProjectBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// 발급된 서명 URL (uploadUrl로 contentType 헤더와 함께 PUT한 뒤 uploadId로 확정)
+@Data
+@AllArgsConstructor
+public class PresignedUploadDto {
+    private String uploadId;
+    private String uploadUrl;
+    private String contentType;
+    private LocalDateTime expiresAt;
+}
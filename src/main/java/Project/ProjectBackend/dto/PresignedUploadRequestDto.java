@@ -0,0 +1,25 @@
+package Project.ProjectBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 직접 업로드용 서명 URL 발급 요청 (folder: post, item, review, profile)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PresignedUploadRequestDto {
+    private String folder;
+    private List<FileInfo> files;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class FileInfo {
+        private String fileName;
+        private String contentType;
+        private long fileSize;
+    }
+}
@@ -51,9 +51,7 @@ public class ReviewResponseDto {
                 .reviewId(review.getReviewId())
                 .writerId(review.getWriter().getMemberId())
                 .rating(review.getRating())
-                .representativeImagePath(
-                        review.getImages().isEmpty() ? null : review.getImages().get(0).getImagePath()
-                )
+                .representativeImagePath(review.getRepresentativeImagePath())
                 .createdAt(review.getCreatedAt())
                 .build();
     }
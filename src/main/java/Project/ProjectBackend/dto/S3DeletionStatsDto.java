@@ -0,0 +1,19 @@
+package Project.ProjectBackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// S3 삭제 대기열 상태 (누적 값은 애플리케이션 시작 이후 기준)
+@Getter
+@AllArgsConstructor
+public class S3DeletionStatsDto {
+    private long pending;          // 삭제 대기 중
+    private long dead;             // 재시도 한도 초과로 멈춤
+    private long enqueuedTotal;
+    private long deletedTotal;
+    private long failedTotal;      // 실패한 시도 (재시도 포함)
+    private long requestsTotal;    // DeleteObjects 호출 수
+    private LocalDateTime lastDrainedAt;
+}
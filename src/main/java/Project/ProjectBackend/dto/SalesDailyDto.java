@@ -0,0 +1,34 @@
+package Project.ProjectBackend.dto;
+
+import Project.ProjectBackend.entity.SalesDaily;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// 일별 매출 (기간 합계 조회 시 salesDate는 null)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesDailyDto {
+    private String dimensionKey;
+    private LocalDate salesDate;
+    private long orderCount;
+    private long units;
+    private BigDecimal grossAmount;
+    private BigDecimal discountAmount;
+    private BigDecimal netAmount;
+
+    public SalesDailyDto(SalesDaily sales) {
+        this(sales.getDimensionKey(), sales.getSalesDate(), sales.getOrderCount(), sales.getUnits(),
+                sales.getGrossAmount(), sales.getDiscountAmount(),
+                sales.getGrossAmount().subtract(sales.getDiscountAmount()));
+    }
+
+    // 기간 합계 (JPQL 생성자 표현식용)
+    public SalesDailyDto(String dimensionKey, Long orderCount, Long units, BigDecimal grossAmount, BigDecimal discountAmount) {
+        this(dimensionKey, null, orderCount, units, grossAmount, discountAmount, grossAmount.subtract(discountAmount));
+    }
+}
@@ -0,0 +1,43 @@
+package Project.ProjectBackend.dto;
+
+import Project.ProjectBackend.entity.OrderItem;
+import Project.ProjectBackend.entity.OrderStatus;
+import Project.ProjectBackend.entity.Orders;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 판매자 주문함 항목 (주문 1건에 여러 판매자 상품이 있으면 상품별로 한 줄씩)
+@Getter
+@NoArgsConstructor
+public class SellerOrderItemDto {
+    private Long orderItemId;
+    private Long orderId;
+    private LocalDateTime orderDate;
+    private OrderStatus orderStatus;
+    private String buyerId;
+    private String buyerName;
+    private Long itemId;
+    private String itemName;
+    private int orderPrice;
+    private int count;
+    private int totalPrice;
+    private DeliveryDto delivery;
+
+    public SellerOrderItemDto(OrderItem orderItem) {
+        Orders order = orderItem.getOrder();
+        this.orderItemId = orderItem.getOrderItemId();
+        this.orderId = order.getOrderId();
+        this.orderDate = order.getOrderDate();
+        this.orderStatus = order.getStatus();
+        this.buyerId = order.getMember().getMemberId();
+        this.buyerName = order.getMember().getMemberName();
+        this.itemId = orderItem.getItem().getItemId();
+        this.itemName = orderItem.getItem().getItemName();
+        this.orderPrice = orderItem.getOrderPrice();
+        this.count = orderItem.getCount();
+        this.totalPrice = orderItem.getTotalPrice();
+        this.delivery = new DeliveryDto(order.getDelivery());
+    }
+}
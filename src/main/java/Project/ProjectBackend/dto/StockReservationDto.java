@@ -0,0 +1,27 @@
+package Project.ProjectBackend.dto;
+
+import Project.ProjectBackend.service.StockReservationService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// 재고 예약 응답 (주문 생성 시 reservationId 전달)
+@Data
+@AllArgsConstructor
+public class StockReservationDto {
+    private String reservationId;
+    private Long itemId;
+    private int count;
+    private LocalDateTime expiresAt;
+
+    public static StockReservationDto from(StockReservationService.Reservation reservation) {
+        return new StockReservationDto(
+                reservation.getReservationId(),
+                reservation.getItemId(),
+                reservation.getCount(),
+                LocalDateTime.ofInstant(reservation.getExpiresAt(), ZoneId.systemDefault())
+        );
+    }
+}
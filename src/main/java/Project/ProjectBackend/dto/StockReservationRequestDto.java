@@ -0,0 +1,18 @@
+package Project.ProjectBackend.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class StockReservationRequestDto {
+
+    @NotNull(message = "상품 ID는 필수입니다.")
+    private Long itemId;
+
+    @NotNull(message = "상품 수량은 필수입니다.")
+    @Min(value = 1, message = "상품 수량은 최소 1개 이상이어야 합니다.")
+    private Integer count;
+}
@@ -15,6 +15,7 @@ import java.util.List;
 @Entity
 @Data
 @NoArgsConstructor
+@NamedEntityGraph(name = "Comment.withWriter", attributeNodes = @NamedAttributeNode("writer"))
 @Table(name="comment")
 public class Comment {
 
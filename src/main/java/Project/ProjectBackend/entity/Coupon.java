@@ -12,7 +12,9 @@ import java.util.List;
 @Entity
 @Getter
 @NoArgsConstructor
-@Table(name="coupon")
+@Table(name="coupon", indexes = {
+        @Index(name = "idx_coupon_code", columnList = "coupon_code", unique = true)
+})
 public class Coupon {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -29,9 +31,25 @@ public class Coupon {
     private LocalDateTime startDate; // 사용 시작일
     private LocalDateTime endDate; // 사용 종료일
 
+    private Integer totalQuantity; // 발급 한도 (null이면 무제한)
+
+    // 발급된 수량 - 발급 큐가 member_coupon에 반영할 때 증감 UPDATE로만 변경
+    @Column(nullable = false, updatable = false)
+    private int issuedQuantity;
+
     @OneToMany(mappedBy = "coupon", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JsonIgnore
     private List<MemberCoupon> memberCoupons = new ArrayList<>();
 
+    // 관리자 수정 (발급 수량은 변경하지 않음)
+    public void update(Integer discountAmount, Double discountRate, Integer minPurchaseAmount,
+                       LocalDateTime startDate, LocalDateTime endDate, Integer totalQuantity) {
+        this.discountAmount = discountAmount;
+        this.discountRate = discountRate;
+        this.minPurchaseAmount = minPurchaseAmount;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.totalQuantity = totalQuantity;
     }
+}
 
@@ -8,6 +8,8 @@ import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Getter
 @Setter
@@ -15,7 +17,13 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name="image")
+@Table(name="image", indexes = {
+        // 같은 내용의 이미지에서 파생 이미지 경로를 재사용할 때 조회
+        @Index(name = "idx_image_content_hash", columnList = "content_hash"),
+        // 고아 이미지 정리에서 S3 객체가 참조 중인지 경로로 확인 (OrphanImageCollectorService)
+        @Index(name = "idx_image_image_path", columnList = "image_path"),
+        @Index(name = "idx_image_thumbnail_path", columnList = "thumbnail_path")
+})
 public class Image {
 
     @Id
@@ -39,6 +47,20 @@ public class Image {
     @Column
     private long fileSize;
 
+    // 저장된 S3 객체의 SHA-256 (StoredObject 참조, null이면 참조 관리 없이 올린 객체)
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // 파생 이미지 (업로드 후 ImageVariantService에서 비동기로 생성, 생성 전/실패 시 null)
+    @Column
+    private String thumbnailPath;
+
+    @Column
+    private String cardPath;
+
+    @Column
+    private String detailPath;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     private Item item; // 해당 이미지를 참조하는 Item
@@ -61,6 +83,17 @@ public class Image {
     private Comment comment;
 
 
+    // 원본과 함께 지워야 하는 파생 이미지 경로
+    public List<String> getVariantPaths() {
+        List<String> paths = new ArrayList<>(3);
+        for (String path : new String[]{thumbnailPath, cardPath, detailPath}) {
+            if (path != null) {
+                paths.add(path);
+            }
+        }
+        return paths;
+    }
+
     public void setPost(Post post) {
         this.post = post;
         if (post != null && !post.getImages().contains(this)) {
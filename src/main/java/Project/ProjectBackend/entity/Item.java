@@ -6,17 +6,41 @@ import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
 @Builder
+@DynamicUpdate // 조회수 등 카운터 컬럼을 엔티티 저장 시 덮어쓰지 않도록 변경된 컬럼만 UPDATE
+@BatchSize(size = 100) // 주문 상품 등에서 Item 프록시를 IN 절로 묶어서 로딩
+@NamedEntityGraphs({
+        // 상세 조회/수정 응답 (ItemResponseDto.from)
+        @NamedEntityGraph(name = "Item.detail", attributeNodes = {
+                @NamedAttributeNode("seller"), @NamedAttributeNode("category"), @NamedAttributeNode("images")}),
+        // 목록/검색 응답 (ItemResponseDto.fromForList)
+        @NamedEntityGraph(name = "Item.list", attributeNodes = @NamedAttributeNode("category"))
+})
+@Table(name = "item", indexes = {
+        // 커서 페이징용 (정렬 컬럼, id) 복합 인덱스
+        @Index(name = "idx_item_date_id", columnList = "ITEM_DATE, item_id"),
+        @Index(name = "idx_item_price_id", columnList = "price, item_id"),
+        @Index(name = "idx_item_favorite_id", columnList = "FAVORITE_COUNT, item_id"),
+        @Index(name = "idx_item_category_date_id", columnList = "category_id, ITEM_DATE, item_id"),
+        @Index(name = "idx_item_category_price_id", columnList = "category_id, price, item_id"),
+        @Index(name = "idx_item_category_favorite_id", columnList = "category_id, FAVORITE_COUNT, item_id"),
+        @Index(name = "idx_item_seller_date_id", columnList = "member_id, ITEM_DATE, item_id"),
+        @Index(name = "idx_item_seller_price_id", columnList = "member_id, price, item_id"),
+        @Index(name = "idx_item_seller_favorite_id", columnList = "member_id, FAVORITE_COUNT, item_id")
+})
 public class Item {
 
     @ManyToOne(fetch = FetchType.LAZY) // 다대일 관계 설정
@@ -44,12 +68,16 @@ public class Item {
     private String description; // 상품 설명
 
     @OneToMany(mappedBy = "item", cascade = CascadeType.ALL)
+    @BatchSize(size = 100)
     @Builder.Default // Lombok의 @Builder.Default 어노테이션 추가
     private List<Image> images = new ArrayList<>(); // 여러 이미지를 관리
 
     @Column(name = "REPRESENTATIVE_IMAGE_PATH")
     private String representativeImagePath; // 대표 이미지 경로
 
+    @Column(name = "REPRESENTATIVE_THUMBNAIL_PATH")
+    private String representativeThumbnailPath; // 대표 이미지 썸네일 (생성 전이면 null)
+
     @NotNull(message = "수량은 필수 항목입니다.")
     private Integer stockQuantity; // 재고 수량
 
@@ -104,6 +132,19 @@ public class Item {
     }
 
 
+    // 대표 이미지가 바뀌면 이전 이미지의 썸네일은 버림 (새 썸네일은 생성되는 대로 채워짐)
+    public void setRepresentativeImagePath(String representativeImagePath) {
+        if (!Objects.equals(this.representativeImagePath, representativeImagePath)) {
+            this.representativeThumbnailPath = null;
+        }
+        this.representativeImagePath = representativeImagePath;
+    }
+
+    // 목록 화면용 이미지 (썸네일이 아직 없으면 원본)
+    public String getListImagePath() {
+        return representativeThumbnailPath != null ? representativeThumbnailPath : representativeImagePath;
+    }
+
     public void setImages(List<Image> images) {
         if (this.images == null) {
             this.images = new ArrayList<>();
@@ -38,6 +38,13 @@ public class ItemCategory {
     @Column(name = "sort_order")
     private Integer sortOrder;
 
+    // 상품 수 (직접 / 하위 카테고리 포함) - CategoryRepository의 증감 UPDATE로만 변경
+    @Column(name = "direct_item_count", nullable = false, updatable = false)
+    private int directItemCount;
+
+    @Column(name = "item_count", nullable = false, updatable = false)
+    private int itemCount;
+
     public void addChildCategory(ItemCategory child) {
         children.add(child);
         child.setParent(this);
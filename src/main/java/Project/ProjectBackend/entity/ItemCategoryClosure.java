@@ -0,0 +1,42 @@
+package Project.ProjectBackend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// 상품 카테고리 클로저 테이블 (조상 -> 자손 모든 경로, 자기 자신은 depth 0)
+// ItemCategory.parent 변경 시 ItemCategoryClosureService 에서 함께 갱신한다.
+@Entity
+@Getter
+@NoArgsConstructor
+@IdClass(ItemCategoryClosure.Key.class)
+@Table(name = "item_category_closure", indexes = {
+        @Index(name = "idx_category_closure_descendant", columnList = "descendant_id, ancestor_id")
+})
+public class ItemCategoryClosure {
+
+    @Id
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+
+    @Id
+    @Column(name = "descendant_id")
+    private Long descendantId;
+
+    @Column(nullable = false)
+    private int depth;
+
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long ancestorId;
+        private Long descendantId;
+    }
+}
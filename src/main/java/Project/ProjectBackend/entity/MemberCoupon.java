@@ -1,19 +1,26 @@
     package Project.ProjectBackend.entity;
 
     import jakarta.persistence.*;
+    import lombok.Getter;
     import lombok.NoArgsConstructor;
 
     import java.time.LocalDateTime;
 
     @Entity
+    @Getter
     @NoArgsConstructor
-    @Table(name = "member_coupon")
+    @Table(name = "member_coupon", uniqueConstraints = {
+            // 회원당 같은 쿠폰은 한 장 (발급 큐 재시도 시 중복 INSERT 방지)
+            @UniqueConstraint(name = "uk_member_coupon_member_coupon", columnNames = {"member_id", "coupon_id"})
+    }, indexes = {
+            @Index(name = "idx_member_coupon_coupon", columnList = "coupon_id")
+    })
     public class MemberCoupon {
         @Id
         @GeneratedValue(strategy = GenerationType.IDENTITY)
         private Long id; // 관계를 식별하는 고유 ID
 
-        @ManyToOne
+        @ManyToOne(fetch = FetchType.LAZY)
         @JoinColumn(name = "member_id")
         private Member member; // 회원
 
@@ -7,21 +7,28 @@ import lombok.Setter;
 
 @Entity
 @Getter @Setter
-@Table(name="order_item")
+@Table(name="order_item", indexes = {
+        // 판매자 주문함: 판매자 id로 바로 범위를 잡고 id 역순 커서 페이징 (item 조인 없이 seek)
+        @Index(name = "idx_order_item_seller_id", columnList = "seller_id, order_item_id")
+})
 public class OrderItem {
 
     @Id @GeneratedValue
     @Column(name = "order_item_id")
     private Long orderItemId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name="item_id")
     private Item item;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id")
     private Orders order;
 
+    // 상품 판매자 id (item.member_id를 주문 시점에 복사 - 판매자 주문함 조회용)
+    @Column(name = "seller_id")
+    private String sellerId;
+
     @Column
     private int orderPrice;
 
@@ -29,21 +36,16 @@ public class OrderItem {
     private int count;
 
     //==생성 메서드==//
+    // 재고 차감/복구는 OrderService에서 조건부 UPDATE(ItemRepository.decreaseStock/increaseStock)로 처리
     public static OrderItem createOrderItem(Item item, int orderPrice, int count) {
         OrderItem orderItem = new OrderItem();
         orderItem.setItem(item);
+        orderItem.setSellerId(item.getSeller() != null ? item.getSeller().getMemberId() : null);
         orderItem.setOrderPrice(orderPrice);
         orderItem.setCount(count);
-
-        item.removeStock(count); // 주문 수량만큼 재고 감소
         return orderItem;
     }
 
-    // 취소하면 재고 다시 증가
-    public void cancel() {
-        getItem().addStock(count);
-    }
-
     // 주문상품 전체 가격 조회
     public int getTotalPrice() {
         return getOrderPrice() * getCount();
@@ -4,6 +4,7 @@ package Project.ProjectBackend.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -13,7 +14,21 @@ import java.util.List;
 import static jakarta.persistence.FetchType.LAZY;
 
 @Entity
-@Table(name="orders")
+@NamedEntityGraphs({
+        // 주문 상세 (OrderDto) - 주문 상품과 상품까지 한 번에
+        @NamedEntityGraph(name = "Orders.detail",
+                attributeNodes = {
+                        @NamedAttributeNode("member"), @NamedAttributeNode("delivery"), @NamedAttributeNode("coupon"),
+                        @NamedAttributeNode(value = "orderItems", subgraph = "orderItems")},
+                subgraphs = @NamedSubgraph(name = "orderItems", attributeNodes = @NamedAttributeNode("item"))),
+        // 주문 목록 (페이징) - 컬렉션은 fetch join 대신 @BatchSize로 로딩
+        @NamedEntityGraph(name = "Orders.list", attributeNodes = {
+                @NamedAttributeNode("member"), @NamedAttributeNode("delivery"), @NamedAttributeNode("coupon")})
+})
+@Table(name="orders", indexes = {
+        // 매출 집계 재구성 시 기간 조회/잠금 범위
+        @Index(name = "idx_orders_order_date", columnList = "order_date")
+})
 @Getter @Setter
 public class Orders {
     @Id
@@ -26,6 +41,7 @@ public class Orders {
     private Member member;
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     private List<OrderItem> orderItems = new ArrayList<>();
 
     @OneToOne(fetch = LAZY, cascade = CascadeType.ALL)
@@ -70,9 +86,6 @@ public class Orders {
         }
 
         this.setStatus(OrderStatus.CANCELED);
-        for (OrderItem orderItem : orderItems) {
-            orderItem.cancel();
-        }
     }
 
     // 전체 주문 가격 조회 (할인 적용 전)
@@ -6,19 +6,39 @@ import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Entity
 @Data
 @NoArgsConstructor
-@Table(name="post")
+@DynamicUpdate // 조회수 등 카운터 컬럼을 엔티티 저장 시 덮어쓰지 않도록 변경된 컬럼만 UPDATE
+@NamedEntityGraphs({
+        // 상세 조회/수정 응답 (PostResponseDto.from)
+        @NamedEntityGraph(name = "Post.detail", attributeNodes = {
+                @NamedAttributeNode("writer"), @NamedAttributeNode("postCategory"), @NamedAttributeNode("images")}),
+        // 목록/검색 응답 (PostResponseDto.fromForList, PostListDto.from)
+        @NamedEntityGraph(name = "Post.list", attributeNodes = {
+                @NamedAttributeNode("writer"), @NamedAttributeNode("postCategory")})
+})
+@Table(name="post", indexes = {
+        // 커서 페이징용 (정렬 컬럼, id) 복합 인덱스
+        @Index(name = "idx_post_date_id", columnList = "post_date, post_id"),
+        @Index(name = "idx_post_hit_id", columnList = "hit_count, post_id"),
+        @Index(name = "idx_post_like_id", columnList = "like_count, post_id"),
+        @Index(name = "idx_post_category_date_id", columnList = "post_category_id, post_date, post_id"),
+        @Index(name = "idx_post_category_hit_id", columnList = "post_category_id, hit_count, post_id"),
+        @Index(name = "idx_post_category_like_id", columnList = "post_category_id, like_count, post_id")
+})
 public class Post {
 
-    @ManyToOne(fetch = FetchType.EAGER) // 작성자와 다대일 관계
+    @ManyToOne(fetch = FetchType.LAZY) // 작성자와 다대일 관계 (필요한 곳에서만 EntityGraph로 함께 조회)
     @JoinColumn(name = "writer_id")
     @JsonIgnore
     private Member writer; //   작성자 (Member 엔티티와 연관)
@@ -35,30 +55,38 @@ public class Post {
     private String content; // 내용
 
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "post", cascade = CascadeType.ALL)
+    @BatchSize(size = 100)
     private List<Image> images = new ArrayList<>();
 
     @Column(name = "REPRESENTATIVE_IMAGE_PATH")
     private String representativeImagePath; // 대표 이미지 경로
 
+    @Column(name = "REPRESENTATIVE_THUMBNAIL_PATH")
+    private String representativeThumbnailPath; // 대표 이미지 썸네일 (생성 전이면 null)
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_category_id", nullable = false)
 
     private PostCategory postCategory;
 
     @CreationTimestamp
-    @Column(updatable = false) // 수정 시 값 변경되지 않도록 설정
+    @Column(name = "post_date", updatable = false) // 수정 시 값 변경되지 않도록 설정
     private LocalDateTime postDate;
 
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "post", cascade = CascadeType.ALL)
     @JsonIgnore
     private List<Comment> comments = new ArrayList<>();
 
-    @Column(nullable = false)
+    @Column(name = "hit_count", nullable = false)
     private int hitCount = 0; // 조회수
 
-    @Column(nullable = false)
+    @Column(name = "like_count", nullable = false)
     private int likeCount = 0; // 좋아요 수
 
+    // 삭제되지 않은 댓글 수 (CommentService에서 원자적 UPDATE로만 변경)
+    @Column(name = "comment_count", nullable = false)
+    private int commentCount = 0;
+
 
     @Builder
     public Post(Member writer, String title, String content, LocalDateTime postDate, PostCategory postCategory) {
@@ -70,6 +98,19 @@ public class Post {
     }
 
 
+    // 대표 이미지가 바뀌면 이전 이미지의 썸네일은 버림 (새 썸네일은 생성되는 대로 채워짐)
+    public void setRepresentativeImagePath(String representativeImagePath) {
+        if (!Objects.equals(this.representativeImagePath, representativeImagePath)) {
+            this.representativeThumbnailPath = null;
+        }
+        this.representativeImagePath = representativeImagePath;
+    }
+
+    // 목록 화면용 이미지 (썸네일이 아직 없으면 원본)
+    public String getListImagePath() {
+        return representativeThumbnailPath != null ? representativeThumbnailPath : representativeImagePath;
+    }
+
     // 조회수 증가
     public void increaseHitCount() {
         this.hitCount++;
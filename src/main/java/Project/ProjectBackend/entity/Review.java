@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -16,6 +17,11 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = "Review.detail", attributeNodes = {
+                @NamedAttributeNode("writer"), @NamedAttributeNode("images")}),
+        @NamedEntityGraph(name = "Review.list", attributeNodes = @NamedAttributeNode("writer"))
+})
 @Table(name="review")
 public class Review {
 
@@ -38,6 +44,7 @@ public class Review {
     private int rating; // 평점 (1~5)
 
     @OneToMany(mappedBy = "review", cascade = CascadeType.ALL)
+    @BatchSize(size = 100)
     @Builder.Default
     private List<Image> images = new ArrayList<>(); // 여러 이미지를 관리
 
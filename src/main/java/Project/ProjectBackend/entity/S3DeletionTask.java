@@ -0,0 +1,40 @@
+package Project.ProjectBackend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 삭제 대기 중인 S3 객체 (S3DeletionQueueService가 백그라운드에서 DeleteObjects로 일괄 삭제)
+// Image 행 삭제와 같은 트랜잭션에서 INSERT되므로 롤백되면 객체도 지워지지 않음
+// 재시도 한도를 넘긴 작업은 next_attempt_at을 비워 두고 확인용으로 남김
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "s3_deletion_task", indexes = {
+        // 처리 시각이 된 작업 조회용
+        @Index(name = "idx_s3_deletion_task_next_attempt", columnList = "next_attempt_at, task_id")
+})
+public class S3DeletionTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(name = "object_key", nullable = false, length = 1024)
+    private String objectKey;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,60 @@
+package Project.ProjectBackend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// 일별 매출 집계 (기준별 하루 한 행, 주문 생성/취소 시 SalesRollupService에서 증분 반영)
+// 취소된 주문은 주문일 행에서 차감되므로 값은 항상 취소를 제외한 순매출
+@Entity
+@Getter
+@NoArgsConstructor
+@IdClass(SalesDaily.Key.class)
+@Table(name = "sales_daily", indexes = {
+        // 기간 내 판매자/상품/카테고리 순위 조회용
+        @Index(name = "idx_sales_daily_dimension_date", columnList = "dimension, sales_date")
+})
+public class SalesDaily {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", length = 20)
+    private SalesDimension dimension;
+
+    @Id
+    @Column(name = "dimension_key", length = 100)
+    private String dimensionKey;
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "units", nullable = false)
+    private long units;
+
+    @Column(name = "gross_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal grossAmount;
+
+    @Column(name = "discount_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal discountAmount;
+
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private SalesDimension dimension;
+        private String dimensionKey;
+        private LocalDate salesDate;
+    }
+}
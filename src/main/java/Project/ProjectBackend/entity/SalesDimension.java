@@ -0,0 +1,10 @@
+package Project.ProjectBackend.entity;
+
+
+// 일별 매출 집계 기준
+public enum SalesDimension {
+    TOTAL,      // 전체 (dimension_key = "ALL")
+    SELLER,     // 판매자 (member_id)
+    ITEM,       // 상품 (item_id)
+    CATEGORY    // 상품 카테고리 (category_id, 주문 시점의 직접 카테고리)
+}
@@ -0,0 +1,34 @@
+package Project.ProjectBackend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 내용(SHA-256) 기준으로 한 번만 저장된 S3 이미지 객체
+// 같은 파일을 다시 올리면 새로 PUT하지 않고 이 객체를 참조하며(ref_count 증가),
+// 마지막 참조가 지워질 때 행을 삭제하고 S3 객체를 삭제 대기열에 등록 (StoredObjectService)
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "stored_object")
+public class StoredObject {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "image_path", nullable = false, length = 1024)
+    private String imagePath;
+
+    @Column(name = "file_size", nullable = false)
+    private long fileSize;
+
+    // 이 객체를 참조하는 Image 행 수 (업로드 후 저장 전까지 잡아 둔 참조 포함)
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,18 @@
+package Project.ProjectBackend.exception;
+
+import org.springframework.http.HttpStatus;
+
+// Idempotency-Key 요청을 처리할 수 없는 경우 (처리 중 409, 다른 요청 본문 422, 처리 중인 키가 너무 많음 503)
+public class IdempotencyKeyException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public IdempotencyKeyException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -1,5 +1,6 @@
 package Project.ProjectBackend.global;
 
+import Project.ProjectBackend.exception.IdempotencyKeyException;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +22,12 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.NOT_FOUND, e.getMessage());
     }
 
+    // Idempotency-Key 충돌 (처리 중, 다른 요청 본문 등)
+    @ExceptionHandler(IdempotencyKeyException.class)
+    public ResponseEntity<String> handleIdempotencyKey(IdempotencyKeyException e) {
+        return buildResponse(e.getStatus(), e.getMessage());
+    }
+
     // 기타 예외 (디버깅용 또는 포괄적인 처리)
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGenericException(Exception e) {
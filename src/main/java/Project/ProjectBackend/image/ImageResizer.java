@@ -0,0 +1,262 @@
+package Project.ProjectBackend.image;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+
+// 업로드 원본으로 목록/카드/상세용 JPEG 파생 이미지 생성
+// ImageIO로 픽셀만 다시 인코딩하므로 EXIF(위치 정보 등) 메타데이터는 모두 제거되고,
+// 제거 전에 EXIF 회전 값을 읽어 픽셀에 반영한다.
+public final class ImageResizer {
+
+    public static final String CONTENT_TYPE = "image/jpeg";
+    public static final String EXTENSION = "jpg";
+
+    private static final float JPEG_QUALITY = 0.82f;
+
+    // 디코딩을 허용하는 최대 픽셀 수 (4천만 화소 - RGB 디코딩 시 약 160MB)
+    private static final long MAX_PIXELS = 40_000_000L;
+
+    // 긴 변 기준 최대 크기 (원본이 더 작으면 확대하지 않음)
+    public enum Variant {
+        THUMB("thumb", 240),
+        CARD("card", 640),
+        DETAIL("detail", 1280);
+
+        private final String suffix;
+        private final int maxSide;
+
+        Variant(String suffix, int maxSide) {
+            this.suffix = suffix;
+            this.maxSide = maxSide;
+        }
+
+        public String suffix() {
+            return suffix;
+        }
+    }
+
+    private ImageResizer() {
+    }
+
+
+    // 디코딩할 수 없는 형식(WebP 등)이거나 픽셀 수가 너무 크면 null
+    public static Map<Variant, byte[]> resize(byte[] original) throws IOException {
+        BufferedImage source = decode(original);
+        if (source == null) {
+            return null;
+        }
+        BufferedImage oriented = applyOrientation(toRgb(source), readExifOrientation(original));
+
+        Map<Variant, byte[]> variants = new EnumMap<>(Variant.class);
+        BufferedImage previous = oriented;
+        // 큰 크기부터 만들어서 다음 변형은 더 작은 이미지에서 줄임
+        for (Variant variant : new Variant[]{Variant.DETAIL, Variant.CARD, Variant.THUMB}) {
+            BufferedImage scaled = scaleDown(previous, variant.maxSide);
+            variants.put(variant, encodeJpeg(scaled));
+            previous = scaled;
+        }
+        return variants;
+    }
+
+
+    // 헤더로 크기를 먼저 확인한 뒤 디코딩 (작은 파일이라도 픽셀 수가 크면 디코딩 메모리가 커짐)
+    private static BufferedImage decode(byte[] original) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(original))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 투명 배경은 흰색으로 채워서 RGB로 변환 (JPEG은 알파 채널 없음)
+    private static BufferedImage toRgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB) {
+            return source;
+        }
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, source.getWidth(), source.getHeight());
+            g.drawImage(source, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    // 긴 변이 maxSide가 될 때까지 절반씩 줄임 (한 번에 크게 줄이면 계단 현상이 생김)
+    private static BufferedImage scaleDown(BufferedImage source, int maxSide) {
+        int longSide = Math.max(source.getWidth(), source.getHeight());
+        if (longSide <= maxSide) {
+            return source;
+        }
+
+        double ratio = (double) maxSide / longSide;
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = draw(current, width, height, null);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, AffineTransform transform) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            if (transform != null) {
+                g.drawImage(source, transform, null);
+            } else {
+                g.drawImage(source, 0, 0, width, height, null);
+            }
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+
+    // ===== EXIF 회전 =====
+
+    // 휴대폰 카메라가 쓰는 회전 값(3: 180도, 6: 시계 방향 90도, 8: 반시계 방향 90도)만 반영, 나머지는 그대로
+    private static BufferedImage applyOrientation(BufferedImage image, int orientation) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        AffineTransform transform = new AffineTransform();
+        switch (orientation) {
+            case 3 -> {
+                transform.translate(w, h);
+                transform.rotate(Math.PI);
+                return draw(image, w, h, transform);
+            }
+            case 6 -> {
+                transform.translate(h, 0);
+                transform.rotate(Math.PI / 2);
+                return draw(image, h, w, transform);
+            }
+            case 8 -> {
+                transform.translate(0, w);
+                transform.rotate(-Math.PI / 2);
+                return draw(image, h, w, transform);
+            }
+            default -> {
+                return image;
+            }
+        }
+    }
+
+    // JPEG APP1(Exif) 세그먼트의 IFD0에서 Orientation(0x0112) 태그를 읽음, 없으면 1
+    static int readExifOrientation(byte[] jpeg) {
+        if (jpeg.length < 4 || (jpeg[0] & 0xFF) != 0xFF || (jpeg[1] & 0xFF) != 0xD8) {
+            return 1;
+        }
+
+        int pos = 2;
+        while (pos + 4 <= jpeg.length && (jpeg[pos] & 0xFF) == 0xFF) {
+            int marker = jpeg[pos + 1] & 0xFF;
+            int length = ((jpeg[pos + 2] & 0xFF) << 8) | (jpeg[pos + 3] & 0xFF);
+            if (marker == 0xDA || length < 2) {
+                break; // 이미지 데이터 시작 - 이후에는 EXIF 없음
+            }
+            int segmentStart = pos + 4;
+            if (marker == 0xE1 && length >= 8 && segmentStart + 6 <= jpeg.length
+                    && jpeg[segmentStart] == 'E' && jpeg[segmentStart + 1] == 'x'
+                    && jpeg[segmentStart + 2] == 'i' && jpeg[segmentStart + 3] == 'f') {
+                return readOrientationFromTiff(jpeg, segmentStart + 6, Math.min(jpeg.length, pos + 2 + length));
+            }
+            pos += 2 + length;
+        }
+        return 1;
+    }
+
+    private static int readOrientationFromTiff(byte[] data, int tiff, int end) {
+        if (tiff + 8 > end) {
+            return 1;
+        }
+        boolean littleEndian = data[tiff] == 'I' && data[tiff + 1] == 'I';
+        if (!littleEndian && !(data[tiff] == 'M' && data[tiff + 1] == 'M')) {
+            return 1; // 바이트 순서 표시가 없으면 TIFF 헤더가 아님
+        }
+        int ifd = tiff + readInt(data, tiff + 4, littleEndian);
+        if (ifd < tiff || ifd + 2 > end) {
+            return 1;
+        }
+
+        int entries = readShort(data, ifd, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > end) {
+                break;
+            }
+            if (readShort(data, entry, littleEndian) == 0x0112) {
+                int orientation = readShort(data, entry + 8, littleEndian);
+                return orientation >= 1 && orientation <= 8 ? orientation : 1;
+            }
+        }
+        return 1;
+    }
+
+    private static int readShort(byte[] data, int offset, boolean littleEndian) {
+        int b0 = data[offset] & 0xFF;
+        int b1 = data[offset + 1] & 0xFF;
+        return littleEndian ? (b1 << 8) | b0 : (b0 << 8) | b1;
+    }
+
+    private static int readInt(byte[] data, int offset, boolean littleEndian) {
+        int high = readShort(data, littleEndian ? offset + 2 : offset, littleEndian);
+        int low = readShort(data, littleEndian ? offset : offset + 2, littleEndian);
+        return (high << 16) | low;
+    }
+}
@@ -0,0 +1,59 @@
+package Project.ProjectBackend.image;
+
+import java.util.Map;
+
+// 파일 앞부분(매직 넘버)으로 이미지 형식 판별
+// 확장자나 클라이언트가 보낸 Content-Type은 바꿔 보낼 수 있으므로 실제 내용으로 확인한다.
+public final class ImageSignature {
+
+    // 판별에 필요한 앞부분 길이 (WebP: RIFF + 크기 4바이트 + WEBP)
+    public static final int HEADER_LENGTH = 12;
+
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] RIFF = {'R', 'I', 'F', 'F'};
+    private static final byte[] WEBP = {'W', 'E', 'B', 'P'};
+
+    // 허용하는 Content-Type -> 저장할 확장자
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", "jpg",
+            "image/png", "png",
+            "image/webp", "webp");
+
+    private ImageSignature() {
+    }
+
+    // 앞부분 바이트로 판별한 Content-Type (허용하지 않는 형식이면 null)
+    public static String detect(byte[] header) {
+        if (header == null) {
+            return null;
+        }
+        if (startsWith(header, 0, JPEG)) {
+            return "image/jpeg";
+        }
+        if (startsWith(header, 0, PNG)) {
+            return "image/png";
+        }
+        if (startsWith(header, 0, RIFF) && startsWith(header, 8, WEBP)) {
+            return "image/webp";
+        }
+        return null;
+    }
+
+    // 허용하는 Content-Type의 확장자 (허용하지 않으면 null)
+    public static String extensionOf(String contentType) {
+        return contentType != null ? EXTENSIONS.get(contentType) : null;
+    }
+
+    private static boolean startsWith(byte[] bytes, int offset, byte[] prefix) {
+        if (bytes.length < offset + prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,8 +1,14 @@
 package Project.ProjectBackend.repository;
 
+import Project.ProjectBackend.dto.ItemCategoryFlatDto;
 import Project.ProjectBackend.entity.ItemCategory;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -20,4 +26,55 @@ public interface CategoryRepository extends JpaRepository<ItemCategory, Long> {
 
     boolean existsByCategoryName(String categoryName);
 
+    // 전체 카테고리를 (id, 이름, 부모 id)로 한 번에 조회 - 트리 스냅샷 구성용
+    @Query("SELECT new Project.ProjectBackend.dto.ItemCategoryFlatDto(" +
+            "c.categoryId, c.categoryName, p.categoryId, c.directItemCount, c.itemCount) " +
+            "FROM ItemCategory c LEFT JOIN c.parent p ORDER BY c.categoryId")
+    List<ItemCategoryFlatDto> findAllFlat();
+
+
+    // ===== 상품 수 (직접 / 하위 포함) 증감 =====
+
+    // 상품 등록/삭제: 해당 카테고리와 모든 조상의 하위 포함 수, 해당 카테고리의 직접 수
+    @Modifying
+    @Query("UPDATE ItemCategory c SET c.itemCount = c.itemCount + :delta, " +
+            "c.directItemCount = c.directItemCount + CASE WHEN c.categoryId = :categoryId THEN :delta ELSE 0 END " +
+            "WHERE c.categoryId IN (SELECT cc.ancestorId FROM ItemCategoryClosure cc WHERE cc.descendantId = :categoryId)")
+    int adjustItemCounts(@Param("categoryId") Long categoryId, @Param("delta") int delta);
+
+    // 서브트리 이동/삭제: 자기 자신을 제외한 조상들의 하위 포함 수
+    @Modifying
+    @Query("UPDATE ItemCategory c SET c.itemCount = c.itemCount + :delta " +
+            "WHERE c.categoryId IN (SELECT cc.ancestorId FROM ItemCategoryClosure cc " +
+            "WHERE cc.descendantId = :categoryId AND cc.depth > 0)")
+    int adjustAncestorItemCounts(@Param("categoryId") Long categoryId, @Param("delta") int delta);
+
+    // 서브트리 상품 수 (이동이 끝날 때까지 같은 서브트리의 상품 증감 대기)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.itemCount FROM ItemCategory c WHERE c.categoryId = :categoryId")
+    int findItemCountForUpdate(@Param("categoryId") Long categoryId);
+
+    @Query("SELECT COALESCE(SUM(c.directItemCount), 0) FROM ItemCategory c")
+    long sumDirectItemCounts();
+
+    @Query("SELECT COUNT(i) FROM Item i WHERE i.category IS NOT NULL")
+    long countCategorizedItems();
+
+    // 보정: item 테이블 기준으로 직접 수 재계산
+    @Modifying
+    @Query(value = "UPDATE item_category c " +
+            "LEFT JOIN (SELECT category_id, COUNT(*) AS cnt FROM item GROUP BY category_id) d " +
+            "ON d.category_id = c.category_id " +
+            "SET c.direct_item_count = COALESCE(d.cnt, 0)", nativeQuery = true)
+    int reconcileDirectItemCounts();
+
+    // 보정: 클로저 테이블 + item 테이블 기준으로 하위 포함 수 재계산
+    @Modifying
+    @Query(value = "UPDATE item_category c " +
+            "LEFT JOIN (SELECT cc.ancestor_id, COUNT(*) AS cnt FROM item_category_closure cc " +
+            "JOIN item i ON i.category_id = cc.descendant_id GROUP BY cc.ancestor_id) d " +
+            "ON d.ancestor_id = c.category_id " +
+            "SET c.item_count = COALESCE(d.cnt, 0)", nativeQuery = true)
+    int reconcileItemCounts();
+
 }
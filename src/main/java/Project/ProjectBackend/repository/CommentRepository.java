@@ -5,13 +5,28 @@ import Project.ProjectBackend.entity.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph("Comment.withWriter")
     Slice<Comment> findByPostOrderByCommentDateAsc(Post post, Pageable pageable); // 특정 게시글의 댓글 조회
     void deleteAllByPost_PostId(Long postId);
+
+    // 수정 후 응답(CommentResponseDto)에 작성자 정보가 필요한 경우
+    @EntityGraph("Comment.withWriter")
+    Optional<Comment> findWithWriterByCommentId(Long commentId);
+
+    // 삭제 표시 (조건부 UPDATE - 동시에 삭제해도 한 번만 1을 반환하므로 댓글 수는 한 번만 감소)
+    @Modifying
+    @Query("UPDATE Comment c SET c.isDeleted = true WHERE c.commentId = :commentId AND c.isDeleted = false")
+    int markDeleted(@Param("commentId") Long commentId);
 }
@@ -2,9 +2,17 @@ package Project.ProjectBackend.repository;
 
 import Project.ProjectBackend.entity.Coupon;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface CouponRepository extends JpaRepository<Coupon, Long> {
     Optional<Coupon> findByCouponCode(String code);
+
+    // 발급 큐 반영 시 발급 수량 증가
+    @Modifying
+    @Query("UPDATE Coupon c SET c.issuedQuantity = c.issuedQuantity + :count WHERE c.couponId = :couponId")
+    int increaseIssuedQuantity(@Param("couponId") Long couponId, @Param("count") int count);
 }
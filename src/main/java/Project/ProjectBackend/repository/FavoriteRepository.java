@@ -5,6 +5,7 @@ import Project.ProjectBackend.entity.Item;
 import Project.ProjectBackend.entity.Member;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -16,6 +17,7 @@ public interface FavoriteRepository extends JpaRepository<FavoriteItem, Long> {
 
     boolean existsByMemberAndItem(Member member, Item item);
     Optional<FavoriteItem> findByMemberAndItem(Member member, Item item);
+    @EntityGraph(attributePaths = "item") // 마이페이지 찜 목록 (FavoriteItemListDto)
     Slice<FavoriteItem> findByMember(Member member, Pageable pageable);
     long countByItem_ItemId(Long itemId);
     }
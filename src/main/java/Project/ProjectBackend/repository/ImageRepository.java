@@ -2,7 +2,12 @@ package Project.ProjectBackend.repository;
 
 import Project.ProjectBackend.entity.Image;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +19,27 @@ public interface ImageRepository extends JpaRepository<Image, Long> {
 
     // S3 삭제를 위해 먼저 이미지 경로 리스트 조회
     List<Image> findAllByPost_PostId(Long postId);
+
+    // 게시글 목록의 이미지 경로를 한 번에 조회 (등록 순서)
+    List<Image> findAllByPost_PostIdInOrderByImageIdAsc(Collection<Long> postIds);
+
+    // 같은 내용의 이미지 중 파생 이미지가 만들어진 것
+    Optional<Image> findFirstByContentHashAndThumbnailPathIsNotNull(String contentHash);
+
+    // 경로 목록 중 아직 Image 행이 참조하는 경로
+    @Query("SELECT DISTINCT i.imagePath FROM Image i WHERE i.imagePath IN :imagePaths")
+    List<String> findImagePathsIn(@Param("imagePaths") Collection<String> imagePaths);
+
+    // 이미지 행 일괄 삭제 (S3 객체는 S3DeletionQueueService 대기열에서 삭제)
+    @Modifying
+    @Query("DELETE FROM Image i WHERE i.imageId IN :imageIds")
+    int deleteAllByImageIds(@Param("imageIds") List<Long> imageIds);
+
+    // 파생 이미지 경로 저장 (그 사이 이미지가 삭제됐으면 0)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Image i SET i.thumbnailPath = :thumbnailPath, i.cardPath = :cardPath, i.detailPath = :detailPath " +
+            "WHERE i.imageId = :imageId")
+    int updateVariants(@Param("imageId") Long imageId, @Param("thumbnailPath") String thumbnailPath,
+                       @Param("cardPath") String cardPath, @Param("detailPath") String detailPath);
 }
@@ -0,0 +1,71 @@
+package Project.ProjectBackend.repository;
+
+import Project.ProjectBackend.entity.ItemCategoryClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ItemCategoryClosureRepository extends JpaRepository<ItemCategoryClosure, ItemCategoryClosure.Key> {
+
+    // 자기 자신 포함 모든 자손 카테고리 id
+    @Query("SELECT cc.descendantId FROM ItemCategoryClosure cc WHERE cc.ancestorId = :categoryId")
+    List<Long> findDescendantIds(@Param("categoryId") Long categoryId);
+
+    // 자기 자신 경로(depth 0) 수 - 카테고리 수와 다르면 재구성 필요
+    @Query("SELECT COUNT(cc) FROM ItemCategoryClosure cc WHERE cc.depth = 0")
+    long countSelfLinks();
+
+
+    // 새 카테고리: 자기 자신 경로
+    @Modifying
+    @Query(value = "INSERT INTO item_category_closure (ancestor_id, descendant_id, depth) " +
+            "VALUES (:categoryId, :categoryId, 0)", nativeQuery = true)
+    void insertSelfLink(@Param("categoryId") Long categoryId);
+
+    // 새 카테고리: 부모의 모든 조상 -> 새 카테고리 경로
+    @Modifying
+    @Query(value = "INSERT INTO item_category_closure (ancestor_id, descendant_id, depth) " +
+            "SELECT ancestor_id, :categoryId, depth + 1 FROM item_category_closure " +
+            "WHERE descendant_id = :parentId", nativeQuery = true)
+    void insertLinksUnder(@Param("categoryId") Long categoryId, @Param("parentId") Long parentId);
+
+    // 이동: 서브트리 밖의 조상 -> 서브트리 경로 제거 (서브트리 내부 경로는 유지)
+    @Modifying
+    @Query(value = "DELETE link FROM item_category_closure link " +
+            "JOIN item_category_closure sub ON sub.descendant_id = link.descendant_id AND sub.ancestor_id = :categoryId " +
+            "LEFT JOIN item_category_closure inside ON inside.ancestor_id = :categoryId AND inside.descendant_id = link.ancestor_id " +
+            "WHERE inside.ancestor_id IS NULL", nativeQuery = true)
+    int detachSubtree(@Param("categoryId") Long categoryId);
+
+    // 이동: 새 부모의 모든 조상 -> 서브트리 경로 추가
+    @Modifying
+    @Query(value = "INSERT INTO item_category_closure (ancestor_id, descendant_id, depth) " +
+            "SELECT super.ancestor_id, sub.descendant_id, super.depth + sub.depth + 1 " +
+            "FROM item_category_closure super JOIN item_category_closure sub " +
+            "ON super.descendant_id = :parentId AND sub.ancestor_id = :categoryId", nativeQuery = true)
+    int attachSubtree(@Param("categoryId") Long categoryId, @Param("parentId") Long parentId);
+
+    // 삭제: 해당 카테고리로 들어오는 경로 제거 (자식이 없는 카테고리만 삭제 가능)
+    @Modifying
+    @Query("DELETE FROM ItemCategoryClosure cc WHERE cc.descendantId = :categoryId")
+    void deleteLinksTo(@Param("categoryId") Long categoryId);
+
+
+    // 전체 재구성 (item_category.parent_id 기준)
+    @Modifying
+    @Query(value = "DELETE FROM item_category_closure", nativeQuery = true)
+    void deleteAllLinks();
+
+    @Modifying
+    @Query(value = "INSERT INTO item_category_closure (ancestor_id, descendant_id, depth) " +
+            "WITH RECURSIVE tree (ancestor_id, descendant_id, depth) AS (" +
+            "  SELECT category_id, category_id, 0 FROM item_category " +
+            "  UNION ALL " +
+            "  SELECT t.ancestor_id, c.category_id, t.depth + 1 " +
+            "  FROM tree t JOIN item_category c ON c.parent_id = t.descendant_id" +
+            ") SELECT ancestor_id, descendant_id, depth FROM tree", nativeQuery = true)
+    int insertAllLinks();
+}
@@ -1,19 +1,26 @@
 package Project.ProjectBackend.repository;
 
+import Project.ProjectBackend.dto.ItemListDto;
+import Project.ProjectBackend.dto.ItemResponseDto;
 import Project.ProjectBackend.entity.Item;
 import Project.ProjectBackend.entity.Member;
+import Project.ProjectBackend.search.SearchDocument;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
 
     // 특정 사용자로 조회
     @EntityGraph(attributePaths = "images")
@@ -26,13 +33,19 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     // 카테고리로 조회
     Slice<Item> findByCategory_CategoryName(String categoryName, Pageable pageable);
 
+    // 상세 조회/수정용 (판매자, 카테고리, 이미지 함께 조회)
+    @EntityGraph("Item.detail")
+    Optional<Item> findDetailByItemId(Long itemId);
+
     // 검색
+    @EntityGraph("Item.list")
     @Query("SELECT i FROM Item i WHERE LOWER(i.itemName) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
             "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Slice<Item> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
 
 
     // 키워드+카테고리로 검색
+    @EntityGraph("Item.list")
     @Query("SELECT i FROM Item i WHERE " +
             "(LOWER(i.itemName) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
             "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
@@ -42,4 +55,91 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
                                            Pageable pageable);
 
 
+    // 재고 수량만 조회 (재고 예약 캐시 적재용)
+    @Query("SELECT i.stockQuantity FROM Item i WHERE i.itemId = :itemId")
+    Optional<Integer> findStockQuantityByItemId(@Param("itemId") Long itemId);
+
+    // ===== 재고 (조건부 UPDATE - 동시 주문에도 재고가 음수가 되지 않음) =====
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Item i SET i.stockQuantity = i.stockQuantity - :count " +
+            "WHERE i.itemId = :itemId AND i.stockQuantity >= :count")
+    int decreaseStock(@Param("itemId") Long itemId, @Param("count") int count);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Item i SET i.stockQuantity = i.stockQuantity + :count WHERE i.itemId = :itemId")
+    int increaseStock(@Param("itemId") Long itemId, @Param("count") int count);
+
+
+    // 썸네일 생성 완료 시 대표 썸네일 반영 (그 사이 대표 이미지가 바뀌었으면 0)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Item i SET i.representativeThumbnailPath = :thumbnailPath " +
+            "WHERE i.itemId = :itemId AND i.representativeImagePath = :imagePath")
+    int updateRepresentativeThumbnail(@Param("itemId") Long itemId, @Param("imagePath") String imagePath,
+                                      @Param("thumbnailPath") String thumbnailPath);
+
+
+    // ===== 목록 조회용 DTO 프로젝션 (페이지당 쿼리 1회, 연관 엔티티 지연 로딩 없음) =====
+
+    String ITEM_LIST_SELECT = "SELECT new Project.ProjectBackend.dto.ItemResponseDto(" +
+            "i.itemId, i.itemName, i.price, i.description, i.stockQuantity, " +
+            "c.categoryId, c.categoryName, i.itemDate, COALESCE(i.representativeThumbnailPath, i.representativeImagePath)) " +
+            "FROM Item i LEFT JOIN i.category c";
+
+    @Query(ITEM_LIST_SELECT)
+    Slice<ItemResponseDto> findItemList(Pageable pageable);
+
+    @Query(ITEM_LIST_SELECT + " WHERE c.categoryName = :categoryName")
+    Slice<ItemResponseDto> findItemListByCategoryName(@Param("categoryName") String categoryName, Pageable pageable);
+
+    // 카테고리 + 모든 하위 카테고리의 상품 (클로저 테이블로 자손 id를 구해 item.category_id 인덱스로 조회)
+    @Query(ITEM_LIST_SELECT + " WHERE i.category.categoryId IN (" +
+            "SELECT cc.descendantId FROM ItemCategoryClosure cc WHERE cc.ancestorId = :categoryId)")
+    Slice<ItemResponseDto> findItemListInCategoryTree(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query(ITEM_LIST_SELECT + " WHERE i.category.categoryId IN (" +
+            "SELECT cc.descendantId FROM ItemCategoryClosure cc, ItemCategory a " +
+            "WHERE a.categoryId = cc.ancestorId AND a.categoryName = :categoryName)")
+    Slice<ItemResponseDto> findItemListInCategoryTreeByName(@Param("categoryName") String categoryName, Pageable pageable);
+
+    @Query(ITEM_LIST_SELECT + " WHERE i.seller.memberId = :memberId")
+    Slice<ItemResponseDto> findItemListBySeller(@Param("memberId") String memberId, Pageable pageable);
+
+    // 판매자 상점 화면용
+    @Query("SELECT new Project.ProjectBackend.dto.ItemListDto(" +
+            "i.itemId, i.itemName, i.price, i.stockQuantity, s.memberId, s.profileImageUrl, " +
+            "c.categoryId, c.categoryName, i.itemDate, COALESCE(i.representativeThumbnailPath, i.representativeImagePath)) " +
+            "FROM Item i JOIN i.seller s LEFT JOIN i.category c " +
+            "WHERE s.memberId = :memberId")
+    Slice<ItemListDto> findItemListDtoBySeller(@Param("memberId") String memberId, Pageable pageable);
+
+
+    // 검색 인덱스 결과(id 목록)를 요청한 정렬로 페이징
+    @EntityGraph("Item.list")
+    Slice<Item> findByItemIdIn(List<Long> itemIds, Pageable pageable);
+
+    // 검색 인덱스 결과(id 목록)를 관련도순으로 조회
+    @EntityGraph("Item.list")
+    List<Item> findAllByItemIdIn(Collection<Long> itemIds);
+
+    // 검색 인덱스 재구성용 (id 기준 키셋 페이징)
+    @Query("SELECT new Project.ProjectBackend.search.SearchDocument(i.itemId, i.itemName, i.description, c.categoryName) " +
+            "FROM Item i LEFT JOIN i.category c " +
+            "WHERE i.itemId > :lastId ORDER BY i.itemId ASC")
+    List<SearchDocument> findSearchDocumentsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 카테고리 이름 변경 시 검색 인덱스의 카테고리를 바꿀 상품 id
+    @Query("SELECT i.itemId FROM Item i WHERE i.category.categoryId = :categoryId")
+    List<Long> findItemIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+
+    // 조회수 일괄 반영 (HitCountService)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Item i SET i.hitCount = i.hitCount + :delta WHERE i.itemId IN :itemIds")
+    int increaseHitCounts(@Param("delta") int delta, @Param("itemIds") List<Long> itemIds);
+
 }
@@ -0,0 +1,13 @@
+package Project.ProjectBackend.repository;
+
+import Project.ProjectBackend.dto.FeedCursor;
+import Project.ProjectBackend.entity.Item;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+public interface ItemRepositoryCustom {
+
+    // 커서 다음 위치부터 limit개 조회 (categoryName, sellerId는 null이면 조건 제외)
+    List<Item> findItemsAfterCursor(String categoryName, String sellerId, Sort.Order order, FeedCursor cursor, int limit);
+}
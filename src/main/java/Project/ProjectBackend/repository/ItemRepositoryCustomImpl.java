@@ -0,0 +1,58 @@
+package Project.ProjectBackend.repository;
+
+import Project.ProjectBackend.dto.FeedCursor;
+import Project.ProjectBackend.entity.Item;
+import Project.ProjectBackend.entity.ItemCategory;
+import Project.ProjectBackend.entity.ItemCategoryClosure;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Item> findItemsAfterCursor(String categoryName, String sellerId, Sort.Order order, FeedCursor cursor, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Item> query = cb.createQuery(Item.class);
+        Root<Item> item = query.from(Item.class);
+        item.fetch("category", JoinType.LEFT); // 목록 DTO 변환 시 카테고리 지연 로딩 방지
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (categoryName != null) {
+            // 하위 카테고리 상품까지 포함 (클로저 테이블)
+            Subquery<Long> descendants = query.subquery(Long.class);
+            Root<ItemCategoryClosure> closure = descendants.from(ItemCategoryClosure.class);
+            Root<ItemCategory> ancestor = descendants.from(ItemCategory.class);
+            descendants.select(closure.get("descendantId"))
+                    .where(cb.equal(ancestor.get("categoryId"), closure.get("ancestorId")),
+                            cb.equal(ancestor.get("categoryName"), categoryName));
+            predicates.add(item.get("category").get("categoryId").in(descendants));
+        }
+        if (sellerId != null) {
+            predicates.add(cb.equal(item.get("seller").get("memberId"), sellerId));
+        }
+        if (cursor != null) {
+            predicates.add(KeysetPredicates.after(cb, item, order, "itemId", cursor));
+        }
+
+        query.select(item)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(KeysetPredicates.orderBy(cb, item, order, "itemId"));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
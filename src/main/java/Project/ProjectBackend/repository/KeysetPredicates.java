@@ -0,0 +1,62 @@
+package Project.ProjectBackend.repository;
+
+import Project.ProjectBackend.dto.FeedCursor;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 키셋 페이징 공통 조건: (정렬값, id)가 커서 위치보다 뒤에 있는 행만 조회
+final class KeysetPredicates {
+
+    private KeysetPredicates() {
+    }
+
+    // DESC: value < :v OR (value = :v AND id < :id)
+    // ASC : value > :v OR (value = :v AND id > :id)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Predicate after(CriteriaBuilder cb, Root<?> root, Sort.Order order, String idProperty, FeedCursor cursor) {
+        Expression sortPath = root.get(order.getProperty());
+        Expression<Long> idPath = root.get(idProperty);
+        Comparable value = parseValue(sortPath.getJavaType(), cursor.getSortValue());
+
+        if (order.isDescending()) {
+            return cb.or(
+                    cb.lessThan(sortPath, value),
+                    cb.and(cb.equal(sortPath, value), cb.lessThan(idPath, cursor.getId())));
+        }
+        return cb.or(
+                cb.greaterThan(sortPath, value),
+                cb.and(cb.equal(sortPath, value), cb.greaterThan(idPath, cursor.getId())));
+    }
+
+    // 정렬 컬럼과 같은 방향으로 id를 보조 정렬 -> (정렬 컬럼, id) 복합 인덱스를 그대로 탄다
+    static List<Order> orderBy(CriteriaBuilder cb, Root<?> root, Sort.Order order, String idProperty) {
+        if (order.isDescending()) {
+            return List.of(cb.desc(root.get(order.getProperty())), cb.desc(root.get(idProperty)));
+        }
+        return List.of(cb.asc(root.get(order.getProperty())), cb.asc(root.get(idProperty)));
+    }
+
+    private static Comparable<?> parseValue(Class<?> type, String value) {
+        try {
+            if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(value);
+            }
+            if (type == Integer.class || type == int.class) {
+                return Integer.valueOf(value);
+            }
+            if (type == Long.class || type == long.class) {
+                return Long.valueOf(value);
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+        throw new IllegalArgumentException("커서 페이징을 지원하지 않는 정렬입니다.");
+    }
+}
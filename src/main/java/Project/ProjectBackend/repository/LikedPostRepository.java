@@ -3,6 +3,7 @@ package Project.ProjectBackend.repository;
 import Project.ProjectBackend.entity.*;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -23,6 +24,7 @@ public interface LikedPostRepository extends JpaRepository<LikedPost, Long> {
 
     Optional<LikedPost> findByMemberAndPost(Member member, Post post);
 
+    @EntityGraph(attributePaths = "post") // 마이페이지 좋아요 목록 (LikedPostListDto)
     Slice<LikedPost> findByMember(Member member, Pageable pageable);
 
     long countByPost_PostId(long postId);
@@ -0,0 +1,35 @@
+package Project.ProjectBackend.repository;
+
+import Project.ProjectBackend.entity.MemberCoupon;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MemberCouponRepository extends JpaRepository<MemberCoupon, Long> {
+
+    // 발급 카운터 초기화용 - 이미 발급받은 회원 목록
+    @Query("SELECT mc.member.memberId FROM MemberCoupon mc WHERE mc.coupon.couponId = :couponId")
+    List<String> findMemberIdsByCouponId(@Param("couponId") Long couponId);
+
+    // 사용 처리 (미사용 쿠폰일 때만 - 같은 쿠폰으로 동시에 두 주문을 할 수 없음)
+    @Modifying
+    @Query("UPDATE MemberCoupon mc SET mc.isUsed = true, mc.usedDate = :usedDate " +
+            "WHERE mc.member.memberId = :memberId AND mc.coupon.couponId = :couponId AND mc.isUsed = false")
+    int markUsed(@Param("memberId") String memberId, @Param("couponId") Long couponId,
+                 @Param("usedDate") LocalDateTime usedDate);
+
+    // 주문 취소 시 사용 취소
+    @Modifying
+    @Query("UPDATE MemberCoupon mc SET mc.isUsed = false, mc.usedDate = null " +
+            "WHERE mc.member.memberId = :memberId AND mc.coupon.couponId = :couponId AND mc.isUsed = true")
+    int markUnused(@Param("memberId") String memberId, @Param("couponId") Long couponId);
+
+    // 쿠폰 삭제 시 발급 내역 일괄 삭제 (컬렉션을 읽어 한 건씩 지우지 않음)
+    @Modifying
+    @Query("DELETE FROM MemberCoupon mc WHERE mc.coupon.couponId = :couponId")
+    int deleteAllByCouponId(@Param("couponId") Long couponId);
+}
@@ -0,0 +1,57 @@
+package Project.ProjectBackend.repository;
+
+import Project.ProjectBackend.entity.DeliveryStatus;
+import Project.ProjectBackend.entity.OrderItem;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    // 판매자 주문함 - 판매자 상품이 포함된 주문 상품을 주문/배송/구매자/상품과 한 번에 조회
+    // (모두 단건 연관이라 fetch join과 LIMIT를 함께 사용해도 메모리 페이징이 발생하지 않음)
+    // 필터 조합마다 쿼리를 따로 두어 (:x IS NULL OR ...) 조건 없이 idx_order_item_seller_id 범위 조회가 되도록 함
+    // 상태 필터는 인덱스에 없으므로 판매자 범위를 id 역순으로 읽으며 배송 상태를 행마다 확인한다.
+    // (한 페이지 비용 = 조건에 맞는 행이 size+1개 모일 때까지 읽은 판매자 주문 상품 수)
+    // cursor는 이전 페이지 마지막 orderItemId
+    String SELLER_INBOX_SELECT = "SELECT oi FROM OrderItem oi " +
+            "JOIN FETCH oi.item i " +
+            "JOIN FETCH oi.order o " +
+            "JOIN FETCH o.delivery d " +
+            "JOIN FETCH o.member " +
+            "WHERE oi.sellerId = :sellerId ";
+
+    String SELLER_INBOX_ORDER = " ORDER BY oi.orderItemId DESC";
+
+    @Query(SELLER_INBOX_SELECT + SELLER_INBOX_ORDER)
+    List<OrderItem> findSellerInbox(@Param("sellerId") String sellerId, Pageable limit);
+
+    @Query(SELLER_INBOX_SELECT + "AND d.status = :status" + SELLER_INBOX_ORDER)
+    List<OrderItem> findSellerInboxByStatus(@Param("sellerId") String sellerId,
+                                            @Param("status") DeliveryStatus status,
+                                            Pageable limit);
+
+    @Query(SELLER_INBOX_SELECT + "AND oi.orderItemId < :cursor" + SELLER_INBOX_ORDER)
+    List<OrderItem> findSellerInboxAfter(@Param("sellerId") String sellerId,
+                                         @Param("cursor") Long cursor,
+                                         Pageable limit);
+
+    @Query(SELLER_INBOX_SELECT + "AND d.status = :status AND oi.orderItemId < :cursor" + SELLER_INBOX_ORDER)
+    List<OrderItem> findSellerInboxByStatusAfter(@Param("sellerId") String sellerId,
+                                                 @Param("status") DeliveryStatus status,
+                                                 @Param("cursor") Long cursor,
+                                                 Pageable limit);
+
+    // seller_id 컬럼 도입 이전 주문 상품에 상품 판매자 id 채우기
+    @Modifying
+    @Query("UPDATE OrderItem oi SET oi.sellerId = " +
+            "(SELECT i.seller.memberId FROM Item i WHERE i = oi.item) " +
+            "WHERE oi.sellerId IS NULL")
+    int backfillSellerIds();
+}
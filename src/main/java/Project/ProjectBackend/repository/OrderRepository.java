@@ -1,14 +1,39 @@
 package Project.ProjectBackend.repository;
 
 import Project.ProjectBackend.entity.Member;
+import Project.ProjectBackend.entity.OrderStatus;
 import Project.ProjectBackend.entity.Orders;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface OrderRepository extends JpaRepository<Orders, Long> {
+    @EntityGraph("Orders.list")
     Slice<Orders> findByMember(Member member, Pageable pageable);
 
+    // 관리자 전체 주문 목록
+    @Override
+    @EntityGraph("Orders.list")
+    Page<Orders> findAll(Pageable pageable);
+
+    // 주문 상세 (주문 상품, 상품까지 함께 조회)
+    @EntityGraph("Orders.detail")
+    Optional<Orders> findDetailByOrderId(Long orderId);
+
+    // 취소 상태로 변경 (이미 취소된 주문이면 0 - 동시 취소 시 재고가 두 번 복구되지 않도록)
+    @Modifying
+    @Query("UPDATE Orders o SET o.status = :canceled WHERE o.orderId = :orderId AND o.status <> :canceled")
+    int markCanceled(@Param("orderId") Long orderId, @Param("canceled") OrderStatus canceled);
+
+    // 쿠폰이 사용된 주문이 있는지 (사용된 쿠폰은 삭제하지 않음)
+    boolean existsByCoupon_CouponId(Long couponId);
 }
@@ -1,26 +1,42 @@
 package Project.ProjectBackend.repository;
 
+import Project.ProjectBackend.dto.PostResponseDto;
 import Project.ProjectBackend.entity.Post;
+import Project.ProjectBackend.search.SearchDocument;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface PostRepository extends JpaRepository<Post, Long> {
+public interface PostRepository extends JpaRepository<Post, Long>, PostRepositoryCustom {
+
+    // 상세 조회/수정용 (작성자, 카테고리, 이미지 함께 조회)
+    @EntityGraph("Post.detail")
+    Optional<Post> findDetailByPostId(Long postId);
 
+    @EntityGraph("Post.list")
     Slice<Post> findByWriter_MemberId(String memberId, Pageable pageable);
     Slice<Post> findByWriter_MemberIdOrderByPostDateDesc(String memberId, Pageable pageable);
     // 카테고리별 글 조회 (Slice 반환)
     Slice<Post> findByPostCategory_CategoryId(Long categoryId, Pageable pageable);
 
     // 검색
+    @EntityGraph("Post.list")
     @Query("SELECT p FROM Post p WHERE LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
             "OR LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Slice<Post> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
 
+    @EntityGraph("Post.list")
     @Query("SELECT p FROM Post p WHERE " +
             "(LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
             "OR LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
@@ -29,4 +45,77 @@ public interface PostRepository extends JpaRepository<Post, Long> {
                                            @Param("category") String category,
                                            Pageable pageable);
 
+    // ===== 목록 조회용 DTO 프로젝션 (페이지당 쿼리 1회, 연관 엔티티 지연 로딩 없음) =====
+
+    String POST_LIST_SELECT = "SELECT new Project.ProjectBackend.dto.PostResponseDto(" +
+            "p.postId, p.title, p.content, w.memberId, w.nickName, w.profileImageUrl, " +
+            "pc.categoryId, pc.categoryName, p.postDate, p.hitCount, p.likeCount, COALESCE(p.representativeThumbnailPath, p.representativeImagePath), " +
+            "p.commentCount) " +
+            "FROM Post p LEFT JOIN p.writer w JOIN p.postCategory pc";
+
+    @Query(POST_LIST_SELECT)
+    Slice<PostResponseDto> findPostList(Pageable pageable);
+
+    @Query(POST_LIST_SELECT + " WHERE pc.categoryId = :categoryId")
+    Slice<PostResponseDto> findPostListByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query(POST_LIST_SELECT + " WHERE w.memberId = :memberId")
+    Slice<PostResponseDto> findPostListByWriter(@Param("memberId") String memberId, Pageable pageable);
+
+    // 검색 인덱스 결과(id 목록)를 요청한 정렬로 페이징
+    @EntityGraph("Post.list")
+    Slice<Post> findByPostIdIn(List<Long> postIds, Pageable pageable);
+
+    // 검색 인덱스 결과(id 목록)를 관련도순으로 조회
+    @EntityGraph("Post.list")
+    List<Post> findAllByPostIdIn(Collection<Long> postIds);
+
+    // 검색 인덱스 재구성용 (id 기준 키셋 페이징)
+    @Query("SELECT new Project.ProjectBackend.search.SearchDocument(p.postId, p.title, p.content, pc.categoryName) " +
+            "FROM Post p LEFT JOIN p.postCategory pc " +
+            "WHERE p.postId > :lastId ORDER BY p.postId ASC")
+    List<SearchDocument> findSearchDocumentsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 카테고리 이름 변경 시 검색 인덱스의 카테고리를 바꿀 게시글 id
+    @Query("SELECT p.postId FROM Post p WHERE p.postCategory.categoryId = :categoryId")
+    List<Long> findPostIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    // 조회수 일괄 반영 (HitCountService)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.hitCount = p.hitCount + :delta WHERE p.postId IN :postIds")
+    int increaseHitCounts(@Param("delta") int delta, @Param("postIds") List<Long> postIds);
+
+    // 썸네일 생성 완료 시 대표 썸네일 반영 (그 사이 대표 이미지가 바뀌었으면 0)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.representativeThumbnailPath = :thumbnailPath " +
+            "WHERE p.postId = :postId AND p.representativeImagePath = :imagePath")
+    int updateRepresentativeThumbnail(@Param("postId") Long postId, @Param("imagePath") String imagePath,
+                                      @Param("thumbnailPath") String thumbnailPath);
+
+    // 댓글 수 증감 (CommentService) - 엔티티를 거치지 않는 원자적 UPDATE
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + 1 WHERE p.postId = :postId")
+    int increaseCommentCount(@Param("postId") Long postId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount - 1 WHERE p.postId = :postId AND p.commentCount > 0")
+    int decreaseCommentCount(@Param("postId") Long postId);
+
+    // 댓글 수 재계산 (관리자 보정 작업) - 실제 값과 다른 게시글만 갱신하고 갱신 건수 반환
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = " +
+            "(SELECT COUNT(c) FROM Comment c WHERE c.post.postId = p.postId AND c.isDeleted = false) " +
+            "WHERE p.postId > :fromId AND p.postId <= :toId " +
+            "AND p.commentCount <> " +
+            "(SELECT COUNT(c2) FROM Comment c2 WHERE c2.post.postId = p.postId AND c2.isDeleted = false)")
+    int reconcileCommentCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("SELECT COALESCE(MAX(p.postId), 0) FROM Post p")
+    Long findMaxPostId();
+
 }
@@ -0,0 +1,13 @@
+package Project.ProjectBackend.repository;
+
+import Project.ProjectBackend.dto.FeedCursor;
+import Project.ProjectBackend.dto.PostResponseDto;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+public interface PostRepositoryCustom {
+
+    // 커서 다음 위치부터 limit개의 목록 DTO 조회 (categoryId가 null이면 전체)
+    List<PostResponseDto> findPostListAfterCursor(Long categoryId, Sort.Order order, FeedCursor cursor, int limit);
+}
@@ -0,0 +1,57 @@
+package Project.ProjectBackend.repository;
+
+import Project.ProjectBackend.dto.FeedCursor;
+import Project.ProjectBackend.dto.PostResponseDto;
+import Project.ProjectBackend.entity.Member;
+import Project.ProjectBackend.entity.Post;
+import Project.ProjectBackend.entity.PostCategory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PostRepositoryCustomImpl implements PostRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // PostRepository.POST_LIST_SELECT 와 같은 컬럼을 criteria로 프로젝션
+    @Override
+    public List<PostResponseDto> findPostListAfterCursor(Long categoryId, Sort.Order order, FeedCursor cursor, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PostResponseDto> query = cb.createQuery(PostResponseDto.class);
+        Root<Post> post = query.from(Post.class);
+        Join<Post, Member> writer = post.join("writer", JoinType.LEFT);
+        Join<Post, PostCategory> postCategory = post.join("postCategory");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (categoryId != null) {
+            predicates.add(cb.equal(postCategory.get("categoryId"), categoryId));
+        }
+        if (cursor != null) {
+            predicates.add(KeysetPredicates.after(cb, post, order, "postId", cursor));
+        }
+
+        query.select(cb.construct(PostResponseDto.class,
+                        post.get("postId"), post.get("title"), post.get("content"),
+                        writer.get("memberId"), writer.get("nickName"), writer.get("profileImageUrl"),
+                        postCategory.get("categoryId"), postCategory.get("categoryName"),
+                        post.get("postDate"), post.get("hitCount"), post.get("likeCount"),
+                        cb.coalesce(post.<String>get("representativeThumbnailPath"), post.<String>get("representativeImagePath")),
+                        post.get("commentCount")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(KeysetPredicates.orderBy(cb, post, order, "postId"));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
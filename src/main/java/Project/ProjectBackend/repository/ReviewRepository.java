@@ -3,12 +3,20 @@ package Project.ProjectBackend.repository;
 import Project.ProjectBackend.entity.Review;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     // 상점 소유자가 받은 리뷰 조회 (페이징)
+    @EntityGraph("Review.list")
     Slice<Review> findByStoreOwner_MemberIdOrderByCreatedAtDesc(String storeOwnerId, Pageable pageable);
+
+    // 리뷰 상세 조회 (작성자, 이미지 함께 조회)
+    @EntityGraph("Review.detail")
+    Optional<Review> findDetailByReviewId(Long reviewId);
 }
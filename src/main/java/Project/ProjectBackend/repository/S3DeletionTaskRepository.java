@@ -0,0 +1,13 @@
+package Project.ProjectBackend.repository;
+
+import Project.ProjectBackend.entity.S3DeletionTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface S3DeletionTaskRepository extends JpaRepository<S3DeletionTask, Long> {
+
+    // 재시도 대기 중인 작업 수
+    long countByNextAttemptAtIsNotNull();
+
+    // 재시도 한도를 넘겨 멈춘 작업 수
+    long countByNextAttemptAtIsNull();
+}
@@ -0,0 +1,40 @@
+package Project.ProjectBackend.repository;
+
+import Project.ProjectBackend.dto.SalesDailyDto;
+import Project.ProjectBackend.entity.SalesDaily;
+import Project.ProjectBackend.entity.SalesDimension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SalesDailyRepository extends JpaRepository<SalesDaily, SalesDaily.Key> {
+
+    // 특정 판매자/상품/카테고리의 일별 매출 (PK 범위 조회)
+    @Query("SELECT s FROM SalesDaily s " +
+            "WHERE s.dimension = :dimension AND s.dimensionKey = :dimensionKey " +
+            "AND s.salesDate BETWEEN :from AND :to ORDER BY s.salesDate")
+    List<SalesDaily> findDaily(@Param("dimension") SalesDimension dimension,
+                               @Param("dimensionKey") String dimensionKey,
+                               @Param("from") LocalDate from,
+                               @Param("to") LocalDate to);
+
+    // 기간 합계 매출 순위 (총매출 내림차순)
+    @Query("SELECT new Project.ProjectBackend.dto.SalesDailyDto(s.dimensionKey, SUM(s.orderCount), SUM(s.units), " +
+            "SUM(s.grossAmount), SUM(s.discountAmount)) FROM SalesDaily s " +
+            "WHERE s.dimension = :dimension AND s.salesDate BETWEEN :from AND :to " +
+            "GROUP BY s.dimensionKey ORDER BY SUM(s.grossAmount) DESC")
+    List<SalesDailyDto> findRanking(@Param("dimension") SalesDimension dimension,
+                                    @Param("from") LocalDate from,
+                                    @Param("to") LocalDate to,
+                                    Pageable limit);
+
+    // 집계 재구성 전 기간 내 행 삭제
+    @Modifying
+    @Query("DELETE FROM SalesDaily s WHERE s.salesDate BETWEEN :from AND :to")
+    int deleteByRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
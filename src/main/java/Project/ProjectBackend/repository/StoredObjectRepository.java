@@ -0,0 +1,25 @@
+package Project.ProjectBackend.repository;
+
+import Project.ProjectBackend.entity.StoredObject;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface StoredObjectRepository extends JpaRepository<StoredObject, String> {
+
+    // 참조 추가 (행이 없으면 0 - 아직 저장된 적 없거나 마지막 참조가 지워진 객체)
+    @Modifying
+    @Query("UPDATE StoredObject s SET s.refCount = s.refCount + 1 WHERE s.contentHash = :contentHash")
+    int acquire(@Param("contentHash") String contentHash);
+
+    // 참조 해제
+    @Modifying
+    @Query("UPDATE StoredObject s SET s.refCount = s.refCount - :count WHERE s.contentHash = :contentHash")
+    int release(@Param("contentHash") String contentHash, @Param("count") int count);
+
+    // 참조가 남지 않은 객체 행 삭제 (삭제됐으면 1 - 이때만 S3 객체 삭제)
+    @Modifying
+    @Query("DELETE FROM StoredObject s WHERE s.contentHash = :contentHash AND s.refCount <= 0")
+    int deleteIfUnreferenced(@Param("contentHash") String contentHash);
+}
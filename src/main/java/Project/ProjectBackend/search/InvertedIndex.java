@@ -0,0 +1,167 @@
+package Project.ProjectBackend.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 메모리 역색인 (토큰 -> 문서 id -> 가중치 적용된 출현 빈도)
+public class InvertedIndex {
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    private final Map<Long, String> categories = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+
+    // 문서 추가 또는 교체
+    public void put(Long id, Map<String, Integer> termFrequencies, String categoryName) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            documents.put(id, termFrequencies);
+            if (categoryName != null) {
+                categories.put(id, categoryName);
+            }
+            termFrequencies.forEach((term, tf) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, tf));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 이미 색인된 문서는 건드리지 않음 (재구성 중 최신 변경분 보호용)
+    public void putIfAbsent(Long id, Map<String, Integer> termFrequencies, String categoryName) {
+        lock.writeLock().lock();
+        try {
+            if (!documents.containsKey(id)) {
+                put(id, termFrequencies, categoryName);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 문서들의 카테고리만 교체 (카테고리 이름 변경 - 토큰은 그대로)
+    public void updateCategory(Collection<Long> ids, String categoryName) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                if (!documents.containsKey(id)) {
+                    continue;
+                }
+                if (categoryName != null) {
+                    categories.put(id, categoryName);
+                } else {
+                    categories.remove(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    // 모든 검색어 토큰을 포함하는 문서를 TF-IDF 점수 내림차순(동점이면 최신 id 우선)으로 반환
+    public List<Long> search(List<String> queryTerms, String categoryName, int limit) {
+        if (queryTerms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            int totalDocs = documents.size();
+            Map<Long, Double> scores = null;
+
+            for (String term : new LinkedHashSet<>(queryTerms)) {
+                Map<Long, Integer> termPostings = postings.getOrDefault(term, Collections.emptyMap());
+                if (termPostings.isEmpty()) {
+                    return Collections.emptyList();
+                }
+
+                double idf = Math.log(1.0 + (double) totalDocs / termPostings.size());
+                Map<Long, Double> next = new HashMap<>();
+
+                if (scores == null) {
+                    termPostings.forEach((id, tf) -> next.put(id, tf * idf));
+                } else {
+                    for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                        Integer tf = termPostings.get(entry.getKey());
+                        if (tf != null) {
+                            next.put(entry.getKey(), entry.getValue() + tf * idf);
+                        }
+                    }
+                }
+
+                if (next.isEmpty()) {
+                    return Collections.emptyList();
+                }
+                scores = next;
+            }
+
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>();
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                if (categoryName == null || categoryName.equals(categories.get(entry.getKey()))) {
+                    ranked.add(entry);
+                }
+            }
+            ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.<Long, Double>comparingByKey(Comparator.reverseOrder())));
+
+            List<Long> result = new ArrayList<>(Math.min(limit, ranked.size()));
+            for (int i = 0; i < ranked.size() && i < limit; i++) {
+                result.add(ranked.get(i).getKey());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    private void removeInternal(Long id) {
+        Map<String, Integer> previous = documents.remove(id);
+        categories.remove(id);
+        if (previous == null) {
+            return;
+        }
+
+        Set<String> emptyTerms = new HashSet<>();
+        for (String term : previous.keySet()) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(id);
+                if (termPostings.isEmpty()) {
+                    emptyTerms.add(term);
+                }
+            }
+        }
+        emptyTerms.forEach(postings::remove);
+    }
+}
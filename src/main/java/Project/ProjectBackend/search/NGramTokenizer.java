@@ -0,0 +1,69 @@
+package Project.ProjectBackend.search;
+
+import org.jsoup.Jsoup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 한글 검색을 위한 bigram 토크나이저
+// 형태소 분석 없이도 "아이폰" 검색 시 "아이폰13"이 걸리도록 2글자 단위로 잘라서 색인한다.
+public final class NGramTokenizer {
+
+    private NGramTokenizer() {
+    }
+
+    // 문자/숫자 연속 구간마다 bigram 생성 (1글자 구간은 그대로 사용)
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+
+        String normalized = text.toLowerCase();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addBigrams(normalized.substring(start, i), tokens);
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // 문자/숫자 1글자 토큰 (1글자 검색어 "책", "옷"을 색인에서 바로 찾기 위한 unigram)
+    public static List<String> unigrams(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+
+        String normalized = text.toLowerCase();
+        for (int i = 0; i < normalized.length(); i++) {
+            if (Character.isLetterOrDigit(normalized.charAt(i))) {
+                tokens.add(String.valueOf(normalized.charAt(i)));
+            }
+        }
+        return tokens;
+    }
+
+    // 게시글 본문(HTML)에서 태그를 제거한 텍스트만 추출
+    public static String stripHtml(String html) {
+        if (html == null || html.isBlank()) {
+            return "";
+        }
+        return Jsoup.parse(html).text();
+    }
+
+    private static void addBigrams(String word, List<String> tokens) {
+        if (word.length() == 1) {
+            tokens.add(word);
+            return;
+        }
+        for (int i = 0; i + 2 <= word.length(); i++) {
+            tokens.add(word.substring(i, i + 2));
+        }
+    }
+}
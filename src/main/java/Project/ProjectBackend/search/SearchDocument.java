@@ -0,0 +1,5 @@
+package Project.ProjectBackend.search;
+
+// 검색 인덱스 재구성 시 DB에서 읽어오는 최소 컬럼 (id, 제목, 본문, 카테고리명)
+public record SearchDocument(Long id, String title, String body, String categoryName) {
+}
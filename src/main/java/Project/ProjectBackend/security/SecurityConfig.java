@@ -97,6 +97,9 @@
                             .requestMatchers(HttpMethod.PUT, "/api/posts/**").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
                             .requestMatchers(HttpMethod.DELETE, "/api/posts/**").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
 
+                            // S3 직접 업로드 (서명 URL 발급/확정)
+                            .requestMatchers("/api/uploads/**").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
+
                             // 게시글 좋아요
                             .requestMatchers(HttpMethod.GET, "/api/likes/check/{postNo}").permitAll()
                             .requestMatchers(HttpMethod.GET, "/api/likes/count/{postNo}").permitAll()
@@ -110,11 +113,19 @@
 
                             // 주문
                             .requestMatchers(HttpMethod.POST, "/api/orders/new").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
+                            .requestMatchers(HttpMethod.POST, "/api/orders/cart").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
+                            .requestMatchers("/api/orders/reservations/**").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
                             .requestMatchers(HttpMethod.PUT, "/api/orders/{orderId}/delivery").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
                             .requestMatchers(HttpMethod.POST, "/api/orders/{orderId}/cancel").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
+                            .requestMatchers(HttpMethod.GET, "/api/orders/seller/inbox").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
+                            .requestMatchers(HttpMethod.GET, "/api/orders/seller/sales").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
                             .requestMatchers(HttpMethod.GET, "/api/orders/{orderId}").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
                             .requestMatchers(HttpMethod.GET, "/api/orders/member/{memberId}").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
 
+                            // 쿠폰
+                            .requestMatchers(HttpMethod.GET, "/api/coupons/{couponCode}").permitAll()
+                            .requestMatchers(HttpMethod.POST, "/api/coupons/{couponCode}/issue").hasAnyAuthority("ROLE_USER", "ROLE_ADMIN")
+
                             // 리뷰
                             .requestMatchers(HttpMethod.GET, "/api/store/reviews/**").permitAll()
 
@@ -167,7 +178,7 @@
             configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
             configuration.setAllowedHeaders(List.of("*"));
             configuration.setAllowCredentials(true);
-            configuration.setExposedHeaders(List.of("Authorization")); // 필요 시 추가 헤더 노출
+            configuration.setExposedHeaders(List.of("Authorization", "Idempotent-Replayed")); // 필요 시 추가 헤더 노출
 
             UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
             source.registerCorsConfiguration("/**", configuration); // 모든 경로에 대해 CORS 설정 적용
@@ -13,9 +13,12 @@ import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,9 +39,22 @@ public class AdminService {
     private final ChatService chatService;
     private final ChatMessageRepository chatMessageRepository;
     private final PostCategoryRepository postCategoryRepository;
+    private final HitCountService hitCountService;
+    private final SearchIndexService searchIndexService;
+    private final StockReservationService stockReservationService;
+    private final ItemCategoryTreeService itemCategoryTreeService;
+    private final ItemCategoryClosureService itemCategoryClosureService;
+    private final SalesRollupService salesRollupService;
+    private final S3DeletionQueueService s3DeletionQueueService;
+    private final OrphanImageCollectorService orphanImageCollectorService;
+    private final CouponService couponService;
+    private final TransactionTemplate transactionTemplate;
 
     private static final Logger logger = LoggerFactory.getLogger(AdminService.class);
 
+    // 댓글 수 보정 시 한 번의 UPDATE가 다루는 post_id 구간 크기
+    private static final long COMMENT_COUNT_RECONCILE_CHUNK = 1000;
+
 
 
     @Transactional
@@ -190,8 +206,7 @@ public class AdminService {
             throw new IllegalArgumentException("판매자를 찾을 수 없습니다.");
         }
 
-        Slice<Item> itemsSlice = itemRepository.findBySeller_MemberId(memberId, pageable);
-        return itemsSlice.map(ItemResponseDto::fromForList);
+        return itemRepository.findItemListBySeller(memberId, pageable);
     }
 
     // 3. 회원별 게시글 목록 조회 (페이징 적용)
@@ -200,8 +215,7 @@ public class AdminService {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 회원이 존재하지 않습니다. ID: " + memberId));
 
-        Slice<Post> postsSlice = postRepository.findByWriter_MemberId(memberId, pageable);
-        return postsSlice.map(PostResponseDto::fromForList);
+        return postRepository.findPostListByWriter(memberId, pageable);
     }
 
     // 4. 회원별 거래 목록 조회 (페이징 적용)
@@ -215,8 +229,25 @@ public class AdminService {
     }
 
     // 5. 사용자 정보 수정
-    @Transactional
+    // 새 프로필 이미지는 트랜잭션 전에 업로드, 기존 이미지 객체는 커밋되면 삭제 대기열에서 삭제 (수정 실패 시 새 이미지만 삭제)
     public void updateMember(String memberId, MemberUpdateRequestDto updateRequestDto, MultipartFile profileImage) {
+        ImageService.UploadedImage uploaded = (profileImage != null && !profileImage.isEmpty())
+                ? imageService.uploadProfileImage(profileImage)
+                : null;
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    saveMemberChanges(memberId, updateRequestDto, uploaded));
+        } catch (RuntimeException e) {
+            if (uploaded != null) {
+                imageService.discardUploaded(List.of(uploaded));
+            }
+            throw e;
+        }
+    }
+
+    private void saveMemberChanges(String memberId, MemberUpdateRequestDto updateRequestDto,
+                                   ImageService.UploadedImage uploaded) {
         // 기존 회원 정보 조회
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new EntityNotFoundException("회원 정보를 찾을 수 없습니다."));
@@ -243,14 +274,14 @@ public class AdminService {
         if (updateRequestDto.getShopIntroduction() != null) {
             member.updateShopIntroduction(updateRequestDto.getShopIntroduction());
         }
-        // 프로필사진
-        if (profileImage != null && !profileImage.isEmpty()) {
-            // 기존 프로필 이미지가 있는 경우 삭제
+        // 프로필사진 (업로드는 이미 끝난 상태)
+        if (uploaded != null) {
+            // 기존 프로필 이미지 행 삭제 (S3 객체는 커밋 후 삭제 대기열에서 삭제)
             if (member.getProfileImage() != null) {
                 imageService.deleteImage(member.getProfileImage());
             }
             // 새로운 프로필 이미지 저장
-            Image newProfileImage = imageService.saveImageForProfile(profileImage, member);
+            Image newProfileImage = imageService.attachToProfile(uploaded, member);
 
             // Member 엔티티의 프로필 이미지 정보 업데이트
             member.updateProfileImage(newProfileImage.getImagePath()); // URL 업데이트
@@ -313,25 +344,31 @@ public class AdminService {
      */
     @Transactional(readOnly = true)
     public Slice<ItemResponseDto> getAllItems(Pageable pageable) {
-        Slice<Item> itemsSlice = itemRepository.findAll(pageable);
-        return itemsSlice.map(ItemResponseDto::fromForList);
+        return itemRepository.findItemList(pageable);
     }
 
 
-    public Item getItemById(Long itemId) {
-        return itemRepository.findById(itemId)
+    @Transactional(readOnly = true)
+    public ItemResponseDto getItemById(Long itemId) {
+        Item item = itemRepository.findDetailByItemId(itemId)
                 .orElseThrow(() -> new IllegalArgumentException("아이템을 찾을 수 없습니다."));
+
+        ItemResponseDto responseDto = ItemResponseDto.from(item);
+        responseDto.setHitCount(item.getHitCount() + (int) hitCountService.getPendingItemHits(itemId));
+        return responseDto;
     }
 
+    @Transactional(readOnly = true)
     public PostResponseDto getPost(Long postNo) {
-        Post post = postRepository.findById(postNo)
+        Post post = postRepository.findDetailByPostId(postNo)
                 .orElseThrow(() -> new IllegalArgumentException("게시글이 존재하지 않습니다."));
 
-        // 조회수 증가
-        post.increaseHitCount();
-        postRepository.save(post);
+        // 조회수 증가 (메모리 버퍼에 적재 후 주기적으로 DB 반영)
+        hitCountService.increasePostHit(postNo);
 
-        return PostResponseDto.from(post); // DTO 반환
+        PostResponseDto responseDto = PostResponseDto.from(post); // DTO 반환
+        responseDto.setHitCount(post.getHitCount() + (int) hitCountService.getPendingPostHits(postNo));
+        return responseDto;
     }
     // 상품 등록
     @Transactional
@@ -357,6 +394,7 @@ public class AdminService {
         // 아이템 먼저 저장하여 itemId 확보
         Item savedItem = itemRepository.save(item);
         logger.info("Item created with ID: {}", savedItem.getItemId());
+        itemCategoryClosureService.onItemAdded(category.getCategoryId());
 
         // 이미지 저장
         if (imageFiles != null && !imageFiles.isEmpty()) {
@@ -374,6 +412,8 @@ public class AdminService {
             logger.info("Item created with ID: {}", savedItem.getItemId());
         }
 
+        searchIndexService.indexItem(savedItem);
+
         return savedItem;
     }
 
@@ -382,18 +422,25 @@ public class AdminService {
     public void deleteItem(Long itemId) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new IllegalArgumentException("아이템을 찾을 수 없습니다."));
+        if (item.getCategory() != null) {
+            itemCategoryClosureService.onItemRemoved(item.getCategory().getCategoryId());
+        }
+        // 상품 이미지 삭제 (참조 해제 + S3 삭제 대기열) - cascade로 지우면 stored_object 참조 수가 줄지 않음
+        imageService.deleteImages(item.getImages());
         itemRepository.delete(item);
+        searchIndexService.removeItem(itemId);
+        stockReservationService.evictAfterCommit(itemId);
     }
 
     // 8. 상품 수정
     @Transactional
     public ItemResponseDto updateItem(Long itemId, ItemRequestDto itemRequestDto, List<MultipartFile> imageFiles, Member currentUser) {
         // 1. 아이템 조회
-        Item existingItem = itemRepository.findById(itemId)
+        Item existingItem = itemRepository.findDetailByItemId(itemId)
                 .orElseThrow(() -> new IllegalArgumentException("아이템을 찾을 수 없습니다."));
 
         // 2. 소유자 확인
-        if (!existingItem.getSeller().equals(currentUser)) {
+        if (!existingItem.getSeller().getMemberId().equals(currentUser.getMemberId())) {
             throw new IllegalArgumentException("해당 아이템을 수정할 권한이 없습니다.");
         }
 
@@ -431,6 +478,8 @@ public class AdminService {
 
         // 5. 아이템 저장 및 DTO 반환
         Item updatedItem = itemRepository.save(existingItem);
+        searchIndexService.indexItem(updatedItem);
+        stockReservationService.evictAfterCommit(itemId);
         return ItemResponseDto.from(updatedItem);
     }
 
@@ -439,22 +488,15 @@ public class AdminService {
 
     // ============== 카테고리 관리 ==============
 
-    // 카테고리 조회
+    // 카테고리 조회 (메모리 스냅샷)
     public List<ItemCategoryTreeDto> getAllCategoryTree() {
-        return categoryRepository.findByParentIsNull().stream()
-                .map(ItemCategoryTreeDto::from)
-                .toList();
+        return itemCategoryTreeService.current().tree();
     }
 
 
-    // 부모 아이디로 자식 조회
-    @Transactional(readOnly = true)
+    // 부모 아이디로 자식 조회 (메모리 스냅샷)
     public List<ItemCategoryFlatDto> getChildrenByParentId(Long parentId) {
-        List<ItemCategory> children = categoryRepository.findByParent_CategoryId(parentId);
-
-        return children.stream()
-                .map(ItemCategoryFlatDto::from)
-                .toList();
+        return itemCategoryTreeService.current().flatChildren(parentId);
     }
 
 
@@ -474,7 +516,10 @@ public class AdminService {
             parent.getChildren().add(category);
         }
 
-        return ItemCategoryTreeDto.from(categoryRepository.save(category));
+        ItemCategory saved = categoryRepository.save(category);
+        itemCategoryClosureService.onCreated(saved.getCategoryId(), dto.getParentId());
+        itemCategoryTreeService.refreshAfterCommit();
+        return ItemCategoryTreeDto.from(saved);
     }
 
 
@@ -483,7 +528,11 @@ public class AdminService {
     public ItemCategoryTreeDto updateItemCategory(Long id, ItemCategoryRequestDto dto) {
         ItemCategory category = categoryRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("카테고리 없음"));
+        Long oldParentId = category.getParent() != null ? category.getParent().getCategoryId() : null;
 
+        if (!Objects.equals(category.getCategoryName(), dto.getName())) {
+            searchIndexService.renameItemCategory(id, dto.getName());
+        }
         category.setCategoryName(dto.getName());
 
         if (dto.getParentId() != null) {
@@ -506,7 +555,17 @@ public class AdminService {
             category.setParent(null);
         }
 
-        return ItemCategoryTreeDto.from(categoryRepository.save(category));
+        ItemCategory saved = categoryRepository.save(category);
+        if (!Objects.equals(oldParentId, dto.getParentId())) {
+            itemCategoryClosureService.onMoved(id, dto.getParentId());
+        }
+        itemCategoryTreeService.refreshAfterCommit();
+        return ItemCategoryTreeDto.from(saved);
+    }
+
+    // 카테고리별 상품 수 보정 (item 테이블 기준 재계산)
+    public void reconcileItemCategoryCounts() {
+        itemCategoryClosureService.reconcileItemCounts();
     }
 
     // 카테고리 삭제
@@ -519,7 +578,9 @@ public class AdminService {
             throw new IllegalStateException("하위 카테고리가 존재하여 삭제할 수 없습니다.");
         }
 
+        itemCategoryClosureService.onDeleted(id);
         categoryRepository.delete(category);
+        itemCategoryTreeService.refreshAfterCommit();
     }
 
 
@@ -650,8 +711,21 @@ public class AdminService {
     //10. 전체 게시글 목록 조회 (페이징 적용)
     @Transactional(readOnly = true)
     public Slice<PostResponseDto> getAllPosts(Pageable pageable) {
-        Slice<Post> postsSlice = postRepository.findAll(pageable);
-        return postsSlice.map(PostResponseDto::fromForList);
+        return postRepository.findPostList(pageable);
+    }
+
+    // 게시글 댓글 수(comment_count) 보정 - post_id 구간별로 나눠 짧은 트랜잭션으로 재계산
+    public int reconcileCommentCounts() {
+        long start = System.currentTimeMillis();
+        long maxPostId = postRepository.findMaxPostId();
+        int repaired = 0;
+
+        for (long fromId = 0; fromId < maxPostId; fromId += COMMENT_COUNT_RECONCILE_CHUNK) {
+            repaired += postRepository.reconcileCommentCounts(fromId, fromId + COMMENT_COUNT_RECONCILE_CHUNK);
+        }
+
+        logger.info("댓글 수 보정 완료 - {}건 수정 ({}ms)", repaired, System.currentTimeMillis() - start);
+        return repaired;
     }
 
 
@@ -687,6 +761,8 @@ public class AdminService {
             logger.info("Post created with ID: {}", savedPost.getPostId());
         }
 
+        searchIndexService.indexPost(savedPost);
+
         return savedPost;
     }
 
@@ -697,15 +773,19 @@ public class AdminService {
         if (!postRepository.existsById(postId)) {
             throw new IllegalArgumentException("해당 게시글이 존재하지 않습니다. ID: " + postId);
         }
+        // 게시글 이미지 삭제 (참조 해제 + S3 삭제 대기열)
+        imageService.deleteImages(imageRepository.findAllByPost_PostId(postId));
         postRepository.deleteById(postId);
+        searchIndexService.removePost(postId);
     }
 
     // 12. 게시글 수정
     @Transactional
     public PostResponseDto updatePost(Long postId, PostRequestDto updateRequestDto, List<MultipartFile> imageFiles) {
 
-        Post post = postRepository.findById(postId)
+        Post post = postRepository.findDetailByPostId(postId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 게시글이 존재하지 않습니다. ID: " + postId));
+        String oldContent = post.getContent();
 
         // 전달된 값만 업데이트
         if (updateRequestDto.getTitle() != null && !updateRequestDto.getTitle().isEmpty()) {
@@ -720,14 +800,14 @@ public class AdminService {
 
 
         if (imageFiles != null && !imageFiles.isEmpty()) {
-            // 기존 이미지 삭제
-            imageService.deleteImages(post.getImages());
+            // 기존 첨부 이미지 삭제 (본문에 들어 있는 이미지는 아래 본문 동기화에서 처리)
+            imageService.deleteImages(imageService.withoutContentImages(post.getImages(), oldContent));
 
             // 새로운 이미지 저장
             List<Image> updatedImages = imageService.saveImagesForPost(imageFiles, post);
 
-            // 아이템에 새로운 이미지 설정
-            post.setImages(updatedImages);
+            // 게시글에 새로운 이미지 추가
+            post.getImages().addAll(updatedImages);
 
             // 대표 이미지 설정
             if (!updatedImages.isEmpty()) {
@@ -737,7 +817,11 @@ public class AdminService {
         post.setTitle(post.getTitle());
         post.setContent(post.getContent());
 
+        // 본문에 새로 넣은 이미지 등록, 빠진 이미지 삭제
+        imageService.syncContentImages(post, oldContent, post.getContent());
+
         postRepository.save(post);
+        searchIndexService.indexPost(post);
 
         return PostResponseDto.from(post);
     }
@@ -787,6 +871,9 @@ public class AdminService {
             throw new IllegalArgumentException("이미 존재하는 게시판 카테고리 이름입니다.");
         }
 
+        if (!category.getCategoryName().equals(categoryDto.getCategoryName())) {
+            searchIndexService.renamePostCategory(id, categoryDto.getCategoryName());
+        }
         category.setCategoryName(categoryDto.getCategoryName());
         category.setGroupName(categoryDto.getGroupName());
 
@@ -812,6 +899,47 @@ public class AdminService {
         return ordersSlice.map(OrderDto::new);
     }
 
+    // 일별 매출 (sales_daily 집계 - 기간 일수만큼만 조회)
+    public List<SalesDailyDto> getDailySales(SalesDimension dimension, String key, LocalDate from, LocalDate to) {
+        return salesRollupService.getDaily(dimension, key, from, to);
+    }
+
+    // 기간 매출 상위 판매자/상품/카테고리
+    public List<SalesDailyDto> getSalesRanking(SalesDimension dimension, LocalDate from, LocalDate to, int limit) {
+        return salesRollupService.getRanking(dimension, from, to, limit);
+    }
+
+    // 기간 매출 집계 재구성 (주문 테이블 기준 재계산)
+    public int rebuildSales(LocalDate from, LocalDate to) {
+        return salesRollupService.rebuild(from, to);
+    }
+
+    // S3 삭제 대기열 상태
+    public S3DeletionStatsDto getImageDeletionStats() {
+        return s3DeletionQueueService.getStats();
+    }
+
+    // 고아 이미지 정리 실행 (dryRun이면 삭제하지 않고 집계만)
+    public OrphanImageReportDto collectOrphanImages(boolean dryRun) {
+        return orphanImageCollectorService.collect(dryRun);
+    }
+
+    // 마지막 고아 이미지 정리 결과
+    public OrphanImageReportDto getLastOrphanImageReport() {
+        return orphanImageCollectorService.getLastReport();
+    }
+
+    // 쿠폰 수정 (쿠폰 캐시는 커밋 후 제거)
+    public CouponDto updateCoupon(Long couponId, CouponUpdateRequestDto request) {
+        CouponService.CouponInfo coupon = couponService.update(couponId, request);
+        return CouponDto.from(coupon, couponService.getRemainingQuantity(coupon));
+    }
+
+    // 쿠폰 삭제
+    public void deleteCoupon(Long couponId) {
+        couponService.delete(couponId);
+    }
+
     // ===== 신고 관리 =====
 
     // 14. 상품 신고 목록 조회 (페이징 적용)
@@ -889,7 +1017,9 @@ public class AdminService {
                 .content(requestDto.getContent())
                 .build();
 
-        return commentRepository.save(comment);
+        Comment savedComment = commentRepository.save(comment);
+        postRepository.increaseCommentCount(postId);
+        return savedComment;
     }
 
     // 1-2. 대댓글 작성
@@ -914,17 +1044,19 @@ public class AdminService {
         parentComment.addChildComment(reply);
 
         // 대댓글 저장
-        return commentRepository.save(reply);
+        Comment savedReply = commentRepository.save(reply);
+        postRepository.increaseCommentCount(postNo);
+        return savedReply;
     }
 
 
     // 2. 댓글 수정
     @Transactional
     public Comment updateComment(Long commentId, CommentUpdateRequestDto updateRequestDto, Member currentUser) {
-        Comment comment = commentRepository.findById(commentId)
+        Comment comment = commentRepository.findWithWriterByCommentId(commentId)
                 .orElseThrow(() -> new IllegalArgumentException("댓글이 존재하지 않습니다."));
 
-        if (!comment.getWriter().equals(currentUser)) {
+        if (!comment.getWriter().getMemberId().equals(currentUser.getMemberId())) {
             throw new IllegalArgumentException("해당 댓글을 수정할 권한이 없습니다.");
         }
 
@@ -942,13 +1074,14 @@ public class AdminService {
                 .orElseThrow(() -> new IllegalArgumentException("댓글이 존재하지 않습니다."));
 
         // 댓글 소유자 또는 관리자 권한 확인
-        if (!comment.getWriter().equals(currentUser) && !currentUser.getRole().equals(Role.ROLE_ADMIN)) {
+        if (!comment.getWriter().getMemberId().equals(currentUser.getMemberId()) && !currentUser.getRole().equals(Role.ROLE_ADMIN)) {
             throw new IllegalArgumentException("해당 댓글을 삭제할 권한이 없습니다.");
         }
 
-        // 댓글 삭제
-        comment.markAsdeleted();
-        commentRepository.save(comment);
+        // 댓글 삭제 - 실제로 삭제 표시한 요청만 댓글 수를 줄임 (이미 삭제됐거나 동시에 삭제된 경우 0)
+        if (commentRepository.markDeleted(commentId) == 1) {
+            postRepository.decreaseCommentCount(comment.getPost().getPostId());
+        }
     }
 
 
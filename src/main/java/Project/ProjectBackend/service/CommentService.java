@@ -41,7 +41,9 @@ public class CommentService {
                 .content(requestDto.getContent())
                 .build();
 
-        return commentRepository.save(comment);
+        Comment savedComment = commentRepository.save(comment);
+        postRepository.increaseCommentCount(postId);
+        return savedComment;
     }
 
     // 1-2. 대댓글 작성
@@ -66,7 +68,9 @@ public class CommentService {
         parentComment.addChildComment(reply);
 
         // 대댓글 저장
-        return commentRepository.save(reply);
+        Comment savedReply = commentRepository.save(reply);
+        postRepository.increaseCommentCount(postNo);
+        return savedReply;
     }
 
     @Transactional
@@ -86,7 +90,9 @@ public class CommentService {
             comment.setImageUrl(imageUrl);
         }
 
-        return commentRepository.save(comment);
+        Comment savedComment = commentRepository.save(comment);
+        postRepository.increaseCommentCount(postId);
+        return savedComment;
     }
 
     @Transactional
@@ -110,7 +116,9 @@ public class CommentService {
         }
 
         parent.addChildComment(reply);
-        return commentRepository.save(reply);
+        Comment savedReply = commentRepository.save(reply);
+        postRepository.increaseCommentCount(postId);
+        return savedReply;
     }
 
     // 2. 댓글 수정
@@ -175,13 +183,14 @@ public class CommentService {
                 .orElseThrow(() -> new IllegalArgumentException("댓글이 존재하지 않습니다."));
 
         // 댓글 소유자 또는 관리자 권한 확인
-        if (!comment.getWriter().equals(currentUser) && !currentUser.getRole().equals(Role.ROLE_ADMIN)) {
+        if (!comment.getWriter().getMemberId().equals(currentUser.getMemberId()) && !currentUser.getRole().equals(Role.ROLE_ADMIN)) {
             throw new IllegalArgumentException("해당 댓글을 삭제할 권한이 없습니다.");
         }
 
-        // 댓글 삭제
-        comment.markAsdeleted();
-        commentRepository.save(comment);
+        // 댓글 삭제 - 실제로 삭제 표시한 요청만 댓글 수를 줄임 (이미 삭제됐거나 동시에 삭제된 경우 0)
+        if (commentRepository.markDeleted(commentId) == 1) {
+            postRepository.decreaseCommentCount(comment.getPost().getPostId());
+        }
     }
 
 
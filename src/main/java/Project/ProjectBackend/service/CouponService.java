@@ -0,0 +1,304 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.dto.CouponUpdateRequestDto;
+import Project.ProjectBackend.entity.Coupon;
+import Project.ProjectBackend.repository.CouponRepository;
+import Project.ProjectBackend.repository.MemberCouponRepository;
+import Project.ProjectBackend.repository.OrderRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 선착순 쿠폰 발급 / 사용
+// - 쿠폰 정보는 코드별 메모리 캐시에서 조회 (coupon 행을 읽거나 잠그지 않음)
+// - 발급 한도는 메모리 카운터(CAS)로 판정하고, member_coupon 저장은 큐에 모아 주기적으로 일괄 INSERT
+// - 사용은 member_coupon 조건부 UPDATE (미사용일 때만)
+@Service
+@RequiredArgsConstructor
+public class CouponService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CouponService.class);
+
+    private static final String INSERT_MEMBER_COUPON =
+            "INSERT IGNORE INTO member_coupon (member_id, coupon_id, issued_date, is_used) VALUES (?, ?, ?, false)";
+
+    private final CouponRepository couponRepository;
+    private final MemberCouponRepository memberCouponRepository;
+    private final OrderRepository orderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${coupon.issue-flush-batch-size:1000}")
+    private int flushBatchSize;
+
+    @Value("${coupon.issue-queue-capacity:100000}")
+    private int queueCapacity;
+
+    private final Map<String, CouponInfo> couponsByCode = new ConcurrentHashMap<>();
+    private final Map<Long, IssueCounter> counters = new ConcurrentHashMap<>();
+
+    private BlockingQueue<IssueTask> issueQueue;
+    // 발급은 됐지만 아직 DB에 저장되지 않은 (쿠폰 id:회원 id)
+    private final Set<String> pendingIssues = ConcurrentHashMap.newKeySet();
+    // 저장에 실패해 다음 주기에 다시 시도할 분량 (큐가 가득 차도 잃지 않도록 큐 밖에 보관, flushIssues 안에서만 사용)
+    private final List<IssueTask> retryBatch = new ArrayList<>();
+
+
+    @PostConstruct
+    public void init() {
+        issueQueue = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+
+    // ===== 조회 =====
+
+    // 코드로 쿠폰 조회 (캐시)
+    public CouponInfo getCoupon(String couponCode) {
+        return couponsByCode.computeIfAbsent(couponCode, code -> couponRepository.findByCouponCode(code)
+                .map(CouponInfo::from)
+                .orElseThrow(() -> new IllegalArgumentException("유효하지 않은 쿠폰 코드입니다.")));
+    }
+
+    // 남은 발급 수량 (한도가 없으면 null)
+    public Integer getRemainingQuantity(CouponInfo coupon) {
+        if (coupon.totalQuantity() == null) {
+            return null;
+        }
+        return Math.max(0, coupon.totalQuantity() - counterOf(coupon).issued.get());
+    }
+
+    // 쿠폰 정보가 바뀌었을 때 캐시 제거
+    public void evict(String couponCode) {
+        couponsByCode.remove(couponCode);
+    }
+
+
+    // ===== 관리 =====
+
+    // 쿠폰 정보 수정 - 커밋 후 캐시를 제거해 다음 조회/발급부터 바뀐 기간/한도 적용
+    public CouponInfo update(Long couponId, CouponUpdateRequestDto request) {
+        if (request.getTotalQuantity() != null && request.getTotalQuantity() < 0) {
+            throw new IllegalArgumentException("발급 한도는 0 이상이어야 합니다.");
+        }
+        if (request.getStartDate() != null && request.getEndDate() != null
+                && request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("종료일은 시작일 이후여야 합니다.");
+        }
+
+        String couponCode = transactionTemplate.execute(status -> {
+            Coupon coupon = couponRepository.findById(couponId)
+                    .orElseThrow(() -> new IllegalArgumentException("쿠폰을 찾을 수 없습니다."));
+            coupon.update(request.getDiscountAmount(), request.getDiscountRate(), request.getMinPurchaseAmount(),
+                    request.getStartDate(), request.getEndDate(), request.getTotalQuantity());
+            return coupon.getCouponCode();
+        });
+        evict(couponCode);
+        return getCoupon(couponCode);
+    }
+
+    // 쿠폰 삭제 (주문에 사용된 쿠폰은 삭제 불가) - 큐에 남은 발급분을 먼저 저장한 뒤 발급 내역과 함께 삭제
+    public void delete(Long couponId) {
+        flushIssues();
+        String couponCode = transactionTemplate.execute(status -> {
+            Coupon coupon = couponRepository.findById(couponId)
+                    .orElseThrow(() -> new IllegalArgumentException("쿠폰을 찾을 수 없습니다."));
+            if (orderRepository.existsByCoupon_CouponId(couponId)) {
+                throw new IllegalArgumentException("주문에 사용된 쿠폰은 삭제할 수 없습니다.");
+            }
+            memberCouponRepository.deleteAllByCouponId(couponId);
+            couponRepository.delete(coupon);
+            return coupon.getCouponCode();
+        });
+        evict(couponCode);
+        counters.remove(couponId);
+    }
+
+
+    // ===== 발급 =====
+
+    // 선착순 발급 - 한도/중복을 메모리에서 판정하고 저장은 큐에 넘김 (DB 대기 없음)
+    public CouponInfo issue(String couponCode, String memberId) {
+        CouponInfo coupon = getCoupon(couponCode);
+        LocalDateTime now = LocalDateTime.now();
+        if (coupon.endDate() != null && now.isAfter(coupon.endDate())) {
+            throw new IllegalArgumentException("쿠폰 발급 기간이 종료되었습니다.");
+        }
+
+        IssueCounter counter = counterOf(coupon);
+        if (!counter.members.add(memberId)) {
+            throw new IllegalArgumentException("이미 발급받은 쿠폰입니다.");
+        }
+
+        if (!counter.tryIncrement(coupon.totalQuantity())) {
+            counter.members.remove(memberId);
+            throw new IllegalArgumentException("쿠폰이 모두 소진되었습니다.");
+        }
+
+        String pendingKey = pendingKey(coupon.couponId(), memberId);
+        pendingIssues.add(pendingKey);
+        if (!issueQueue.offer(new IssueTask(coupon.couponId(), memberId, now))) {
+            pendingIssues.remove(pendingKey);
+            counter.issued.decrementAndGet();
+            counter.members.remove(memberId);
+            throw new IllegalArgumentException("쿠폰 발급 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        return coupon;
+    }
+
+    // 발급 큐를 member_coupon에 반영 (coupon.issue-flush-interval-ms, 기본 200ms)
+    @Scheduled(fixedDelayString = "${coupon.issue-flush-interval-ms:200}")
+    public synchronized void flushIssues() {
+        // 지난 주기에 실패한 분량부터 저장 (실패하면 큐는 그대로 두고 다음 주기에 다시 시도)
+        if (!retryBatch.isEmpty()) {
+            if (!tryPersist(retryBatch)) {
+                return;
+            }
+            retryBatch.clear();
+        }
+
+        List<IssueTask> batch = new ArrayList<>(flushBatchSize);
+        while (issueQueue.drainTo(batch, flushBatchSize) > 0) {
+            if (!tryPersist(batch)) {
+                // 큐에 되돌리면 그 사이 들어온 발급으로 큐가 가득 차 있을 수 있으므로 따로 보관
+                retryBatch.addAll(batch);
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        logger.info("종료 전 쿠폰 발급 큐 반영");
+        flushIssues();
+    }
+
+    // 저장 성공 시 발급 처리 중 표시 제거 (uk_member_coupon_member_coupon + INSERT IGNORE로 재시도해도 중복 저장 없음)
+    private boolean tryPersist(List<IssueTask> batch) {
+        try {
+            persist(batch);
+        } catch (Exception e) {
+            logger.warn("쿠폰 발급 저장 실패 - 다음 주기에 재시도합니다. {}건", batch.size(), e);
+            return false;
+        }
+        batch.forEach(task -> pendingIssues.remove(pendingKey(task.couponId(), task.memberId())));
+        return true;
+    }
+
+    private void persist(List<IssueTask> batch) {
+        Map<Long, Integer> issuedByCoupon = new HashMap<>();
+        for (IssueTask task : batch) {
+            issuedByCoupon.merge(task.couponId(), 1, Integer::sum);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_MEMBER_COUPON, batch, batch.size(), (ps, task) -> {
+                ps.setString(1, task.memberId());
+                ps.setLong(2, task.couponId());
+                ps.setTimestamp(3, Timestamp.valueOf(task.issuedAt()));
+            });
+            issuedByCoupon.forEach(couponRepository::increaseIssuedQuantity);
+        });
+    }
+
+
+    // ===== 사용 =====
+
+    // 주문에 쿠폰 사용 - 기간/최소 주문 금액 확인 후 회원 쿠폰을 조건부 UPDATE로 사용 처리
+    public Coupon redeem(String couponCode, String memberId, BigDecimal orderAmount) {
+        CouponInfo coupon = getCoupon(couponCode);
+        LocalDateTime now = LocalDateTime.now();
+
+        if ((coupon.startDate() != null && now.isBefore(coupon.startDate()))
+                || (coupon.endDate() != null && now.isAfter(coupon.endDate()))) {
+            throw new IllegalArgumentException("쿠폰 사용 기간이 아닙니다.");
+        }
+        if (coupon.minPurchaseAmount() != null
+                && orderAmount.compareTo(BigDecimal.valueOf(coupon.minPurchaseAmount())) < 0) {
+            throw new IllegalArgumentException("최소 주문 금액(" + coupon.minPurchaseAmount() + "원) 이상부터 사용할 수 있는 쿠폰입니다.");
+        }
+
+        if (memberCouponRepository.markUsed(memberId, coupon.couponId(), now) == 0) {
+            if (pendingIssues.contains(pendingKey(coupon.couponId(), memberId))) {
+                throw new IllegalArgumentException("쿠폰 발급 처리 중입니다. 잠시 후 다시 시도해주세요.");
+            }
+            throw new IllegalArgumentException("보유하지 않았거나 이미 사용한 쿠폰입니다.");
+        }
+
+        return couponRepository.findById(coupon.couponId())
+                .orElseThrow(() -> new IllegalArgumentException("유효하지 않은 쿠폰 코드입니다."));
+    }
+
+    // 주문 취소 시 쿠폰 사용 취소
+    public void restore(Long couponId, String memberId) {
+        memberCouponRepository.markUnused(memberId, couponId);
+    }
+
+
+    private IssueCounter counterOf(CouponInfo coupon) {
+        return counters.computeIfAbsent(coupon.couponId(), couponId -> {
+            List<String> memberIds = memberCouponRepository.findMemberIdsByCouponId(couponId);
+            IssueCounter counter = new IssueCounter();
+            counter.members.addAll(memberIds);
+            counter.issued.set(memberIds.size());
+            return counter;
+        });
+    }
+
+    private static String pendingKey(Long couponId, String memberId) {
+        return couponId + ":" + memberId;
+    }
+
+
+    // 캐시되는 쿠폰 정보 (불변)
+    public record CouponInfo(Long couponId, String couponCode, Integer discountAmount, Double discountRate,
+                             Integer minPurchaseAmount, LocalDateTime startDate, LocalDateTime endDate,
+                             Integer totalQuantity) {
+        static CouponInfo from(Coupon coupon) {
+            return new CouponInfo(coupon.getCouponId(), coupon.getCouponCode(), coupon.getDiscountAmount(),
+                    coupon.getDiscountRate(), coupon.getMinPurchaseAmount(), coupon.getStartDate(),
+                    coupon.getEndDate(), coupon.getTotalQuantity());
+        }
+    }
+
+    private record IssueTask(Long couponId, String memberId, LocalDateTime issuedAt) {
+    }
+
+    // 쿠폰별 발급 수량 / 발급받은 회원 (lock-free)
+    private static class IssueCounter {
+        private final AtomicInteger issued = new AtomicInteger();
+        private final Set<String> members = ConcurrentHashMap.newKeySet();
+
+        boolean tryIncrement(Integer limit) {
+            while (true) {
+                int current = issued.get();
+                if (limit != null && current >= limit) {
+                    return false;
+                }
+                if (issued.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
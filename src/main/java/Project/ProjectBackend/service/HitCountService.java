@@ -0,0 +1,170 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.repository.ItemRepository;
+import Project.ProjectBackend.repository.PostRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+// 상세 조회 시 조회수를 메모리에 모아두었다가 주기적으로 DB에 일괄 반영 (write-behind)
+// 증가는 키별 LongAdder에 잠금 없이 더하고, 반영할 때는 sumThenReset으로 쌓인 분량만 떼어낸다.
+// (sumThenReset은 셀마다 getAndSet(0)이라 떼어내는 도중의 증가도 잃지 않고 다음 주기로 넘어감)
+@Service
+@RequiredArgsConstructor
+public class HitCountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HitCountService.class);
+
+    // 한 번의 UPDATE ... IN 절에 들어가는 최대 id 개수
+    private static final int FLUSH_CHUNK_SIZE = 500;
+
+    private final ItemRepository itemRepository;
+    private final PostRepository postRepository;
+
+    private final HitBuffer itemHits = new HitBuffer();
+    private final HitBuffer postHits = new HitBuffer();
+
+
+    // 상품 조회수 증가 (DB 접근 없음)
+    public void increaseItemHit(Long itemId) {
+        itemHits.increment(itemId);
+    }
+
+    // 게시글 조회수 증가 (DB 접근 없음)
+    public void increasePostHit(Long postId) {
+        postHits.increment(postId);
+    }
+
+    // 아직 DB에 반영되지 않은 상품 조회수
+    public long getPendingItemHits(Long itemId) {
+        return itemHits.pending(itemId);
+    }
+
+    // 아직 DB에 반영되지 않은 게시글 조회수
+    public long getPendingPostHits(Long postId) {
+        return postHits.pending(postId);
+    }
+
+
+    // 주기적으로 버퍼를 DB에 반영 (hit-count.flush-interval-ms, 기본 5초)
+    @Scheduled(fixedDelayString = "${hit-count.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        flushBuffer(itemHits, itemRepository::increaseHitCounts, "item");
+        flushBuffer(postHits, postRepository::increaseHitCounts, "post");
+    }
+
+    // 애플리케이션 종료 시 남은 조회수 반영
+    @PreDestroy
+    public void flushOnShutdown() {
+        logger.info("종료 전 조회수 버퍼 반영");
+        flush();
+    }
+
+
+    private void flushBuffer(HitBuffer buffer, BiConsumer<Integer, List<Long>> updater, String target) {
+        Map<Long, Long> drained = buffer.drain();
+
+        // 증가량이 같은 id끼리 묶어서 UPDATE ... WHERE id IN (...) 한 번으로 처리
+        Map<Integer, List<Long>> idsByDelta = new HashMap<>();
+        drained.forEach((id, delta) ->
+                idsByDelta.computeIfAbsent((int) Math.min(delta, Integer.MAX_VALUE), d -> new ArrayList<>()).add(id));
+
+        for (Map.Entry<Integer, List<Long>> entry : idsByDelta.entrySet()) {
+            List<Long> ids = entry.getValue();
+            for (int from = 0; from < ids.size(); from += FLUSH_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, ids.size()));
+                boolean applied;
+                try {
+                    updater.accept(entry.getKey(), chunk);
+                    applied = true;
+                } catch (Exception e) {
+                    // 실패한 분량은 다음 주기에 다시 반영되도록 되돌림
+                    logger.warn("{} 조회수 반영 실패 - 다음 주기에 재시도합니다. ids={}", target, chunk, e);
+                    applied = false;
+                }
+                for (Long id : chunk) {
+                    buffer.settle(id, drained.get(id), applied ? entry.getKey() : 0);
+                }
+            }
+        }
+
+        if (!drained.isEmpty()) {
+            logger.debug("{} 조회수 반영 완료 - {}건", target, drained.size());
+        }
+    }
+
+
+    // 게시글/상품별 조회수 버퍼
+    // 조회가 없던 키는 반영 때 정리하는데, 제거 직전에 그 LongAdder를 집어 든 증가는 제거 뒤에 더해질 수 있다.
+    // 더한 쪽에서 객체가 빠졌는지 확인하고, 빠졌으면 flush가 가져가지 못한 분량을 새 객체로 옮긴다.
+    private static class HitBuffer {
+        private final Map<Long, LongAdder> counters = new ConcurrentHashMap<>();
+        private final Map<Long, Long> inFlight = new ConcurrentHashMap<>(); // 반영 중인 조회수 (DB UPDATE 완료 전)
+
+        void increment(Long id) {
+            add(id, 1);
+        }
+
+        long pending(Long id) {
+            LongAdder counter = counters.get(id);
+            return (counter != null ? counter.sum() : 0L) + inFlight.getOrDefault(id, 0L);
+        }
+
+        // 반영할 분량을 떼어내서 반영 중으로 옮김 (id -> 증가량)
+        Map<Long, Long> drain() {
+            Map<Long, Long> drained = new HashMap<>();
+            for (Map.Entry<Long, LongAdder> entry : counters.entrySet()) {
+                Long id = entry.getKey();
+                LongAdder counter = entry.getValue();
+                // 한 주기 동안 조회가 없던 키는 정리 (확인과 제거 사이에 더해진 값은 아래 take가 가져감)
+                if (counter.sum() == 0) {
+                    counters.remove(id, counter);
+                }
+                take(drained, id, counter);
+            }
+            return drained;
+        }
+
+        // 반영을 마친 분량 정리 (UPDATE에 쓴 증가량 외의 나머지는 다시 쌓음 - 실패했으면 전부)
+        void settle(Long id, long delta, int applied) {
+            inFlight.remove(id);
+            if (delta > applied) {
+                add(id, delta - applied);
+            }
+        }
+
+        private void add(Long id, long amount) {
+            while (amount > 0) {
+                LongAdder counter = counters.get(id);
+                if (counter == null) {
+                    counter = counters.computeIfAbsent(id, key -> new LongAdder());
+                }
+                counter.add(amount);
+                if (counters.get(id) == counter) {
+                    return;
+                }
+                // 정리되어 빠진 객체에 더해졌으면 아직 가져가지 않은 분량을 새 객체로 옮김
+                amount = counter.sumThenReset();
+            }
+        }
+
+        private void take(Map<Long, Long> drained, Long id, LongAdder counter) {
+            long delta = counter.sumThenReset();
+            if (delta > 0) {
+                drained.merge(id, delta, Long::sum);
+                inFlight.merge(id, delta, Long::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.exception.IdempotencyKeyException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Idempotency-Key 헤더 처리 (주문/리뷰/상품 등록처럼 재시도되면 안 되는 POST)
+// - 같은 사용자 + 같은 API + 같은 키로 다시 오면 처음 응답을 그대로 돌려줌
+// - 처음 요청이 처리 중이면 다시 실행하지 않고 그 결과를 기다림
+// - 같은 키로 요청 내용이 다르면 422 (요청 내용의 SHA-256을 함께 저장)
+// - 2xx 응답만 저장 (실패 응답/예외는 저장하지 않아 재시도 시 다시 실행)
+// - 최대 개수를 넘으면 오래 쓰이지 않은 완료 키부터 제거하고, 처리 중인 키는 제거하지 않음 (모두 처리 중이면 503)
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Value("${idempotency.ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    @Value("${idempotency.wait-timeout-seconds:30}")
+    private long waitTimeoutSeconds;
+
+    private final int maxEntries;
+    private final ObjectMapper objectMapper;
+
+    // 접근 순서 LinkedHashMap - 반복 순서가 가장 오래 쓰이지 않은 키부터
+    private final Map<String, Entry> store = new LinkedHashMap<>(256, 0.75f, true);
+
+
+    public IdempotencyService(@Value("${idempotency.max-entries:10000}") int maxEntries, ObjectMapper objectMapper) {
+        this.maxEntries = maxEntries;
+        this.objectMapper = objectMapper;
+    }
+
+
+    // key가 없으면 그냥 실행
+    // request: 요청 내용 (DTO, 업로드 파일 목록 등 - 같은 키로 다른 내용이 오는지 확인하는 데만 사용)
+    public <T> ResponseEntity<T> execute(String key, String scope, Object request, Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key는 " + MAX_KEY_LENGTH + "자 이하여야 합니다.");
+        }
+
+        String storeKey = scope + "|" + key;
+        Entry mine = new Entry(hashOf(request));
+        Entry existing;
+        synchronized (store) {
+            existing = store.get(storeKey);
+            if (existing != null && existing.isExpired(Instant.now())) {
+                store.remove(storeKey);
+                existing = null;
+            }
+            if (existing == null) {
+                if (!makeRoom()) {
+                    throw new IdempotencyKeyException(HttpStatus.SERVICE_UNAVAILABLE,
+                            "처리 중인 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+                }
+                store.put(storeKey, mine);
+            }
+        }
+
+        if (existing != null) {
+            if (!existing.requestHash.equals(mine.requestHash)) {
+                throw new IdempotencyKeyException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        "같은 Idempotency-Key로 다른 내용의 요청을 보낼 수 없습니다.");
+            }
+            return replay(existing);
+        }
+
+        try {
+            ResponseEntity<T> response = action.get();
+            if (response.getStatusCode().is2xxSuccessful()) {
+                mine.expiresAt = Instant.now().plusSeconds(ttlSeconds);
+            } else {
+                remove(storeKey, mine);
+            }
+            mine.result.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            remove(storeKey, mine);
+            mine.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // 만료된 키 정리 (idempotency.sweep-interval-ms, 기본 1분)
+    @Scheduled(fixedDelayString = "${idempotency.sweep-interval-ms:60000}")
+    public void sweep() {
+        Instant now = Instant.now();
+        int removed = 0;
+        synchronized (store) {
+            for (Iterator<Entry> it = store.values().iterator(); it.hasNext(); ) {
+                if (it.next().isExpired(now)) {
+                    it.remove();
+                    removed++;
+                }
+            }
+        }
+        if (removed > 0) {
+            logger.debug("만료된 Idempotency-Key {}건 정리", removed);
+        }
+    }
+
+
+    // 먼저 들어온 요청의 결과를 기다렸다가 같은 응답을 돌려줌
+    // (저장 키에 scope가 포함되므로 먼저 들어온 요청도 같은 API, 같은 응답 타입)
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> replay(Entry entry) {
+        try {
+            ResponseEntity<T> original = (ResponseEntity<T>) entry.result.get(waitTimeoutSeconds, TimeUnit.SECONDS);
+            return ResponseEntity.status(original.getStatusCode())
+                    .headers(original.getHeaders())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(original.getBody());
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyException(HttpStatus.CONFLICT, "같은 Idempotency-Key 요청이 아직 처리 중입니다.");
+        } catch (ExecutionException e) {
+            // 먼저 들어온 요청과 같은 예외로 응답
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void remove(String storeKey, Entry entry) {
+        synchronized (store) {
+            store.remove(storeKey, entry);
+        }
+    }
+
+    // 최대 개수 안으로 자리 확보 - 오래 쓰이지 않은 완료 키부터 제거 (store 잠금 안에서 호출)
+    private boolean makeRoom() {
+        for (Iterator<Entry> it = store.values().iterator(); store.size() >= maxEntries && it.hasNext(); ) {
+            if (it.next().expiresAt != null) {
+                it.remove();
+            }
+        }
+        return store.size() < maxEntries;
+    }
+
+    // 요청 내용의 SHA-256 (업로드 파일은 내용 대신 이름/크기/형식 사용)
+    private String hashOf(Object request) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(describe(request));
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("요청 내용을 확인할 수 없습니다.", e);
+        }
+    }
+
+    private Object describe(Object request) {
+        if (request instanceof MultipartFile file) {
+            return List.of(String.valueOf(file.getName()), String.valueOf(file.getOriginalFilename()),
+                    file.getSize(), String.valueOf(file.getContentType()));
+        }
+        if (request instanceof Collection<?> values) {
+            List<Object> described = new ArrayList<>(values.size());
+            values.forEach(value -> described.add(describe(value)));
+            return described;
+        }
+        return request;
+    }
+
+
+    private static class Entry {
+        private final String requestHash;
+        private final CompletableFuture<ResponseEntity<?>> result = new CompletableFuture<>();
+        private volatile Instant expiresAt; // 처리 중이면 null (만료되지 않음, 개수 초과로도 제거하지 않음)
+
+        Entry(String requestHash) {
+            this.requestHash = requestHash;
+        }
+
+        boolean isExpired(Instant now) {
+            return expiresAt != null && now.isAfter(expiresAt);
+        }
+    }
+}
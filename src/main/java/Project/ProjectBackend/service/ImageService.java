@@ -2,11 +2,15 @@ package Project.ProjectBackend.service;
 
 import Project.ProjectBackend.entity.*;
 import Project.ProjectBackend.exception.ImageSaveException;
+import Project.ProjectBackend.image.ImageSignature;
 import Project.ProjectBackend.repository.ImageRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.io.FilenameUtils;
+import org.hibernate.Hibernate;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
@@ -15,10 +19,26 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +48,10 @@ public class ImageService {
 
     private final ImageRepository imageRepository;
     private final S3Uploader s3Uploader;
+    private final ImageVariantService imageVariantService;
+    private final S3DeletionQueueService s3DeletionQueueService;
+    private final StoredObjectService storedObjectService;
+    private final TransactionTemplate transactionTemplate;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -47,6 +71,43 @@ public class ImageService {
     @Value("${cloud.aws.s3.folder.profile}")
     private String profileDir;
 
+    // S3 업로드 전용 스레드 풀 크기 / 대기 큐 크기 (큐가 차면 요청 스레드에서 직접 업로드)
+    @Value("${cloud.aws.s3.upload.pool-size:16}")
+    private int uploadPoolSize;
+
+    @Value("${cloud.aws.s3.upload.queue-capacity:100}")
+    private int uploadQueueCapacity;
+
+    // 요청 하나가 동시에 올리는 최대 파일 수 (한 요청이 업로드 풀을 독점하지 않도록)
+    @Value("${cloud.aws.s3.upload.per-request-concurrency:4}")
+    private int perRequestConcurrency;
+
+    private ThreadPoolExecutor uploadExecutor;
+
+
+    @PostConstruct
+    public void initUploadExecutor() {
+        AtomicInteger threadSeq = new AtomicInteger();
+        uploadExecutor = new ThreadPoolExecutor(uploadPoolSize, uploadPoolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(uploadQueueCapacity),
+                runnable -> new Thread(runnable, "s3-upload-" + threadSeq.incrementAndGet()),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        uploadExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdownUploadExecutor() {
+        uploadExecutor.shutdown();
+        try {
+            if (!uploadExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                uploadExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            uploadExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
     public List<Image> saveImagesForPost(List<MultipartFile> imageFiles, Post post) {
         return saveImagesInternal(imageFiles, postDir, post, null, null);
     }
@@ -96,54 +157,243 @@ public class ImageService {
     }
 
     private List<Image> saveImagesInternal(List<MultipartFile> imageFiles, String dir, Post post, Item item, Review review) {
-        List<Image> savedImages = new ArrayList<>();
+        return attachImages(uploadImages(imageFiles, dir), post, item, review);
+    }
+
+
+    // ===== 2단계 저장 (S3 업로드는 트랜잭션 밖에서, Image 행 저장은 짧은 트랜잭션 안에서) =====
+
+    // 업로드는 끝났지만 아직 DB에 저장되지 않은 이미지 (contentHash가 있으면 StoredObject 참조를 잡은 상태)
+    public record UploadedImage(String imagePath, String originFileName, long fileSize, String contentHash) {
+    }
+
+    public List<UploadedImage> uploadItemImages(List<MultipartFile> imageFiles) {
+        return uploadImages(imageFiles, itemDir);
+    }
+
+    public List<UploadedImage> uploadReviewImages(List<MultipartFile> imageFiles) {
+        return uploadImages(imageFiles, reviewDir);
+    }
+
+    public UploadedImage uploadProfileImage(MultipartFile imageFile) {
+        return uploadImages(List.of(imageFile), profileDir).get(0);
+    }
+
+    // 업로드된 이미지를 Image 행으로 저장 (호출한 트랜잭션 안에서, 순서 유지)
+    public List<Image> attachToPost(List<UploadedImage> uploaded, Post post) {
+        return attachImages(uploaded, post, null, null);
+    }
+
+    public List<Image> attachToItem(List<UploadedImage> uploaded, Item item) {
+        return attachImages(uploaded, null, item, null);
+    }
+
+    public List<Image> attachToReview(List<UploadedImage> uploaded, Review review) {
+        return attachImages(uploaded, null, null, review);
+    }
 
-        for (MultipartFile file : imageFiles) {
-            validateFile(file);
-            String imageUrl = s3Uploader.upload(file, dir);
+    public Image attachToProfile(UploadedImage uploaded, Member member) {
+        Image image = Image.builder()
+                .imagePath(uploaded.imagePath())
+                .originFileName(uploaded.originFileName())
+                .newFileName(getFileNameFromUrl(uploaded.imagePath()))
+                .fileSize(uploaded.fileSize())
+                .contentHash(uploaded.contentHash())
+                .member(member)
+                .build();
+        return imageRepository.save(image);
+    }
+
+    // DB 저장이 실패했을 때 업로드 단계에서 잡은 참조를 되돌리고,
+    // 마지막 참조였던 객체와 참조 관리 없이 올린 객체는 S3에서 삭제 (보상 처리)
+    public void discardUploaded(List<UploadedImage> uploaded) {
+        if (uploaded.isEmpty()) {
+            return;
+        }
+
+        Set<String> unreferenced = Set.of();
+        List<String> contentHashes = uploaded.stream().map(UploadedImage::contentHash).toList();
+        try {
+            unreferenced = transactionTemplate.execute(status -> releaseReferences(contentHashes));
+        } catch (Exception e) {
+            // 참조가 남은 객체는 고아 이미지 정리에서 처리
+            logger.warn("업로드 이미지 참조 해제 실패", e);
+        }
+
+        Set<String> imagePaths = new LinkedHashSet<>();
+        for (UploadedImage upload : uploaded) {
+            if (upload.contentHash() == null || unreferenced.contains(upload.contentHash())) {
+                imagePaths.add(upload.imagePath());
+            }
+        }
+        deleteUploaded(new ArrayList<>(imagePaths));
+    }
+
+    private List<UploadedImage> uploadImages(List<MultipartFile> imageFiles, String dir) {
+        if (imageFiles == null || imageFiles.isEmpty()) {
+            return List.of();
+        }
 
+        // 형식 검증을 먼저 끝내서 잘못된 파일이 섞여 있으면 아무것도 올리지 않음
+        imageFiles.forEach(this::validateFile);
+
+        // 업로드 결과는 원래 순서대로 (첫 번째 이미지가 대표 이미지)
+        return uploadAll(imageFiles, dir);
+    }
+
+    // 같은 내용이 이미 저장돼 있으면 업로드 없이 기존 객체를 참조
+    private UploadedImage storeImage(MultipartFile file, String dir) {
+        StoredObjectService.StoredImage stored = storedObjectService.store(file, dir);
+        return new UploadedImage(stored.imagePath(), file.getOriginalFilename(), file.getSize(), stored.contentHash());
+    }
+
+    private List<Image> attachImages(List<UploadedImage> uploaded, Post post, Item item, Review review) {
+        List<Image> savedImages = new ArrayList<>();
+
+        for (UploadedImage upload : uploaded) {
             Image image = Image.builder()
-                    .imagePath(imageUrl)
-                    .originFileName(file.getOriginalFilename())
-                    .newFileName(getFileNameFromUrl(imageUrl))
-                    .fileSize(file.getSize())
+                    .imagePath(upload.imagePath())
+                    .originFileName(upload.originFileName())
+                    .newFileName(getFileNameFromUrl(upload.imagePath()))
+                    .fileSize(upload.fileSize())
+                    .contentHash(upload.contentHash())
                     .post(post)
                     .item(item)
                     .review(review)
                     .build();
+            copyVariants(image);
 
             savedImages.add(image);
         }
 
-        return imageRepository.saveAll(savedImages);
+        List<Image> saved = imageRepository.saveAll(savedImages);
+        // 커밋 후 썸네일/카드/상세 이미지 생성
+        imageVariantService.generateAfterCommit(saved);
+        return saved;
     }
 
+    // 같은 객체를 참조하는 이미지에 파생 이미지가 이미 있으면 그대로 사용 (파생 이미지 키는 원본 키 기준)
+    private void copyVariants(Image image) {
+        if (image.getContentHash() == null) {
+            return;
+        }
+        imageRepository.findFirstByContentHashAndThumbnailPathIsNotNull(image.getContentHash())
+                .ifPresent(source -> {
+                    image.setThumbnailPath(source.getThumbnailPath());
+                    image.setCardPath(source.getCardPath());
+                    image.setDetailPath(source.getDetailPath());
+                });
+    }
+
+    // 여러 파일을 업로드 풀에서 병렬로 올리고 결과를 파일 순서대로 반환
+    // 하나라도 실패하면 남은 파일은 올리지 않고, 이미 올라간 객체를 정리한 뒤 예외를 다시 던짐
+    private List<UploadedImage> uploadAll(List<MultipartFile> files, String dir) {
+        if (files.size() <= 1) {
+            return files.stream().map(file -> storeImage(file, dir)).toList();
+        }
 
+        Semaphore permits = new Semaphore(perRequestConcurrency);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<CompletableFuture<UploadedImage>> uploads = new ArrayList<>(files.size());
+        RuntimeException error = null;
+
+        for (MultipartFile file : files) {
+            if (failed.get()) {
+                break;
+            }
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error = new ImageSaveException("이미지 업로드가 중단되었습니다.", e);
+                break;
+            }
+
+            CompletableFuture<UploadedImage> upload = CompletableFuture.supplyAsync(() -> storeImage(file, dir), uploadExecutor);
+            upload.whenComplete((stored, ex) -> {
+                if (ex != null) {
+                    failed.set(true);
+                }
+                permits.release();
+            });
+            uploads.add(upload);
+        }
+
+        // 실패가 있어도 이미 시작된 업로드는 끝까지 기다려야 정리할 수 있음
+        List<UploadedImage> uploaded = new ArrayList<>(uploads.size());
+        for (CompletableFuture<UploadedImage> upload : uploads) {
+            try {
+                uploaded.add(upload.join());
+            } catch (CompletionException e) {
+                if (error == null) {
+                    error = e.getCause() instanceof RuntimeException cause
+                            ? cause
+                            : new ImageSaveException("이미지 업로드에 실패했습니다.", e.getCause());
+                }
+            }
+        }
+
+        if (error != null) {
+            discardUploaded(uploaded);
+            throw error;
+        }
+        return uploaded;
+    }
+
+    // S3 객체 일괄 정리 (실패는 로그만 남김)
+    private void deleteUploaded(List<String> imageUrls) {
+        for (String imageUrl : imageUrls) {
+            try {
+                s3Uploader.delete(imageUrl);
+            } catch (Exception e) {
+                logger.warn("S3 객체 정리 실패: {}", imageUrl, e);
+            }
+        }
+    }
+
+
+    // 이미지 1개 삭제 (프로필/댓글 이미지)
+    // 부모의 orphanRemoval과 겹치지 않도록 영속 상태에서 삭제하고, S3 객체는 삭제 대기열에 등록
     @Transactional
     public void deleteImage(Image image) {
         if (image != null) {
             logger.info("삭제할 이미지: {}", image.getImagePath());
-            s3Uploader.delete(image.getImagePath());
+            unlinkFromParents(image);
+            if (isLoaded(image.getMember()) && image.getMember().getProfileImage() == image) {
+                image.getMember().setProfileImage(null);
+            }
+            if (isLoaded(image.getComment()) && Hibernate.isInitialized(image.getComment().getImages())) {
+                image.getComment().getImages().remove(image);
+            }
             imageRepository.delete(image);
+            // 같은 트랜잭션에서 새 이미지를 INSERT하기 전에 DELETE를 먼저 반영 (프로필 이미지 member_id 유니크 제약)
             imageRepository.flush();
-            entityManager.clear();
+            s3DeletionQueueService.enqueue(objectPathsToDelete(List.of(image)));
         }
     }
 
+    // 게시글/상품/리뷰 이미지 일괄 삭제
+    // DB는 DELETE 한 번으로 지우고 S3 객체는 같은 트랜잭션에서 삭제 대기열에 등록 (롤백되면 둘 다 취소)
+    // 영속성 컨텍스트를 비우지 않고 삭제한 이미지만 분리하므로 호출한 쪽의 엔티티는 그대로 사용할 수 있음
     @Transactional
     public void deleteImages(List<Image> images) {
         if (images == null || images.isEmpty()) return;
 
-        for (Image image : images) {
-            try {
-                deleteImage(image);
-            } catch (Exception e) {
-                logger.warn("이미지 삭제 중 오류 발생: {}", image.getImagePath(), e);
+        // 부모 컬렉션을 그대로 넘겨받는 경우가 있으므로 복사해서 사용
+        List<Image> targets = new ArrayList<>(images);
+        List<Long> imageIds = new ArrayList<>(targets.size());
+        for (Image image : targets) {
+            unlinkFromParents(image);
+            if (image.getImageId() != null) {
+                imageIds.add(image.getImageId());
             }
+            entityManager.detach(image);
         }
 
-        imageRepository.flush();
-        entityManager.clear();
+        if (!imageIds.isEmpty()) {
+            imageRepository.deleteAllByImageIds(imageIds);
+        }
+        s3DeletionQueueService.enqueue(objectPathsToDelete(targets));
     }
 
     @Transactional
@@ -156,6 +406,53 @@ public class ImageService {
         deleteImage(image);
     }
 
+    // 삭제한 이미지가 flush 때 부모의 cascade로 다시 저장되지 않도록 이미 로딩된 부모 컬렉션에서 제거
+    // (로딩되지 않은 부모/컬렉션은 나중에 DB에서 읽으므로 삭제된 이미지가 포함되지 않음)
+    private void unlinkFromParents(Image image) {
+        if (isLoaded(image.getPost()) && Hibernate.isInitialized(image.getPost().getImages())) {
+            image.getPost().getImages().remove(image);
+        }
+        if (isLoaded(image.getItem()) && Hibernate.isInitialized(image.getItem().getImages())) {
+            image.getItem().getImages().remove(image);
+        }
+        if (isLoaded(image.getReview()) && Hibernate.isInitialized(image.getReview().getImages())) {
+            image.getReview().getImages().remove(image);
+        }
+    }
+
+    private boolean isLoaded(Object parent) {
+        return parent != null && Hibernate.isInitialized(parent);
+    }
+
+    // 삭제할 원본/파생 이미지 경로 (같은 객체를 참조하는 이미지가 남아 있으면 둘 다 유지)
+    private List<String> objectPathsToDelete(List<Image> images) {
+        Set<String> unreferenced = releaseReferences(images.stream().map(Image::getContentHash).toList());
+
+        Set<String> imagePaths = new LinkedHashSet<>();
+        for (Image image : images) {
+            if (image.getContentHash() == null || unreferenced.contains(image.getContentHash())) {
+                imagePaths.add(image.getImagePath());
+                imagePaths.addAll(image.getVariantPaths());
+            }
+        }
+        // 같은 경로를 쓰는 다른 Image 행이 남아 있으면 객체 유지 (본문 이미지 URL을 다른 게시글에 붙여 넣은 경우 등)
+        if (!imagePaths.isEmpty()) {
+            imagePaths.removeAll(imageRepository.findImagePathsIn(imagePaths));
+        }
+        return new ArrayList<>(imagePaths);
+    }
+
+    // 해시별 참조 해제 (호출한 트랜잭션 안에서) - 마지막 참조가 지워진 해시 반환
+    private Set<String> releaseReferences(List<String> contentHashes) {
+        Map<String, Integer> referenceCounts = new HashMap<>();
+        for (String contentHash : contentHashes) {
+            if (contentHash != null) {
+                referenceCounts.merge(contentHash, 1, Integer::sum);
+            }
+        }
+        return referenceCounts.isEmpty() ? Set.of() : storedObjectService.release(referenceCounts);
+    }
+
     private void validateFile(MultipartFile file) {
         String contentType = file.getContentType();
         String originalFileName = file.getOriginalFilename();
@@ -167,6 +464,15 @@ public class ImageService {
                 throw new ImageSaveException("허용되지 않는 파일 형식입니다: " + originalFileName);
             }
         }
+
+        // 확장자/Content-Type은 바꿔 보낼 수 있으므로 파일 앞부분(매직 넘버)으로 실제 형식 확인
+        try (InputStream in = file.getInputStream()) {
+            if (ImageSignature.detect(in.readNBytes(ImageSignature.HEADER_LENGTH)) == null) {
+                throw new ImageSaveException("허용되지 않는 파일 형식입니다: " + originalFileName);
+            }
+        } catch (IOException e) {
+            throw new ImageSaveException("이미지 파일을 읽을 수 없습니다: " + originalFileName, e);
+        }
     }
 
 
@@ -182,6 +488,53 @@ public class ImageService {
         return imageUrls;
     }
 
+    // 게시글 수정 시 본문 이미지 동기화 (호출한 트랜잭션 안에서)
+    // - 새 본문에 처음 나온 URL은 Image 행 등록 (등록되지 않은 객체는 고아 이미지 정리에서 삭제됨)
+    // - 이전 본문에 있었는데 새 본문에서 빠진 URL의 이미지는 삭제
+    // 본문과 관계없이 첨부한 이미지(imageFiles, 직접 업로드)는 이전 본문에 없던 경로이므로 건드리지 않음
+    public void syncContentImages(Post post, String oldHtml, String newHtml) {
+        Set<String> oldUrls = contentImageUrls(oldHtml);
+        Set<String> newUrls = contentImageUrls(newHtml);
+
+        List<Image> removed = post.getImages().stream()
+                .filter(image -> oldUrls.contains(image.getImagePath()) && !newUrls.contains(image.getImagePath()))
+                .toList();
+        deleteImages(removed);
+
+        Set<String> registered = new HashSet<>();
+        post.getImages().forEach(image -> registered.add(image.getImagePath()));
+        List<String> added = newUrls.stream().filter(url -> !registered.contains(url)).toList();
+        if (!added.isEmpty()) {
+            post.getImages().addAll(registerImagesFromContent(added, post));
+        }
+
+        // 대표 이미지가 없거나 삭제됐으면 남은 첫 이미지로 교체
+        String representative = post.getRepresentativeImagePath();
+        if (representative == null || removed.stream().anyMatch(image -> image.getImagePath().equals(representative))) {
+            Image first = post.getImages().isEmpty() ? null : post.getImages().get(0);
+            post.setRepresentativeImagePath(first != null ? first.getImagePath() : null);
+            post.setRepresentativeThumbnailPath(first != null ? first.getThumbnailPath() : null);
+        }
+    }
+
+    // 본문 이미지를 제외한 이미지 (첨부 이미지 교체 시 본문에 들어 있는 이미지는 유지)
+    public List<Image> withoutContentImages(List<Image> images, String html) {
+        Set<String> contentUrls = contentImageUrls(html);
+        return images.stream().filter(image -> !contentUrls.contains(image.getImagePath())).toList();
+    }
+
+    private Set<String> contentImageUrls(String html) {
+        Set<String> urls = new LinkedHashSet<>();
+        if (html != null) {
+            for (String url : extractImageUrlsFromContent(html)) {
+                if (!url.isBlank()) {
+                    urls.add(url);
+                }
+            }
+        }
+        return urls;
+    }
+
     // URL 리스트를 기반으로 Image 엔티티 저장
     public List<Image> registerImagesFromContent(List<String> imageUrls, Post post) {
         List<Image> images = new ArrayList<>();
@@ -0,0 +1,207 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.entity.Image;
+import Project.ProjectBackend.image.ImageResizer;
+import Project.ProjectBackend.repository.ImageRepository;
+import Project.ProjectBackend.repository.ItemRepository;
+import Project.ProjectBackend.repository.PostRepository;
+import Project.ProjectBackend.repository.StoredObjectRepository;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 업로드된 이미지의 파생 이미지(thumb/card/detail) 비동기 생성
+// - Image 행이 커밋된 뒤 S3 원본을 내려받아 줄이고, 원본 옆에 {원본 키}_{variant}.jpg 로 저장
+// - 파생 이미지 경로는 Image에, 대표 이미지의 썸네일은 Item/Post 대표 썸네일 컬럼에 조건부 UPDATE로 반영
+// - 생성 전이거나 실패하면 목록은 원본을 그대로 사용
+@Service
+@RequiredArgsConstructor
+public class ImageVariantService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantService.class);
+
+    private final S3Uploader s3Uploader;
+    private final ImageRepository imageRepository;
+    private final ItemRepository itemRepository;
+    private final PostRepository postRepository;
+    private final StoredObjectRepository storedObjectRepository;
+
+    // 디코딩이 메모리를 많이 쓰므로 작은 풀로 처리
+    @Value("${image.variant.pool-size:2}")
+    private int poolSize;
+
+    @Value("${image.variant.queue-capacity:1000}")
+    private int queueCapacity;
+
+    // 원본이 이보다 크면 파생 이미지를 만들지 않음
+    @Value("${image.variant.max-source-bytes:20971520}")
+    private long maxSourceBytes;
+
+    private ThreadPoolExecutor executor;
+
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadSeq = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "image-variant-" + threadSeq.incrementAndGet()),
+                // 큐가 가득 차면 생성을 건너뜀 (목록은 원본으로 표시)
+                (task, pool) -> logger.warn("파생 이미지 생성 대기열이 가득 차서 건너뜁니다."));
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    // 커밋 후 파생 이미지 생성 요청 (목록의 첫 번째 이미지는 Item/Post의 대표 이미지)
+    public void generateAfterCommit(List<Image> images) {
+        List<VariantTask> tasks = new ArrayList<>(images.size());
+        for (int i = 0; i < images.size(); i++) {
+            Image image = images.get(i);
+            tasks.add(new VariantTask(image.getImageId(), image.getImagePath(), image.getContentHash(),
+                    image.getThumbnailPath(),
+                    image.getItem() != null ? image.getItem().getItemId() : null,
+                    image.getPost() != null ? image.getPost().getPostId() : null,
+                    i == 0));
+        }
+        afterCommit(() -> tasks.forEach(task -> executor.execute(() -> generate(task))));
+    }
+
+
+    private void generate(VariantTask task) {
+        // 같은 내용의 이미지에서 파생 이미지를 이미 가져온 경우 대표 썸네일만 반영
+        if (task.thumbnailPath() != null) {
+            updateRepresentativeThumbnail(task, task.thumbnailPath());
+            return;
+        }
+
+        Map<ImageResizer.Variant, String> uploaded = new EnumMap<>(ImageResizer.Variant.class);
+        try {
+            // 내려받기 전에 메타데이터로 크기 확인 (큰 원본을 메모리에 올리지 않음)
+            ObjectMetadata metadata = s3Uploader.headObject(s3Uploader.keyOf(task.imagePath()));
+            if (metadata == null) {
+                logger.info("원본이 없어 파생 이미지를 만들지 않습니다 - {}", task.imagePath());
+                return;
+            }
+            if (metadata.getContentLength() > maxSourceBytes) {
+                logger.info("원본이 너무 커서 파생 이미지를 만들지 않습니다 - {} ({} bytes)",
+                        task.imagePath(), metadata.getContentLength());
+                return;
+            }
+
+            byte[] original = s3Uploader.download(task.imagePath());
+            // 확인 이후 객체가 바뀐 경우 대비
+            if (original.length > maxSourceBytes) {
+                logger.info("원본이 너무 커서 파생 이미지를 만들지 않습니다 - {} ({} bytes)", task.imagePath(), original.length);
+                return;
+            }
+
+            Map<ImageResizer.Variant, byte[]> variants = ImageResizer.resize(original);
+            if (variants == null) {
+                logger.info("파생 이미지를 만들 수 없는 형식입니다 - {}", task.imagePath());
+                return;
+            }
+
+            String baseKey = baseKey(s3Uploader.keyOf(task.imagePath()));
+            for (Map.Entry<ImageResizer.Variant, byte[]> entry : variants.entrySet()) {
+                String key = baseKey + "_" + entry.getKey().suffix() + "." + ImageResizer.EXTENSION;
+                uploaded.put(entry.getKey(), s3Uploader.upload(entry.getValue(), key, ImageResizer.CONTENT_TYPE));
+            }
+
+            String thumbnailPath = uploaded.get(ImageResizer.Variant.THUMB);
+            if (imageRepository.updateVariants(task.imageId(), thumbnailPath,
+                    uploaded.get(ImageResizer.Variant.CARD), uploaded.get(ImageResizer.Variant.DETAIL)) == 0) {
+                // 생성 도중 이미지가 삭제됨
+                discardVariants(task, uploaded.values());
+                return;
+            }
+
+            updateRepresentativeThumbnail(task, thumbnailPath);
+        } catch (Exception e) {
+            logger.warn("파생 이미지 생성 실패 - {}", task.imagePath(), e);
+            discardVariants(task, uploaded.values());
+        }
+    }
+
+    private void updateRepresentativeThumbnail(VariantTask task, String thumbnailPath) {
+        if (!task.representative()) {
+            return;
+        }
+        if (task.itemId() != null) {
+            itemRepository.updateRepresentativeThumbnail(task.itemId(), task.imagePath(), thumbnailPath);
+        }
+        if (task.postId() != null) {
+            postRepository.updateRepresentativeThumbnail(task.postId(), task.imagePath(), thumbnailPath);
+        }
+    }
+
+    // 파생 이미지 키는 원본 키 기준이라 같은 객체를 참조하는 다른 이미지가 쓰고 있을 수 있음 - 그때는 남겨 둠
+    private void discardVariants(VariantTask task, Iterable<String> imagePaths) {
+        if (task.contentHash() != null && storedObjectRepository.existsById(task.contentHash())) {
+            return;
+        }
+        deleteQuietly(imagePaths);
+    }
+
+    // 확장자를 뺀 원본 키 (파생 이미지는 원본과 같은 폴더에 저장)
+    private String baseKey(String key) {
+        int dot = key.lastIndexOf('.');
+        return dot > key.lastIndexOf('/') ? key.substring(0, dot) : key;
+    }
+
+    private void deleteQuietly(Iterable<String> imagePaths) {
+        for (String imagePath : imagePaths) {
+            try {
+                s3Uploader.delete(imagePath);
+            } catch (Exception e) {
+                logger.warn("파생 이미지 정리 실패: {}", imagePath, e);
+            }
+        }
+    }
+
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+
+    private record VariantTask(Long imageId, String imagePath, String contentHash, String thumbnailPath,
+                               Long itemId, Long postId, boolean representative) {
+    }
+}
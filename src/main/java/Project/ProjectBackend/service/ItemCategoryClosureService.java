@@ -0,0 +1,112 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.repository.CategoryRepository;
+import Project.ProjectBackend.repository.ItemCategoryClosureRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// 상품 카테고리 클로저 테이블과 카테고리별 상품 수 관리
+// 카테고리 추가/이동/삭제, 상품 등록/삭제와 같은 트랜잭션 안에서 호출되어 함께 커밋된다.
+@Service
+@RequiredArgsConstructor
+public class ItemCategoryClosureService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ItemCategoryClosureService.class);
+
+    private final ItemCategoryClosureRepository closureRepository;
+    private final CategoryRepository categoryRepository;
+    private final ItemCategoryTreeService itemCategoryTreeService;
+
+
+    // 기존 데이터에 클로저 테이블이 없거나 어긋나 있으면 parent_id 기준으로 다시 채움 (상품 수도 함께)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildIfOutOfSync() {
+        long categories = categoryRepository.count();
+        if (closureRepository.countSelfLinks() != categories) {
+            rebuild();
+        } else if (categoryRepository.sumDirectItemCounts() != categoryRepository.countCategorizedItems()) {
+            reconcileItemCounts();
+        }
+    }
+
+    @Transactional
+    public void rebuild() {
+        closureRepository.deleteAllLinks();
+        int links = closureRepository.insertAllLinks();
+        logger.info("카테고리 클로저 테이블 재구성 완료 - {}건", links);
+        reconcileItemCounts();
+    }
+
+    // 카테고리별 상품 수를 item 테이블 기준으로 다시 계산
+    @Transactional
+    public void reconcileItemCounts() {
+        categoryRepository.reconcileDirectItemCounts();
+        categoryRepository.reconcileItemCounts();
+        itemCategoryTreeService.refreshAfterCommit();
+    }
+
+
+    @Transactional
+    public void onCreated(Long categoryId, Long parentId) {
+        closureRepository.insertSelfLink(categoryId);
+        if (parentId != null) {
+            closureRepository.insertLinksUnder(categoryId, parentId);
+        }
+    }
+
+    // 서브트리 전체를 새 부모 아래로 이동 (parentId가 null이면 최상위로)
+    // 서브트리 상품 수만큼 기존 조상에서 빼고 새 조상에 더한다.
+    @Transactional
+    public void onMoved(Long categoryId, Long newParentId) {
+        int subtreeItems = categoryRepository.findItemCountForUpdate(categoryId);
+
+        if (subtreeItems != 0) {
+            categoryRepository.adjustAncestorItemCounts(categoryId, -subtreeItems);
+        }
+        closureRepository.detachSubtree(categoryId);
+        if (newParentId != null) {
+            closureRepository.attachSubtree(categoryId, newParentId);
+        }
+        if (subtreeItems != 0) {
+            categoryRepository.adjustAncestorItemCounts(categoryId, subtreeItems);
+        }
+    }
+
+    // 카테고리 삭제 시 함께 삭제되는 상품 수를 조상에서 뺀다. (자식이 없는 카테고리만 삭제 가능)
+    @Transactional
+    public void onDeleted(Long categoryId) {
+        int items = categoryRepository.findItemCountForUpdate(categoryId);
+        if (items != 0) {
+            categoryRepository.adjustAncestorItemCounts(categoryId, -items);
+            itemCategoryTreeService.markCountsChanged();
+        }
+        closureRepository.deleteLinksTo(categoryId);
+    }
+
+
+    // ===== 상품 등록/삭제 =====
+
+    @Transactional
+    public void onItemAdded(Long categoryId) {
+        adjustItemCounts(categoryId, 1);
+    }
+
+    @Transactional
+    public void onItemRemoved(Long categoryId) {
+        adjustItemCounts(categoryId, -1);
+    }
+
+    private void adjustItemCounts(Long categoryId, int delta) {
+        if (categoryId == null) {
+            return;
+        }
+        categoryRepository.adjustItemCounts(categoryId, delta);
+        itemCategoryTreeService.markCountsChanged();
+    }
+}
@@ -0,0 +1,199 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.dto.ItemCategoryFlatDto;
+import Project.ProjectBackend.dto.ItemCategorySimpleDto;
+import Project.ProjectBackend.dto.ItemCategoryTreeDto;
+import Project.ProjectBackend.repository.CategoryRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 상품 카테고리 트리를 메모리에 미리 만들어 두고 읽기 요청은 DB 없이 응답
+// 카테고리 추가/수정/삭제가 커밋되면 새 스냅샷을 만들어 통째로 교체한다. (만들어진 스냅샷은 수정하지 않음)
+// 상품 수 변경은 자주 일어나므로 모아 두었다가 주기적으로 한 번만 교체한다.
+@Service
+@RequiredArgsConstructor
+public class ItemCategoryTreeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ItemCategoryTreeService.class);
+
+    private final CategoryRepository categoryRepository;
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+
+    private final AtomicBoolean countsChanged = new AtomicBoolean(false);
+
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        rebuild();
+    }
+
+    // 현재 스냅샷 (아직 만들어지지 않았으면 바로 생성)
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null ? current : rebuild();
+    }
+
+    // 카테고리 변경 트랜잭션이 커밋된 뒤 스냅샷 교체 (롤백되면 기존 스냅샷 유지)
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuild();
+                }
+            });
+        } else {
+            rebuild();
+        }
+    }
+
+    // 상품 수 변경 트랜잭션이 커밋되면 다음 주기에 스냅샷 교체
+    public void markCountsChanged() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    countsChanged.set(true);
+                }
+            });
+        } else {
+            countsChanged.set(true);
+        }
+    }
+
+    // 상품 수가 바뀌었으면 스냅샷 교체 (category-tree.count-refresh-interval-ms, 기본 10초)
+    @Scheduled(fixedDelayString = "${category-tree.count-refresh-interval-ms:10000}")
+    public void refreshCounts() {
+        if (countsChanged.getAndSet(false)) {
+            rebuild();
+        }
+    }
+
+    // 조회와 교체를 직렬화해서 먼저 시작한 재구성이 나중 결과를 덮어쓰지 않도록 함
+    public synchronized Snapshot rebuild() {
+        long start = System.currentTimeMillis();
+        List<ItemCategoryFlatDto> categories = categoryRepository.findAllFlat();
+
+        long version = snapshot != null ? snapshot.version() + 1 : 1;
+        Snapshot next = buildSnapshot(version, categories);
+        snapshot = next;
+
+        logger.info("카테고리 트리 스냅샷 교체 - version={}, {}건 ({}ms)",
+                version, categories.size(), System.currentTimeMillis() - start);
+        return next;
+    }
+
+
+    private Snapshot buildSnapshot(long version, List<ItemCategoryFlatDto> categories) {
+        Map<Long, ItemCategoryFlatDto> byId = new LinkedHashMap<>();
+        Map<Long, List<ItemCategoryFlatDto>> childrenByParent = new LinkedHashMap<>();
+        List<ItemCategoryFlatDto> roots = new ArrayList<>();
+
+        for (ItemCategoryFlatDto category : categories) {
+            byId.put(category.getCategoryId(), category);
+        }
+        for (ItemCategoryFlatDto category : categories) {
+            if (category.getParentId() != null && byId.containsKey(category.getParentId())) {
+                childrenByParent.computeIfAbsent(category.getParentId(), id -> new ArrayList<>()).add(category);
+            } else {
+                roots.add(category);
+            }
+        }
+
+        List<ItemCategoryTreeDto> tree = roots.stream()
+                .map(root -> toTreeNode(root, childrenByParent))
+                .toList();
+
+        Map<Long, List<ItemCategorySimpleDto>> simpleChildren = new LinkedHashMap<>();
+        Map<Long, List<ItemCategoryFlatDto>> flatChildren = new LinkedHashMap<>();
+        childrenByParent.forEach((parentId, children) -> {
+            simpleChildren.put(parentId, children.stream().map(this::toSimple).toList());
+            flatChildren.put(parentId, List.copyOf(children));
+        });
+
+        byte[] treeJson;
+        try {
+            treeJson = objectMapper.writeValueAsBytes(tree);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("카테고리 트리 직렬화 실패", e);
+        }
+        String etag = "\"" + DigestUtils.md5DigestAsHex(treeJson) + "\"";
+
+        return new Snapshot(
+                version,
+                tree,
+                treeJson,
+                etag,
+                categories.stream().map(this::toSimple).toList(),
+                roots.stream().map(this::toSimple).toList(),
+                simpleChildren,
+                categories,
+                flatChildren
+        );
+    }
+
+    private ItemCategoryTreeDto toTreeNode(ItemCategoryFlatDto category, Map<Long, List<ItemCategoryFlatDto>> childrenByParent) {
+        List<ItemCategoryTreeDto> children = childrenByParent.getOrDefault(category.getCategoryId(), List.of())
+                .stream()
+                .map(child -> toTreeNode(child, childrenByParent))
+                .toList();
+        return new ItemCategoryTreeDto(category.getCategoryId(), category.getCategoryName(),
+                category.getDirectItemCount(), category.getItemCount(), children);
+    }
+
+    private ItemCategorySimpleDto toSimple(ItemCategoryFlatDto category) {
+        return new ItemCategorySimpleDto(category.getCategoryId(), category.getCategoryName());
+    }
+
+
+    // 한 시점의 카테고리 트리 (불변 - 교체만 가능)
+    // DTO는 불변이고 목록/맵은 만들 때 한 번만 읽기 전용으로 감싸 두므로, 꺼낼 때는 복사 없이 그대로 돌려준다.
+    // treeJson은 응답 본문에 그대로 쓰는 용도 - 배열을 고치지 말 것
+    public record Snapshot(
+            long version,
+            List<ItemCategoryTreeDto> tree,
+            byte[] treeJson,
+            String etag,
+            List<ItemCategorySimpleDto> all,
+            List<ItemCategorySimpleDto> topLevel,
+            Map<Long, List<ItemCategorySimpleDto>> childrenByParent,
+            List<ItemCategoryFlatDto> flat,
+            Map<Long, List<ItemCategoryFlatDto>> flatChildrenByParent
+    ) {
+        public Snapshot {
+            tree = List.copyOf(tree);
+            all = List.copyOf(all);
+            topLevel = List.copyOf(topLevel);
+            childrenByParent = Collections.unmodifiableMap(new LinkedHashMap<>(childrenByParent));
+            flat = List.copyOf(flat);
+            flatChildrenByParent = Collections.unmodifiableMap(new LinkedHashMap<>(flatChildrenByParent));
+        }
+
+        public List<ItemCategorySimpleDto> children(Long parentId) {
+            return childrenByParent.getOrDefault(parentId, List.of());
+        }
+
+        public List<ItemCategoryFlatDto> flatChildren(Long parentId) {
+            return flatChildrenByParent.getOrDefault(parentId, List.of());
+        }
+    }
+}
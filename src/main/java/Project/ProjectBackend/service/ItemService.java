@@ -1,6 +1,9 @@
 package Project.ProjectBackend.service;
 
+import Project.ProjectBackend.dto.CursorSliceDto;
+import Project.ProjectBackend.dto.FeedCursor;
 import Project.ProjectBackend.dto.ItemListDto;
+import Project.ProjectBackend.dto.ItemResponseDto;
 import Project.ProjectBackend.entity.*;
 import Project.ProjectBackend.dto.ItemRequestDto;
 import Project.ProjectBackend.repository.CategoryRepository;
@@ -11,8 +14,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -23,28 +29,62 @@ public class ItemService {
     private final ItemRepository itemRepository;
     private final MemberRepository memberRepository;
     private final CategoryRepository categoryRepository;
+    private final ItemCategoryClosureService itemCategoryClosureService;
     private final ImageService imageService;
+    private final HitCountService hitCountService;
+    private final SearchIndexService searchIndexService;
+    private final StockReservationService stockReservationService;
+    private final TransactionTemplate transactionTemplate;
     private static final Logger logger = LoggerFactory.getLogger(ItemService.class);
 
 
-    // 1. 모든 아이템 조회 (페이징 및 정렬 적용)
+    // 1. 모든 아이템 조회 (페이징 및 정렬 적용, 목록 컬럼만 프로젝션)
     @Transactional(readOnly = true)
-    public Slice<Item> getAllItems(Pageable pageable) {
-        return itemRepository.findAll(pageable);
+    public Slice<ItemResponseDto> getAllItems(Pageable pageable) {
+        return itemRepository.findItemList(pageable);
     }
 
-    // 카테고리별 아이템 조회
+    // 카테고리별 아이템 조회 (하위 카테고리 상품 포함)
     @Transactional(readOnly = true)
-    public Slice<Item> getItemsByCategoryName(String categoryName, Pageable pageable) {
-        return itemRepository.findByCategory_CategoryName(categoryName, pageable);
+    public Slice<ItemResponseDto> getItemsByCategoryName(String categoryName, Pageable pageable) {
+        return itemRepository.findItemListInCategoryTreeByName(categoryName, pageable);
+    }
+
+    // 카테고리 id로 조회 (하위 카테고리 상품 포함)
+    @Transactional(readOnly = true)
+    public Slice<ItemResponseDto> getItemsInCategoryTree(Long categoryId, Pageable pageable) {
+        return itemRepository.findItemListInCategoryTree(categoryId, pageable);
+    }
+
+    // 커서(키셋) 기반 아이템 목록 조회 - 깊은 페이지에서도 OFFSET 스캔 없이 인덱스 범위 조회
+    @Transactional(readOnly = true)
+    public CursorSliceDto<Item> getItemsByCursor(String categoryName, String cursor, Sort sort, int size) {
+        Sort.Order order = cursorOrder(sort);
+        FeedCursor feedCursor = FeedCursor.decode(cursor, order.getProperty());
+        String category = (categoryName == null || categoryName.isEmpty()) ? null : categoryName;
+        int pageSize = CursorSliceDto.clampSize(size);
+
+        List<Item> rows = itemRepository.findItemsAfterCursor(category, null, order, feedCursor, pageSize + 1);
+        return CursorSliceDto.of(rows, pageSize, order, Item::getItemId);
     }
 
 
     // 2. 아이템 등록
-    @Transactional
+    // S3 업로드를 먼저 끝내고 DB 저장은 짧은 트랜잭션으로 (업로드 동안 DB 커넥션을 잡지 않음)
+    // DB 저장이 실패하면 올려둔 이미지를 삭제
     public Item createItem(ItemRequestDto itemRequestDto, Member currentUser, List<MultipartFile> imageFiles) {
         logger.info("Creating item: {}", itemRequestDto.getItemName());
 
+        List<ImageService.UploadedImage> uploaded = imageService.uploadItemImages(imageFiles);
+        try {
+            return transactionTemplate.execute(status -> saveNewItem(itemRequestDto, currentUser, uploaded));
+        } catch (RuntimeException e) {
+            imageService.discardUploaded(uploaded);
+            throw e;
+        }
+    }
+
+    private Item saveNewItem(ItemRequestDto itemRequestDto, Member currentUser, List<ImageService.UploadedImage> uploaded) {
         ItemCategory category = categoryRepository.findById(itemRequestDto.getCategoryId())
                 .orElseThrow(() -> new IllegalArgumentException("유효하지 않은 카테고리입니다."));
 
@@ -61,54 +101,61 @@ public class ItemService {
         // 아이템 먼저 저장하여 itemId 확보
         Item savedItem = itemRepository.save(item);
         logger.info("Item created with ID: {}", savedItem.getItemId());
+        itemCategoryClosureService.onItemAdded(category.getCategoryId());
 
-        // 이미지 저장
-        if (imageFiles != null && !imageFiles.isEmpty()) {
-            logger.info("Saving {} images for item: {}", imageFiles.size(), item.getItemId());
-            List<Image> images = imageService.saveImagesForItem(imageFiles, item);
-            item.setImages(images);
+        // 이미지 저장 (업로드는 이미 끝난 상태)
+        if (!uploaded.isEmpty()) {
+            logger.info("Saving {} images for item: {}", uploaded.size(), item.getItemId());
+            List<Image> images = imageService.attachToItem(uploaded, savedItem);
+            savedItem.setImages(images);
 
             // 대표 이미지 설정
-            if (!images.isEmpty()) {
-                item.setRepresentativeImagePath(images.get(0).getImagePath());
-            }
-
-            // 이미지 설정 후 다시 저장
-            savedItem = itemRepository.save(savedItem);
-            logger.info("Item created with ID: {}", savedItem.getItemId());
+            savedItem.setRepresentativeImagePath(images.get(0).getImagePath());
         }
 
+        // 검색 인덱스 반영 (커밋 후)
+        searchIndexService.indexItem(savedItem);
+
         return savedItem;
     }
 
 
     // 3. 아이템 수정
-    @Transactional
+    // 새 이미지는 트랜잭션 전에 업로드, 기존 이미지 객체는 커밋되면 삭제 대기열에서 삭제
+    // (DB 수정이 실패하면 새로 올린 이미지만 지우고 기존 이미지는 그대로 유지)
     public Item updateItem(Long itemId, ItemRequestDto itemRequestDto, List<MultipartFile> imageFiles, Member currentUser) {
+        List<ImageService.UploadedImage> uploaded = imageService.uploadItemImages(imageFiles);
+        try {
+            return transactionTemplate.execute(status ->
+                    saveItemChanges(itemId, itemRequestDto, uploaded, currentUser));
+        } catch (RuntimeException e) {
+            imageService.discardUploaded(uploaded);
+            throw e;
+        }
+    }
+
+    private Item saveItemChanges(Long itemId, ItemRequestDto itemRequestDto, List<ImageService.UploadedImage> uploaded,
+                                 Member currentUser) {
         // 1. 아이템 조회
-        Item existingItem = itemRepository.findById(itemId)
+        Item existingItem = itemRepository.findDetailByItemId(itemId)
                 .orElseThrow(() -> new IllegalArgumentException("아이템을 찾을 수 없습니다."));
 
         // 2. 소유자 확인
-        if (!existingItem.getSeller().equals(currentUser)) {
+        if (!existingItem.getSeller().getMemberId().equals(currentUser.getMemberId())) {
             throw new IllegalArgumentException("해당 아이템을 수정할 권한이 없습니다.");
         }
 
         // 3. 이미지 업데이트 처리
-        if (imageFiles != null && !imageFiles.isEmpty()) {
-            // 기존 이미지 삭제
+        if (!uploaded.isEmpty()) {
+            // 기존 이미지 행 삭제 (S3 객체는 커밋 후 삭제 대기열에서 삭제)
             imageService.deleteImages(existingItem.getImages());
 
-            // 새로운 이미지 저장
-            List<Image> updatedImages = imageService.saveImagesForItem(imageFiles, existingItem);
-
-            // 아이템에 새로운 이미지 설정
+            // 새로운 이미지 저장 후 아이템에 설정 (기존 이미지는 컬렉션에서 빠짐)
+            List<Image> updatedImages = imageService.attachToItem(uploaded, existingItem);
             existingItem.setImages(updatedImages);
 
             // 대표 이미지 설정
-            if (!updatedImages.isEmpty()) {
-                existingItem.setRepresentativeImagePath(updatedImages.get(0).getImagePath());
-            }
+            existingItem.setRepresentativeImagePath(updatedImages.get(0).getImagePath());
         }
         // 새 이미지가 없는 경우 기존 이미지를 유지하므로 별도의 처리 불필요
 
@@ -119,52 +166,98 @@ public class ItemService {
         existingItem.setStockQuantity(itemRequestDto.getStockQuantity());
 
         // 5. 아이템 저장
-        return itemRepository.save(existingItem);
+        Item updatedItem = itemRepository.save(existingItem);
+        searchIndexService.indexItem(updatedItem);
+        stockReservationService.evictAfterCommit(itemId);
+        return updatedItem;
     }
 
 
 
     // 4. 아이템 단건(상세) 조회
-    public Item getItemById(Long itemId) {
-        Item item = itemRepository.findById(itemId)
+    @Transactional(readOnly = true)
+    public ItemResponseDto getItemById(Long itemId) {
+        Item item = itemRepository.findDetailByItemId(itemId)
                 .orElseThrow(() -> new IllegalArgumentException("아이템이 존재하지 않습니다."));
 
-        // 조회수 증가
-        item.increaseHitCount();
-        itemRepository.save(item);
-
+        // 조회수 증가 (메모리 버퍼에 적재 후 주기적으로 DB 반영)
+        hitCountService.increaseItemHit(itemId);
 
-        return itemRepository.findById(itemId)
-                .orElseThrow(() -> new IllegalArgumentException("아이템을 찾을 수 없습니다."));
+        // 응답 조회수 = DB 값 + 아직 반영되지 않은 버퍼 값
+        ItemResponseDto responseDto = ItemResponseDto.from(item);
+        responseDto.setHitCount(item.getHitCount() + (int) hitCountService.getPendingItemHits(itemId));
+        return responseDto;
     }
 
 
     // 5. 특정 판매자가 등록한 아이템 조회
     @Transactional(readOnly = true)
     public Slice<ItemListDto> getItemsBySeller(String memberId, Pageable pageable) {
-        Slice<Item> itemsSlice = itemRepository.findBySeller_MemberId(memberId, pageable);
-        return itemsSlice.map(ItemListDto::from);
+        return itemRepository.findItemListDtoBySeller(memberId, pageable);
+    }
+
+    // 특정 판매자 아이템 커서 조회
+    @Transactional(readOnly = true)
+    public CursorSliceDto<ItemListDto> getItemsBySellerByCursor(String memberId, String cursor, Sort sort, int size) {
+        Sort.Order order = cursorOrder(sort);
+        FeedCursor feedCursor = FeedCursor.decode(cursor, order.getProperty());
+        int pageSize = CursorSliceDto.clampSize(size);
+
+        List<Item> rows = itemRepository.findItemsAfterCursor(null, memberId, order, feedCursor, pageSize + 1);
+        return CursorSliceDto.of(rows, pageSize, order, Item::getItemId).map(ItemListDto::from);
+    }
+
+    // 커서 페이징은 단일 정렬 컬럼 + id 보조 정렬만 지원
+    private Sort.Order cursorOrder(Sort sort) {
+        return sort.stream().findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("커서 페이징을 지원하지 않는 정렬입니다."));
     }
 
 
 
     // 7. 아이템 삭제
+    @Transactional
     public void deleteItem(Long itemId) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new IllegalArgumentException("아이템을 찾을 수 없습니다."));
+        if (item.getCategory() != null) {
+            itemCategoryClosureService.onItemRemoved(item.getCategory().getCategoryId());
+        }
+        // 상품 이미지 삭제 (참조 해제 + S3 삭제 대기열) - cascade로 지우면 stored_object 참조 수가 줄지 않음
+        imageService.deleteImages(item.getImages());
         itemRepository.delete(item);
+        searchIndexService.removeItem(itemId);
+        stockReservationService.evictAfterCommit(itemId);
     }
 
 
-    // 아이템 검색
+    // 아이템 검색 (검색 인덱스 준비 전에는 LIKE 검색)
     @Transactional(readOnly = true)
     public Slice<Item> searchItemsByKeyword(String keyword, Pageable pageable) {
-        return itemRepository.searchByKeyword(keyword, pageable);
+        if (!searchIndexService.isReady()) {
+            return itemRepository.searchByKeyword(keyword, pageable);
+        }
+        return searchItemsFromIndex(keyword, null, pageable);
     }
 
     @Transactional(readOnly = true)
     public Slice<Item> searchItemsByKeywordAndCategory(String keyword, String category, Pageable pageable) {
-        return itemRepository.searchByKeywordAndCategory(keyword, category, pageable);
+        if (!searchIndexService.isReady()) {
+            return itemRepository.searchByKeywordAndCategory(keyword, category, pageable);
+        }
+        return searchItemsFromIndex(keyword, category, pageable);
+    }
+
+    // 정렬 조건이 없으면 관련도순, 있으면 인덱스 후보 안에서 요청한 정렬로 페이징
+    private Slice<Item> searchItemsFromIndex(String keyword, String category, Pageable pageable) {
+        List<Long> itemIds = searchIndexService.searchItemIds(keyword, category, SearchIndexService.MAX_CANDIDATES);
+        if (itemIds.isEmpty()) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+        if (pageable.getSort().isSorted()) {
+            return itemRepository.findByItemIdIn(itemIds, pageable);
+        }
+        return SearchIndexService.toRelevanceSlice(itemIds, pageable, itemRepository::findAllByItemIdIn, Item::getItemId);
     }
 
 
@@ -1,27 +1,55 @@
 package Project.ProjectBackend.service;
 
+import Project.ProjectBackend.dto.AddressDto;
+import Project.ProjectBackend.dto.CartItemRequestDto;
+import Project.ProjectBackend.dto.CartOrderRequestDto;
+import Project.ProjectBackend.dto.CursorSliceDto;
 import Project.ProjectBackend.dto.DeliveryUpdateRequestDto;
+import Project.ProjectBackend.dto.FeedCursor;
 import Project.ProjectBackend.dto.OrderCreateRequestDto;
+import Project.ProjectBackend.dto.OrderDto;
+import Project.ProjectBackend.dto.SalesDailyDto;
+import Project.ProjectBackend.dto.SellerOrderItemDto;
+import Project.ProjectBackend.dto.StockReservationRequestDto;
 import Project.ProjectBackend.entity.*;
-import Project.ProjectBackend.repository.CouponRepository;
 import Project.ProjectBackend.repository.ItemRepository;
 import Project.ProjectBackend.repository.MemberRepository;
+import Project.ProjectBackend.repository.OrderItemRepository;
 import Project.ProjectBackend.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 public class OrderService {
 
+    private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
+
     private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
     private final MemberRepository memberRepository;
     private final ItemRepository itemRepository;
-    private final CouponRepository couponRepository;
+    private final CouponService couponService;
+    private final StockReservationService stockReservationService;
+    private final SalesRollupService salesRollupService;
 
     // 1. 주문 생성
     @Transactional
@@ -36,52 +64,137 @@ public class OrderService {
 
         // 수량 설정
         int count = (requestDto.getCount() != null) ? requestDto.getCount() : 1; // 기본 수량은 1로 지정
-        if (item.getStockQuantity() < count) {
-            throw new IllegalArgumentException("요청한 수량이 상품 재고를 초과합니다.");
-        }
 
-        // 배송 주소 정보 변환
-        Address address = new Address(
-                requestDto.getAddress().getMainAddress(),
-                requestDto.getAddress().getDetailAddress(),
-                requestDto.getAddress().getZipcode()
-        );
-
-        Delivery delivery = new Delivery();
-        delivery.setAddress(address);
-        delivery.setStatus(DeliveryStatus.ORDER_PLACED);
+        // 재고 확보 및 차감
+        count = takeStock(item, member, count, requestDto.getReservationId());
 
         // 주문 아이템 생성
         OrderItem orderItem = OrderItem.createOrderItem(item, item.getPrice(), count);
 
         // 주문 생성
-        Orders order = Orders.createOrder(member, delivery, orderItem);
+        Orders order = Orders.createOrder(member, createDelivery(requestDto.getAddress()), orderItem);
 
         // 쿠폰 적용 (선택사항)
-        Coupon coupon = null;
-        if (requestDto.getCouponCode() != null && !requestDto.getCouponCode().isEmpty()) {
-            coupon = couponRepository.findByCouponCode(requestDto.getCouponCode())
-                    .orElseThrow(() -> new IllegalArgumentException("유효하지 않은 쿠폰 코드입니다."));
-            // 쿠폰의 유효성 검사 (기간, 사용 가능 여부 등 추가 가능)
+        applyCoupon(order, requestDto.getCouponCode());
+
+        // 주문 저장
+        orderRepository.save(order);
+
+        // 일별 매출 집계 (커밋 후 반영)
+        salesRollupService.recordOrdered(order);
+
+        return order;
+    }
+
+    // 1-1. 장바구니 주문 (여러 상품을 주문 1건, 배송 1건, 트랜잭션 1번으로 생성)
+    @Transactional
+    public Orders createCartOrder(CartOrderRequestDto requestDto, Member currentUser) {
+        Member member = memberRepository.findById(currentUser.getMemberId())
+                .orElseThrow(() -> new IllegalArgumentException("인증된 사용자를 찾을 수 없습니다."));
+
+        if (requestDto.getItems() == null || requestDto.getItems().isEmpty()) {
+            throw new IllegalArgumentException("주문할 상품이 없습니다.");
         }
 
-        // 쿠폰 적용
-        if (coupon != null) {
-            order.applyCoupon(coupon);
+        // 같은 상품은 한 줄로 합치고 상품 id 오름차순으로 정렬
+        // (재고 UPDATE가 항상 같은 순서로 행 잠금을 잡아 장바구니 주문끼리 교착 상태가 생기지 않음)
+        Map<Long, CartItemRequestDto> lines = new TreeMap<>();
+        for (CartItemRequestDto line : requestDto.getItems()) {
+            if (line.getItemId() == null) {
+                throw new IllegalArgumentException("상품 ID는 필수입니다.");
+            }
+            lines.merge(line.getItemId(), line, (a, b) -> {
+                if (a.getReservationId() != null || b.getReservationId() != null) {
+                    throw new IllegalArgumentException("예약한 상품은 장바구니에 한 번만 담을 수 있습니다.");
+                }
+                return new CartItemRequestDto(a.getItemId(), a.countOrDefault() + b.countOrDefault(), null);
+            });
         }
 
-        // 주문 저장
+        // 상품은 IN 쿼리 한 번으로 조회
+        Map<Long, Item> items = itemRepository.findAllByItemIdIn(lines.keySet()).stream()
+                .collect(Collectors.toMap(Item::getItemId, Function.identity()));
+        if (items.size() != lines.size()) {
+            throw new IllegalArgumentException("해당 상품이 존재하지 않습니다.");
+        }
+
+        List<OrderItem> orderItems = new ArrayList<>(lines.size());
+        for (CartItemRequestDto line : lines.values()) {
+            Item item = items.get(line.getItemId());
+            int count = takeStock(item, member, line.countOrDefault(), line.getReservationId());
+            orderItems.add(OrderItem.createOrderItem(item, item.getPrice(), count));
+        }
+
+        Orders order = Orders.createOrder(member, createDelivery(requestDto.getAddress()),
+                orderItems.toArray(new OrderItem[0]));
+        applyCoupon(order, requestDto.getCouponCode());
+
+        // order_item은 hibernate.jdbc.batch_size 단위로 묶어서 INSERT
         orderRepository.save(order);
+        salesRollupService.recordOrdered(order);
 
         return order;
     }
 
+    // 재고 예약 확보 후 DB 재고 차감, 실제 주문 수량 반환
+    // 예약 id가 있으면 해당 예약 수량으로 주문, 없으면 다른 구매자의 예약분을 제외하고 즉시 확보
+    private int takeStock(Item item, Member member, int count, String reservationId) {
+        boolean reserved = reservationId != null && !reservationId.isEmpty();
+        StockReservationService.Reservation reservation = reserved
+                ? stockReservationService.claim(reservationId, member.getMemberId(), item.getItemId())
+                : stockReservationService.reserve(item.getItemId(), member.getMemberId(), count);
+        stockReservationService.completeWithTransaction(reservation, !reserved);
+
+        // 재고 차감 (stock >= count 조건부 UPDATE - 동시 주문에도 초과 판매 없음, 이후 실패 시 롤백으로 복구)
+        if (itemRepository.decreaseStock(item.getItemId(), reservation.getCount()) == 0) {
+            throw new IllegalArgumentException("요청한 수량이 상품 재고를 초과합니다.");
+        }
+        return reservation.getCount();
+    }
+
+    // 배송 주소 정보 변환
+    private Delivery createDelivery(AddressDto addressDto) {
+        if (addressDto == null) {
+            throw new IllegalArgumentException("배송 주소는 필수입니다.");
+        }
+        Address address = new Address(
+                addressDto.getMainAddress(),
+                addressDto.getDetailAddress(),
+                addressDto.getZipcode()
+        );
+
+        Delivery delivery = new Delivery();
+        delivery.setAddress(address);
+        delivery.setStatus(DeliveryStatus.ORDER_PLACED);
+        return delivery;
+    }
+
+    private void applyCoupon(Orders order, String couponCode) {
+        if (couponCode == null || couponCode.isEmpty()) {
+            return;
+        }
+        // 기간/최소 주문 금액 확인 후 회원 쿠폰 사용 처리 (주문 실패 시 롤백)
+        Coupon coupon = couponService.redeem(couponCode, order.getMember().getMemberId(),
+                order.getTotalPriceBeforeDiscount());
+        order.applyCoupon(coupon);
+    }
+
+
+    // 재고 예약 (주문서 작성 동안 수량 확보, 주문으로 전환될 때 DB 재고 차감)
+    public StockReservationService.Reservation reserveStock(StockReservationRequestDto requestDto, Member currentUser) {
+        return stockReservationService.hold(requestDto.getItemId(), currentUser.getMemberId(), requestDto.getCount());
+    }
+
+    public void cancelReservation(String reservationId, Member currentUser) {
+        stockReservationService.cancel(reservationId, currentUser.getMemberId());
+    }
+
 
     // 2. 주문 수정 (배송지 변경)
     @Transactional
     public Orders updateDeliveryAddress(Long orderId, DeliveryUpdateRequestDto deliveryUpdateRequestDto, Member currentUser) {
         // 주문 조회
-        Orders order = orderRepository.findById(orderId)
+        Orders order = orderRepository.findDetailByOrderId(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 주문이 존재하지 않습니다."));
 
         // 주문 소유자 확인
@@ -113,7 +226,7 @@ public class OrderService {
     // 3. 주문 취소
     @Transactional
     public void cancelOrder(Long orderId, Member currentUser) {
-        Orders order = orderRepository.findById(orderId)
+        Orders order = orderRepository.findDetailByOrderId(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 주문이 존재하지 않습니다."));
 
         // 주문 소유자 확인
@@ -121,14 +234,34 @@ public class OrderService {
             throw new IllegalArgumentException("해당 주문을 하신 사용자가 아닙니다.");
         }
 
-        order.cancel();
+        // 취소 상태 선점 (동시에 들어온 중복 취소는 여기서 걸러짐)
+        if (orderRepository.markCanceled(orderId, OrderStatus.CANCELED) == 0) {
+            throw new IllegalArgumentException("이미 취소된 주문입니다.");
+        }
+
+        order.cancel(); // 배송 상태 검증 (실패 시 롤백)
+
+        // 재고 복구
+        for (OrderItem orderItem : order.getOrderItems()) {
+            Long itemId = orderItem.getItem().getItemId();
+            itemRepository.increaseStock(itemId, orderItem.getCount());
+            stockReservationService.evictAfterCommit(itemId);
+        }
+
+        // 쿠폰 사용 취소
+        if (order.getCoupon() != null) {
+            couponService.restore(order.getCoupon().getCouponId(), order.getMember().getMemberId());
+        }
+
+        // 주문일 매출 집계에서 차감 (커밋 후 반영)
+        salesRollupService.recordCanceled(order);
     }
 
 
      // 4. 주문 조회
      @Transactional(readOnly = true)
      public Orders getOrder(Long orderId, Member currentUser) {
-         Orders order = orderRepository.findById(orderId)
+         Orders order = orderRepository.findDetailByOrderId(orderId)
                  .orElseThrow(() -> new IllegalArgumentException("해당 주문이 존재하지 않습니다."));
 
          // 주문 소유자 확인 또는 관리자 권한 확인
@@ -144,7 +277,7 @@ public class OrderService {
 
     // 5. 특정 회원의 모든 주문 조회
     @Transactional(readOnly = true)
-    public Slice<Orders> getOrdersByMember(String memberId, Pageable pageable, Member currentUser) {
+    public Slice<OrderDto> getOrdersByMember(String memberId, Pageable pageable, Member currentUser) {
 
         if (!currentUser.getMemberId().equals(memberId)) {
             throw new AccessDeniedException("해당 회원의 주문을 조회할 권한이 없습니다.");
@@ -153,7 +286,53 @@ public class OrderService {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 회원이 존재하지 않습니다."));
 
-        return orderRepository.findByMember(member, pageable);
+        // 주문 상품/상품은 @BatchSize로 묶어서 로딩되므로 트랜잭션 안에서 DTO로 변환
+        return orderRepository.findByMember(member, pageable).map(OrderDto::new);
+    }
+
+
+    // 판매자 주문함이 order_item.seller_id로 조회하므로, 비어 있는 기존 주문 상품은 시작할 때 채움
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillOrderItemSellers() {
+        int updated = orderItemRepository.backfillSellerIds();
+        if (updated > 0) {
+            logger.info("주문 상품 판매자 id 채움 - {}건", updated);
+        }
+    }
+
+
+    // 6. 판매자 주문함 (내 상품이 포함된 주문 상품, 최신순 커서 페이징, status가 null이면 전체)
+    @Transactional(readOnly = true)
+    public CursorSliceDto<SellerOrderItemDto> getSellerInbox(DeliveryStatus status, String cursor, int size, Member currentUser) {
+        Sort.Order order = Sort.Order.desc("orderItemId");
+        FeedCursor feedCursor = FeedCursor.decode(cursor, order.getProperty());
+        Long lastOrderItemId = feedCursor != null ? feedCursor.getId() : null;
+        int pageSize = CursorSliceDto.clampSize(size);
+
+        String sellerId = currentUser.getMemberId();
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<OrderItem> orderItems;
+        if (status == null) {
+            orderItems = lastOrderItemId == null
+                    ? orderItemRepository.findSellerInbox(sellerId, limit)
+                    : orderItemRepository.findSellerInboxAfter(sellerId, lastOrderItemId, limit);
+        } else {
+            orderItems = lastOrderItemId == null
+                    ? orderItemRepository.findSellerInboxByStatus(sellerId, status, limit)
+                    : orderItemRepository.findSellerInboxByStatusAfter(sellerId, status, lastOrderItemId, limit);
+        }
+
+        List<SellerOrderItemDto> rows = orderItems.stream()
+                .map(SellerOrderItemDto::new)
+                .toList();
+        return CursorSliceDto.of(rows, pageSize, order, SellerOrderItemDto::getOrderItemId);
+    }
+
+
+    // 7. 판매자 일별 매출 (sales_daily 집계)
+    public List<SalesDailyDto> getSellerSales(LocalDate from, LocalDate to, Member currentUser) {
+        return salesRollupService.getDaily(SalesDimension.SELLER, currentUser.getMemberId(), from, to);
     }
 
 
@@ -0,0 +1,327 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.dto.OrphanImageReportDto;
+import Project.ProjectBackend.image.ImageResizer;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 고아 이미지 정리 (DB에서 참조하지 않는 S3 객체 삭제)
+// 에디터에서 올렸다가 본문에서 지운 이미지, 저장 트랜잭션이 실패한 이미지, 확정되지 않은 직접 업로드 등
+// 1. 업로드 폴더별로 S3 목록을 1000개씩 조회
+// 2. 유예 기간(cloud.aws.s3.gc.grace-hours, 기본 24시간)이 지난 객체만 image 경로/썸네일 경로와 IN 조회로 비교
+// 3. 참조가 없는 후보는 삭제 직전 stored_object(저장 전 잡아 둔 참조)와 삭제 대기열을 한 번 더 확인하고,
+//    게시글 본문 <img src>에 들어 있는 객체도 제외 (Image 행 등록이 빠진 본문 이미지 보호)
+// 4. S3DeletionQueueService 대기열에 등록 (dryRun이면 집계만)
+// 기본값은 dryRun (cloud.aws.s3.gc.dry-run=false일 때만 주기 실행에서 삭제)
+// 여러 인스턴스에서 동시에 실행돼도 삭제 대기열은 멱등이라 결과는 같음
+@Service
+@RequiredArgsConstructor
+public class OrphanImageCollectorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrphanImageCollectorService.class);
+
+    // ListObjectsV2 한 번에 받을 수 있는 최대 키 수 (S3 제한), IN 조회도 같은 크기로 묶음
+    private static final int PAGE_SIZE = 1000;
+
+    private static final int MAX_SAMPLE_KEYS = 100;
+
+    // 게시글 본문을 읽을 때 한 번에 가져올 행 수
+    private static final int POST_PAGE_SIZE = 500;
+
+    private static final String SELECT_POST_CONTENT =
+            "SELECT post_id, content FROM post WHERE post_id > ? ORDER BY post_id LIMIT ?";
+
+    private final AmazonS3 amazonS3;
+    private final S3Uploader s3Uploader;
+    private final S3DeletionQueueService s3DeletionQueueService;
+    private final PresignedUploadService presignedUploadService;
+    private final ImageService imageService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${cloud.aws.s3.bucket}")
+    private String bucket;
+
+    @Value("${cloud.aws.s3.folder.post}")
+    private String postDir;
+
+    @Value("${cloud.aws.s3.folder.item}")
+    private String itemDir;
+
+    @Value("${cloud.aws.s3.folder.review}")
+    private String reviewDir;
+
+    @Value("${cloud.aws.s3.folder.comment}")
+    private String commentDir;
+
+    @Value("${cloud.aws.s3.folder.profile}")
+    private String profileDir;
+
+    @Value("${cloud.aws.s3.gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cloud.aws.s3.gc.dry-run:true}")
+    private boolean scheduledDryRun;
+
+    @Value("${cloud.aws.s3.gc.grace-hours:24}")
+    private long graceHours;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile OrphanImageReportDto lastReport;
+
+
+    // 주기 실행 (cloud.aws.s3.gc.interval-ms, 기본 하루)
+    @Scheduled(fixedDelayString = "${cloud.aws.s3.gc.interval-ms:86400000}",
+            initialDelayString = "${cloud.aws.s3.gc.initial-delay-ms:600000}")
+    public void collectScheduled() {
+        if (!enabled || running.get()) {
+            return;
+        }
+        try {
+            collect(scheduledDryRun);
+        } catch (Exception e) {
+            logger.warn("고아 이미지 정리 실패 - 다음 주기에 다시 실행합니다.", e);
+        }
+    }
+
+    // 전체 폴더 점검 (관리자 요청은 호출한 스레드에서 끝까지 실행)
+    public OrphanImageReportDto collect(boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("고아 이미지 정리가 이미 실행 중입니다.");
+        }
+        try {
+            Run run = new Run(dryRun);
+            // 직접 업로드는 확정 전까지 참조가 없으므로 서명 URL 만료 시간보다 짧게 잡지 않음
+            Duration grace = Duration.ofHours(graceHours);
+            Duration uploadExpiration = Duration.ofSeconds(presignedUploadService.getExpirationSeconds());
+            Instant cutoff = run.startedAt.minus(grace.compareTo(uploadExpiration) > 0 ? grace : uploadExpiration);
+
+            // 확정되지 않은 직접 업로드의 스테이징 객체도 같은 기준으로 정리 (Image 행이 참조하지 않음)
+            for (String dir : new LinkedHashSet<>(List.of(postDir, itemDir, reviewDir, commentDir, profileDir,
+                    presignedUploadService.getStagingPrefix()))) {
+                scanPrefix(dir + "/", cutoff, run);
+            }
+            flushCandidates(run);
+
+            OrphanImageReportDto report = run.toReport();
+            lastReport = report;
+            logger.info("고아 이미지 정리{} - 조회 {}건, 고아 {}건({}바이트), 삭제 등록 {}건",
+                    dryRun ? "(dry-run)" : "", run.scanned, run.orphans, run.orphanBytes, run.enqueued);
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // 마지막 실행 결과 (실행한 적 없으면 null)
+    public OrphanImageReportDto getLastReport() {
+        return lastReport;
+    }
+
+
+    private void scanPrefix(String prefix, Instant cutoff, Run run) {
+        String continuationToken = null;
+        do {
+            ListObjectsV2Result page = amazonS3.listObjectsV2(new ListObjectsV2Request()
+                    .withBucketName(bucket)
+                    .withPrefix(prefix)
+                    .withMaxKeys(PAGE_SIZE)
+                    .withContinuationToken(continuationToken));
+            checkPage(page.getObjectSummaries(), cutoff, run);
+            continuationToken = page.isTruncated() ? page.getNextContinuationToken() : null;
+        } while (continuationToken != null);
+    }
+
+    // 한 페이지의 객체 중 유예 기간이 지났고 참조가 없는 것을 후보로 모음
+    private void checkPage(List<S3ObjectSummary> summaries, Instant cutoff, Run run) {
+        Map<String, S3ObjectSummary> oldObjects = new LinkedHashMap<>();
+        for (S3ObjectSummary summary : summaries) {
+            run.scanned++;
+            if (summary.getLastModified().toInstant().isAfter(cutoff)) {
+                run.recent++;
+            } else {
+                oldObjects.put(s3Uploader.urlOf(summary.getKey()), summary);
+            }
+        }
+        if (oldObjects.isEmpty()) {
+            return;
+        }
+
+        Set<String> referenced = findReferencedUrls(oldObjects.keySet());
+        oldObjects.forEach((url, summary) -> {
+            if (referenced.contains(url)) {
+                run.referenced++;
+            } else {
+                run.candidates.put(url, summary);
+            }
+        });
+        if (run.candidates.size() >= PAGE_SIZE) {
+            flushCandidates(run);
+        }
+    }
+
+    // 후보를 다시 확인한 뒤 삭제 대기열에 등록
+    // 목록 조회 이후 새로 참조됐거나 저장 직전(stored_object 참조만 잡힌 상태)인 객체, 이미 대기열에 있는 객체는 제외
+    private void flushCandidates(Run run) {
+        if (run.candidates.isEmpty()) {
+            return;
+        }
+        Map<String, S3ObjectSummary> candidates = new LinkedHashMap<>(run.candidates);
+        run.candidates.clear();
+
+        Set<String> referenced = findReferencedUrls(candidates.keySet());
+        referenced.addAll(selectIn("SELECT image_path FROM stored_object WHERE image_path IN ", candidates.keySet()));
+        Set<String> queuedKeys = selectIn("SELECT object_key FROM s3_deletion_task WHERE object_key IN ",
+                candidates.values().stream().map(S3ObjectSummary::getKey).toList());
+
+        List<String> orphanUrls = new ArrayList<>();
+        candidates.forEach((url, summary) -> {
+            if (referenced.contains(url) || contentKeys(run).contains(summary.getKey())) {
+                run.referenced++;
+            } else if (queuedKeys.contains(summary.getKey())) {
+                run.queued++;
+            } else {
+                run.orphans++;
+                run.orphanBytes += summary.getSize();
+                if (run.sampleKeys.size() < MAX_SAMPLE_KEYS) {
+                    run.sampleKeys.add(summary.getKey());
+                }
+                orphanUrls.add(url);
+            }
+        });
+
+        if (!run.dryRun && !orphanUrls.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> s3DeletionQueueService.enqueue(orphanUrls));
+            run.enqueued += orphanUrls.size();
+        }
+    }
+
+    // 게시글 본문에 들어 있는 S3 키 (후보가 처음 나왔을 때 post_id 순서로 한 번만 읽음)
+    private Set<String> contentKeys(Run run) {
+        if (run.contentKeys != null) {
+            return run.contentKeys;
+        }
+        Set<String> keys = new HashSet<>();
+        long[] lastPostId = {0};
+        int rows;
+        do {
+            List<String> contents = new ArrayList<>();
+            jdbcTemplate.query(SELECT_POST_CONTENT, rs -> {
+                lastPostId[0] = rs.getLong("post_id");
+                contents.add(rs.getString("content"));
+            }, lastPostId[0], POST_PAGE_SIZE);
+            rows = contents.size();
+            for (String content : contents) {
+                if (content == null) {
+                    continue;
+                }
+                for (String url : imageService.extractImageUrlsFromContent(content)) {
+                    try {
+                        keys.add(s3Uploader.keyOf(url));
+                    } catch (RuntimeException e) {
+                        // 우리 버킷이 아니거나 형식이 잘못된 URL은 무시
+                    }
+                }
+            }
+        } while (rows == POST_PAGE_SIZE);
+        run.contentKeys = keys;
+        return keys;
+    }
+
+    // Image 행이 참조하는 URL (원본 경로, 또는 파생 이미지면 같은 원본의 썸네일 경로로 확인)
+    private Set<String> findReferencedUrls(Collection<String> urls) {
+        Set<String> referenced = selectIn("SELECT image_path FROM image WHERE image_path IN ", urls);
+
+        // 파생 이미지는 {원본}_{thumb|card|detail}.jpg 로 함께 저장되므로 썸네일 경로(인덱스)로 확인
+        Map<String, List<String>> urlsByThumbnail = new LinkedHashMap<>();
+        for (String url : urls) {
+            String thumbnailUrl = thumbnailUrlOf(url);
+            if (thumbnailUrl != null) {
+                urlsByThumbnail.computeIfAbsent(thumbnailUrl, key -> new ArrayList<>()).add(url);
+            }
+        }
+        if (!urlsByThumbnail.isEmpty()) {
+            for (String thumbnailUrl : selectIn("SELECT thumbnail_path FROM image WHERE thumbnail_path IN ",
+                    urlsByThumbnail.keySet())) {
+                referenced.addAll(urlsByThumbnail.get(thumbnailUrl));
+            }
+        }
+        return referenced;
+    }
+
+    // 파생 이미지 URL이면 같은 원본의 썸네일 URL, 아니면 null
+    private String thumbnailUrlOf(String url) {
+        String thumbnailSuffix = "_" + ImageResizer.Variant.THUMB.suffix() + "." + ImageResizer.EXTENSION;
+        for (ImageResizer.Variant variant : ImageResizer.Variant.values()) {
+            String suffix = "_" + variant.suffix() + "." + ImageResizer.EXTENSION;
+            if (url.endsWith(suffix)) {
+                return url.substring(0, url.length() - suffix.length()) + thumbnailSuffix;
+            }
+        }
+        return null;
+    }
+
+    // 단일 컬럼 IN 조회 (PAGE_SIZE개씩 나눠서)
+    private Set<String> selectIn(String sqlPrefix, Collection<String> values) {
+        Set<String> found = new HashSet<>();
+        List<String> list = new ArrayList<>(values);
+        for (int from = 0; from < list.size(); from += PAGE_SIZE) {
+            List<String> chunk = list.subList(from, Math.min(from + PAGE_SIZE, list.size()));
+            String sql = sqlPrefix + "(" + String.join(",", Collections.nCopies(chunk.size(), "?")) + ")";
+            found.addAll(jdbcTemplate.queryForList(sql, String.class, chunk.toArray()));
+        }
+        return found;
+    }
+
+
+    // 한 번의 실행 동안 모으는 집계 (실행은 한 번에 하나이므로 동기화하지 않음)
+    private static final class Run {
+        private final boolean dryRun;
+        private final Instant startedAt = Instant.now();
+        private final Map<String, S3ObjectSummary> candidates = new LinkedHashMap<>();
+        private final List<String> sampleKeys = new ArrayList<>();
+        private Set<String> contentKeys;
+        private long scanned;
+        private long referenced;
+        private long recent;
+        private long queued;
+        private long orphans;
+        private long orphanBytes;
+        private long enqueued;
+
+        private Run(boolean dryRun) {
+            this.dryRun = dryRun;
+        }
+
+        private OrphanImageReportDto toReport() {
+            return new OrphanImageReportDto(dryRun,
+                    LocalDateTime.ofInstant(startedAt, ZoneId.systemDefault()), LocalDateTime.now(),
+                    scanned, referenced, recent, queued, orphans, orphanBytes, enqueued, List.copyOf(sampleKeys));
+        }
+    }
+}
@@ -13,13 +13,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -35,6 +40,8 @@ public class PostService {
     private final LikedPostRepository likedPostRepository;
     private final CommentRepository commentRepository;
     private final ImageRepository imageRepository;
+    private final HitCountService hitCountService;
+    private final SearchIndexService searchIndexService;
 
 
     // 1. 게시글 등록
@@ -67,6 +74,9 @@ public class PostService {
             savedPost = postRepository.save(post);
         }
 
+        // 검색 인덱스 반영 (커밋 후)
+        searchIndexService.indexPost(savedPost);
+
         return savedPost;
     }
 
@@ -74,24 +84,26 @@ public class PostService {
     // 2. 게시글 수정
     @Transactional
     public Post updatePost(Long postId, PostRequestDto postRequestDto, List<MultipartFile> imageFiles, Member currentUser) {
-        Post existingPost = postRepository.findById(postId)
+        Post existingPost = postRepository.findDetailByPostId(postId)
                 .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다."));
 
         // 2. 소유자 확인
-        if (!existingPost.getWriter().equals(currentUser)) {
+        if (!existingPost.getWriter().getMemberId().equals(currentUser.getMemberId())) {
             throw new IllegalArgumentException("해당 게시글을 수정할 권한이 없습니다.");
         }
 
+        String oldContent = existingPost.getContent();
+
         // 3. 이미지 업데이트 처리
         if (imageFiles != null && !imageFiles.isEmpty()) {
-            // 기존 이미지 삭제
-            imageService.deleteImages(existingPost.getImages());
+            // 기존 첨부 이미지 삭제 (본문에 들어 있는 이미지는 아래 본문 동기화에서 처리)
+            imageService.deleteImages(imageService.withoutContentImages(existingPost.getImages(), oldContent));
 
             // 새로운 이미지 저장
             List<Image> updatedImages = imageService.saveImagesForPost(imageFiles, existingPost);
 
-            // post에 새로운 이미지 설정
-            existingPost.setImages(updatedImages);
+            // post에 새로운 이미지 추가
+            existingPost.getImages().addAll(updatedImages);
 
             // 대표 이미지 설정
             if (!updatedImages.isEmpty()) {
@@ -104,6 +116,9 @@ public class PostService {
         existingPost.setTitle(postRequestDto.getTitle());
         existingPost.setContent(postRequestDto.getContent());
 
+        // 본문에 새로 넣은 이미지 등록, 빠진 이미지 삭제
+        imageService.syncContentImages(existingPost, oldContent, postRequestDto.getContent());
+
         // 5. 카테고리 수정
         if (postRequestDto.getCategoryId() != null) {
             PostCategory postCategory = postCategoryRepository.findById(postRequestDto.getCategoryId())
@@ -111,20 +126,24 @@ public class PostService {
             existingPost.setPostCategory(postCategory);
         }
         // 6. 게시글 저장
-        return postRepository.save(existingPost);
+        Post updatedPost = postRepository.save(existingPost);
+        searchIndexService.indexPost(updatedPost);
+        return updatedPost;
     }
 
 
     // 3. 게시글 상세(단건) 조회
-    @Transactional
+    @Transactional(readOnly = true)
     public PostResponseDto getPost(Long postNo, String currentUserId) {
-        Post post = postRepository.findById(postNo)
+        Post post = postRepository.findDetailByPostId(postNo)
                 .orElseThrow(() -> new IllegalArgumentException("게시글이 존재하지 않습니다."));
 
-        post.increaseHitCount();
-        postRepository.save(post);
+        // 조회수 증가 (메모리 버퍼에 적재 후 주기적으로 DB 반영)
+        hitCountService.increasePostHit(postNo);
 
-        return PostResponseDto.from(post, currentUserId);
+        PostResponseDto responseDto = PostResponseDto.from(post, currentUserId);
+        responseDto.setHitCount(post.getHitCount() + (int) hitCountService.getPendingPostHits(postNo));
+        return responseDto;
     }
 
 
@@ -136,9 +155,10 @@ public class PostService {
     }
 
 
-    // 5. 게시글 목록 조회 (메인 화면에 쓰일 것)
-    public Slice<Post> getAllPosts(Pageable pageable) {
-        return postRepository.findAll(pageable);
+    // 5. 게시글 목록 조회 (메인 화면에 쓰일 것, 목록 컬럼만 프로젝션)
+    @Transactional(readOnly = true)
+    public Slice<PostResponseDto> getAllPosts(Pageable pageable) {
+        return withImagePaths(postRepository.findPostList(pageable));
     }
 
 
@@ -149,8 +169,47 @@ public class PostService {
 //                .map(PostListDto::from);
 //    }
     @Transactional(readOnly = true)
-    public Slice<Post> getPostsByCategoryId(Long categoryId, Pageable pageable) {
-        return postRepository.findByPostCategory_CategoryId(categoryId, pageable);
+    public Slice<PostResponseDto> getPostsByCategoryId(Long categoryId, Pageable pageable) {
+        return withImagePaths(postRepository.findPostListByCategoryId(categoryId, pageable));
+    }
+
+    // 회원별 게시글 목록 조회 (목록 컬럼만 프로젝션)
+    // memberId가 작성한 게시글만 돌려줌 - 예전에는 memberId와 관계없이 전체 게시글을 돌려줬음
+    @Transactional(readOnly = true)
+    public Slice<PostResponseDto> getPostListByWriter(String memberId, Pageable pageable) {
+        return withImagePaths(postRepository.findPostListByWriter(memberId, pageable));
+    }
+
+    // 커서(키셋) 기반 게시글 목록 조회 (categoryId가 null이면 전체)
+    @Transactional(readOnly = true)
+    public CursorSliceDto<PostResponseDto> getPostsByCursor(Long categoryId, String cursor, Sort sort, int size) {
+        Sort.Order order = sort.stream().findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("커서 페이징을 지원하지 않는 정렬입니다."));
+        FeedCursor feedCursor = FeedCursor.decode(cursor, order.getProperty());
+        int pageSize = CursorSliceDto.clampSize(size);
+
+        List<PostResponseDto> rows = postRepository.findPostListAfterCursor(categoryId, order, feedCursor, pageSize + 1);
+        CursorSliceDto<PostResponseDto> slice = CursorSliceDto.of(rows, pageSize, order, PostResponseDto::getPostId);
+        withImagePaths(slice.getContent());
+        return slice;
+    }
+
+    // 목록 응답의 이미지 경로 리스트를 페이지 단위 쿼리 한 번으로 채움 (게시글마다 이미지 컬렉션을 로딩하지 않음)
+    private Slice<PostResponseDto> withImagePaths(Slice<PostResponseDto> posts) {
+        withImagePaths(posts.getContent());
+        return posts;
+    }
+
+    private void withImagePaths(List<PostResponseDto> posts) {
+        if (posts.isEmpty()) {
+            return;
+        }
+        Map<Long, List<String>> imagePaths = new HashMap<>();
+        List<Long> postIds = posts.stream().map(PostResponseDto::getPostId).toList();
+        for (Image image : imageRepository.findAllByPost_PostIdInOrderByImageIdAsc(postIds)) {
+            imagePaths.computeIfAbsent(image.getPost().getPostId(), id -> new ArrayList<>()).add(image.getImagePath());
+        }
+        posts.forEach(post -> post.setImagePaths(imagePaths.getOrDefault(post.getPostId(), new ArrayList<>())));
     }
 
 
@@ -173,15 +232,36 @@ public class PostService {
 
         // 게시글 삭제
         postRepository.deleteById(postId);
+        searchIndexService.removePost(postId);
     }
 
+    // 게시글 검색 (검색 인덱스 준비 전에는 LIKE 검색)
     @Transactional(readOnly = true)
     public Slice<Post> searchPostsByKeyword(String keyword, Pageable pageable) {
-        return postRepository.searchByKeyword(keyword, pageable);
+        if (!searchIndexService.isReady()) {
+            return postRepository.searchByKeyword(keyword, pageable);
+        }
+        return searchPostsFromIndex(keyword, null, pageable);
     }
 
+    @Transactional(readOnly = true)
     public Slice<Post> searchPostsByKeywordAndCategory(String keyword, String categoryName, Pageable pageable) {
-        return postRepository.searchByKeywordAndCategory(keyword, categoryName, pageable);
+        if (!searchIndexService.isReady()) {
+            return postRepository.searchByKeywordAndCategory(keyword, categoryName, pageable);
+        }
+        return searchPostsFromIndex(keyword, categoryName, pageable);
+    }
+
+    // 정렬 조건이 없으면 관련도순, 있으면 인덱스 후보 안에서 요청한 정렬로 페이징
+    private Slice<Post> searchPostsFromIndex(String keyword, String categoryName, Pageable pageable) {
+        List<Long> postIds = searchIndexService.searchPostIds(keyword, categoryName, SearchIndexService.MAX_CANDIDATES);
+        if (postIds.isEmpty()) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+        if (pageable.getSort().isSorted()) {
+            return postRepository.findByPostIdIn(postIds, pageable);
+        }
+        return SearchIndexService.toRelevanceSlice(postIds, pageable, postRepository::findAllByPostIdIn, Post::getPostId);
     }
 
 
@@ -0,0 +1,341 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.dto.PresignedUploadConfirmDto;
+import Project.ProjectBackend.dto.PresignedUploadDto;
+import Project.ProjectBackend.dto.PresignedUploadRequestDto;
+import Project.ProjectBackend.entity.Image;
+import Project.ProjectBackend.entity.Item;
+import Project.ProjectBackend.entity.Member;
+import Project.ProjectBackend.entity.Post;
+import Project.ProjectBackend.entity.Review;
+import Project.ProjectBackend.image.ImageSignature;
+import Project.ProjectBackend.repository.ItemRepository;
+import Project.ProjectBackend.repository.MemberRepository;
+import Project.ProjectBackend.repository.PostRepository;
+import Project.ProjectBackend.repository.ReviewRepository;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 클라이언트가 S3에 직접 올리는 이미지 업로드 (앱 서버는 파일 내용을 받지 않음)
+// 1. issue: 폴더/파일 정보를 받아 서명된 PUT URL 발급 (발급 내역은 만료 시각까지 메모리에 보관)
+// 2. 클라이언트가 uploadUrl로 스테이징 키({staging-prefix}/{폴더}/{UUID}.{확장자})에 직접 PUT
+// 3. confirm: 스테이징 객체를 서버 쪽에서 최종 키로 복사하고, 복사본의 크기/Content-Type과
+//    앞부분 내용(매직 넘버)을 확인한 뒤 Image 행 생성 (스테이징 객체는 삭제)
+//    서명 URL은 만료 전까지 같은 키에 다시 PUT할 수 있으므로 클라이언트가 쓸 수 없는 복사본만 검사/사용
+// 확정되지 않은 객체는 고아 이미지로 남아 OrphanImageCollectorService가 정리
+// 발급 내역이 메모리에 있으므로 발급과 확정은 같은 인스턴스로 와야 함 (단일 인스턴스 기준)
+@Service
+@RequiredArgsConstructor
+public class PresignedUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PresignedUploadService.class);
+
+    private static final int MAX_FILES_PER_REQUEST = 10;
+
+    private final S3Uploader s3Uploader;
+    private final ImageService imageService;
+    private final ItemRepository itemRepository;
+    private final PostRepository postRepository;
+    private final ReviewRepository reviewRepository;
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${cloud.aws.s3.folder.post}")
+    private String postDir;
+
+    @Value("${cloud.aws.s3.folder.item}")
+    private String itemDir;
+
+    @Value("${cloud.aws.s3.folder.review}")
+    private String reviewDir;
+
+    @Value("${cloud.aws.s3.folder.profile}")
+    private String profileDir;
+
+    @Value("${cloud.aws.s3.presigned.expiration-seconds:600}")
+    private long expirationSeconds;
+
+    @Value("${cloud.aws.s3.presigned.max-file-size:10485760}")
+    private long maxFileSize;
+
+    // 서명 URL로 올리는 임시 객체 위치 (확정되지 않은 객체는 고아 이미지 정리에서 삭제)
+    @Value("${cloud.aws.s3.presigned.staging-prefix:staging}")
+    private String stagingPrefix;
+
+    // uploadId -> 발급 내역
+    private final Map<String, PendingUpload> pendingUploads = new ConcurrentHashMap<>();
+
+
+    // 1. 서명 URL 발급
+    public List<PresignedUploadDto> issue(String memberId, PresignedUploadRequestDto request) {
+        String folder = request.getFolder();
+        String dir = dirOf(folder);
+        List<PresignedUploadRequestDto.FileInfo> files = request.getFiles();
+        if (files == null || files.isEmpty()) {
+            throw new IllegalArgumentException("업로드할 파일 정보가 없습니다.");
+        }
+        int maxFiles = maxFilesOf(folder);
+        if (files.size() > maxFiles) {
+            throw new IllegalArgumentException("한 번에 업로드할 수 있는 파일은 최대 " + maxFiles + "개입니다.");
+        }
+
+        Instant expiresAt = Instant.now().plusSeconds(expirationSeconds);
+        List<PresignedUploadDto> issued = new ArrayList<>(files.size());
+        for (PresignedUploadRequestDto.FileInfo file : files) {
+            String extension = ImageSignature.extensionOf(file.getContentType());
+            if (extension == null) {
+                throw new IllegalArgumentException("허용되지 않는 이미지 형식입니다: " + file.getFileName());
+            }
+            if (file.getFileSize() <= 0 || file.getFileSize() > maxFileSize) {
+                throw new IllegalArgumentException("파일 크기는 " + maxFileSize + "바이트 이하여야 합니다: " + file.getFileName());
+            }
+
+            String uploadId = UUID.randomUUID().toString();
+            String key = dir + "/" + UUID.randomUUID() + "." + extension;
+            String stagingKey = stagingPrefix + "/" + key;
+            String uploadUrl = s3Uploader.presignPut(stagingKey, file.getContentType(), Date.from(expiresAt)).toString();
+
+            pendingUploads.put(uploadId, new PendingUpload(memberId, folder, stagingKey, key,
+                    file.getFileName() != null ? file.getFileName() : key, file.getContentType(), file.getFileSize(), expiresAt));
+            issued.add(new PresignedUploadDto(uploadId, uploadUrl, file.getContentType(),
+                    LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault())));
+        }
+        return issued;
+    }
+
+    // 2. 업로드 확정 - S3 확인은 트랜잭션 밖에서, Image 행 저장은 짧은 트랜잭션 안에서
+    public List<String> confirm(String memberId, PresignedUploadConfirmDto request) {
+        List<PendingUpload> pending = takePending(memberId, request.getUploadIds());
+
+        List<ImageService.UploadedImage> uploaded = new ArrayList<>(pending.size());
+        try {
+            for (PendingUpload upload : pending) {
+                uploaded.add(verify(upload));
+            }
+        } catch (RuntimeException e) {
+            // 검증에 실패하면 이번 요청의 객체는 모두 삭제 (클라이언트가 다시 발급받아 올려야 함)
+            discard(pending);
+            throw e;
+        }
+        deleteStaging(pending);
+
+        return attachUploaded(memberId, pending.get(0).folder(), request.getTargetId(), uploaded);
+    }
+
+    // 검증이 끝난 객체를 대상에 추가 (짧은 트랜잭션, 실패하면 객체 정리)
+    List<String> attachUploaded(String memberId, String folder, Long targetId, List<ImageService.UploadedImage> uploaded) {
+        try {
+            return transactionTemplate.execute(status -> attach(memberId, folder, targetId, uploaded));
+        } catch (RuntimeException e) {
+            imageService.discardUploaded(uploaded);
+            throw e;
+        }
+    }
+
+    // 만료된 발급 내역 정리 (객체가 올라왔더라도 확정되지 않았으므로 고아 이미지로 처리됨)
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        pendingUploads.values().removeIf(upload -> upload.expiresAt().isBefore(now));
+    }
+
+
+    // 발급 내역을 꺼냄 (같은 uploadId로 두 번 확정할 수 없음)
+    private List<PendingUpload> takePending(String memberId, List<String> uploadIds) {
+        if (uploadIds == null || uploadIds.isEmpty()) {
+            throw new IllegalArgumentException("확정할 업로드가 없습니다.");
+        }
+        if (new HashSet<>(uploadIds).size() != uploadIds.size()) {
+            throw new IllegalArgumentException("같은 업로드를 여러 번 확정할 수 없습니다.");
+        }
+
+        Instant now = Instant.now();
+        List<PendingUpload> pending = new ArrayList<>(uploadIds.size());
+        for (String uploadId : uploadIds) {
+            PendingUpload upload = pendingUploads.get(uploadId);
+            if (upload == null || upload.expiresAt().isBefore(now) || !upload.memberId().equals(memberId)) {
+                throw new IllegalArgumentException("유효하지 않거나 만료된 업로드입니다: " + uploadId);
+            }
+            if (!pending.isEmpty() && !pending.get(0).folder().equals(upload.folder())) {
+                throw new IllegalArgumentException("같은 폴더의 업로드만 함께 확정할 수 있습니다.");
+            }
+            pending.add(upload);
+        }
+        // 프로필은 한 장만 사용하므로 나머지가 확정도 삭제도 되지 않고 남지 않도록 꺼내기 전에 거절
+        int maxFiles = maxFilesOf(pending.get(0).folder());
+        if (pending.size() > maxFiles) {
+            throw new IllegalArgumentException("한 번에 확정할 수 있는 파일은 최대 " + maxFiles + "개입니다.");
+        }
+
+        for (String uploadId : uploadIds) {
+            if (pendingUploads.remove(uploadId) == null) {
+                throw new IllegalArgumentException("이미 처리된 업로드입니다: " + uploadId);
+            }
+        }
+        return pending;
+    }
+
+    // 스테이징 객체를 최종 키로 복사한 뒤 복사본이 발급 내용과 같은지 확인
+    private ImageService.UploadedImage verify(PendingUpload upload) {
+        if (s3Uploader.headObject(upload.stagingKey()) == null) {
+            throw new IllegalArgumentException("업로드가 완료되지 않은 파일입니다: " + upload.fileName());
+        }
+        s3Uploader.copy(upload.stagingKey(), upload.key());
+
+        ObjectMetadata metadata = s3Uploader.headObject(upload.key());
+        if (metadata == null) {
+            throw new IllegalStateException("업로드 파일 복사에 실패했습니다: " + upload.fileName());
+        }
+        if (metadata.getContentLength() != upload.fileSize() || metadata.getContentLength() > maxFileSize) {
+            throw new IllegalArgumentException("업로드된 파일 크기가 요청과 다릅니다: " + upload.fileName());
+        }
+        if (!upload.contentType().equals(metadata.getContentType())) {
+            throw new IllegalArgumentException("업로드된 파일 형식이 요청과 다릅니다: " + upload.fileName());
+        }
+        // Content-Type은 클라이언트가 정한 값이므로 실제 내용의 앞부분도 확인
+        byte[] header = s3Uploader.readHead(upload.key(), ImageSignature.HEADER_LENGTH);
+        if (!upload.contentType().equals(ImageSignature.detect(header))) {
+            throw new IllegalArgumentException("업로드된 파일 내용이 이미지 형식과 다릅니다: " + upload.fileName());
+        }
+        return new ImageService.UploadedImage(s3Uploader.urlOf(upload.key()), upload.fileName(), upload.fileSize(), null);
+    }
+
+    // 폴더에 맞는 대상에 이미지 추가 (프로필은 교체)
+    private List<String> attach(String memberId, String folder, Long targetId, List<ImageService.UploadedImage> uploaded) {
+        List<Image> images;
+        switch (folder) {
+            case "item" -> {
+                Item item = itemRepository.findDetailByItemId(requireTarget(targetId))
+                        .orElseThrow(() -> new IllegalArgumentException("아이템을 찾을 수 없습니다."));
+                checkOwner(item.getSeller(), memberId);
+                images = imageService.attachToItem(uploaded, item);
+                item.getImages().addAll(images);
+                if (item.getRepresentativeImagePath() == null) {
+                    item.setRepresentativeImagePath(images.get(0).getImagePath());
+                }
+            }
+            case "post" -> {
+                Post post = postRepository.findDetailByPostId(requireTarget(targetId))
+                        .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다."));
+                checkOwner(post.getWriter(), memberId);
+                images = imageService.attachToPost(uploaded, post);
+                post.getImages().addAll(images);
+                if (post.getRepresentativeImagePath() == null) {
+                    post.setRepresentativeImagePath(images.get(0).getImagePath());
+                }
+            }
+            case "review" -> {
+                Review review = reviewRepository.findById(requireTarget(targetId))
+                        .orElseThrow(() -> new IllegalArgumentException("리뷰를 찾을 수 없습니다."));
+                checkOwner(review.getWriter(), memberId);
+                images = imageService.attachToReview(uploaded, review);
+                review.getImages().addAll(images);
+            }
+            case "profile" -> {
+                if (uploaded.size() != 1) {
+                    throw new IllegalArgumentException("프로필 이미지는 한 장만 등록할 수 있습니다.");
+                }
+                Member member = memberRepository.findById(memberId)
+                        .orElseThrow(() -> new IllegalArgumentException("회원 정보를 찾을 수 없습니다."));
+                if (member.getProfileImage() != null) {
+                    imageService.deleteImage(member.getProfileImage());
+                }
+                Image profileImage = imageService.attachToProfile(uploaded.get(0), member);
+                member.updateProfileImage(profileImage.getImagePath());
+                member.setProfileImage(profileImage);
+                images = List.of(profileImage);
+            }
+            default -> throw new IllegalArgumentException("지원하지 않는 업로드 폴더입니다: " + folder);
+        }
+        logger.info("직접 업로드 이미지 {}건 확정 - {} {}", images.size(), folder, targetId);
+        return images.stream().map(Image::getImagePath).toList();
+    }
+
+    String dirOf(String folder) {
+        if (folder == null) {
+            throw new IllegalArgumentException("업로드 폴더를 입력해주세요.");
+        }
+        return switch (folder) {
+            case "post" -> postDir;
+            case "item" -> itemDir;
+            case "review" -> reviewDir;
+            case "profile" -> profileDir;
+            default -> throw new IllegalArgumentException("지원하지 않는 업로드 폴더입니다: " + folder);
+        };
+    }
+
+    int maxFilesOf(String folder) {
+        return "profile".equals(folder) ? 1 : MAX_FILES_PER_REQUEST;
+    }
+
+    long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    long getExpirationSeconds() {
+        return expirationSeconds;
+    }
+
+    String getStagingPrefix() {
+        return stagingPrefix;
+    }
+
+    private Long requireTarget(Long targetId) {
+        if (targetId == null) {
+            throw new IllegalArgumentException("이미지를 추가할 대상(targetId)을 입력해주세요.");
+        }
+        return targetId;
+    }
+
+    private void checkOwner(Member owner, String memberId) {
+        if (!owner.getMemberId().equals(memberId)) {
+            throw new IllegalArgumentException("이미지를 추가할 권한이 없습니다.");
+        }
+    }
+
+    // 스테이징 객체와 (복사했다면) 최종 객체 삭제
+    private void discard(List<PendingUpload> pending) {
+        deleteStaging(pending);
+        for (PendingUpload upload : pending) {
+            deleteQuietly(upload.key());
+        }
+    }
+
+    private void deleteStaging(List<PendingUpload> pending) {
+        for (PendingUpload upload : pending) {
+            deleteQuietly(upload.stagingKey());
+        }
+    }
+
+    // 실패해도 고아 이미지 정리에서 다시 지워지므로 로그만 남김
+    private void deleteQuietly(String key) {
+        try {
+            s3Uploader.delete(s3Uploader.urlOf(key));
+        } catch (Exception e) {
+            logger.warn("S3 객체 정리 실패: {}", key, e);
+        }
+    }
+
+
+    // stagingKey: 클라이언트가 PUT하는 키, key: 확정 후 사용하는 키
+    private record PendingUpload(String memberId, String folder, String stagingKey, String key, String fileName,
+                                 String contentType, long fileSize, Instant expiresAt) {
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -25,22 +26,34 @@ public class ReviewService {
     private ReviewRepository reviewRepository;
     private MemberRepository memberRepository;
     private ImageService imageService;
+    private TransactionTemplate transactionTemplate;
     private static final Logger logger = LoggerFactory.getLogger(ReviewService.class);
 
 
     // 후기 작성
-    @Transactional
+    // 이미지는 트랜잭션 전에 업로드하고, 후기 저장이 실패하면 올려둔 이미지를 삭제
     public Review writeReview(String writerId, String storeOwnerId, ReviewRequestDto requestDto, List<MultipartFile> imageFiles) {
+        if (writerId.equals(storeOwnerId)) {
+            throw new IllegalArgumentException("자신의 상점에는 리뷰를 작성할 수 없습니다.");
+        }
+
+        List<ImageService.UploadedImage> uploaded = imageService.uploadReviewImages(imageFiles);
+        try {
+            return transactionTemplate.execute(status -> saveReview(writerId, storeOwnerId, requestDto, uploaded));
+        } catch (RuntimeException e) {
+            imageService.discardUploaded(uploaded);
+            throw e;
+        }
+    }
+
+    private Review saveReview(String writerId, String storeOwnerId, ReviewRequestDto requestDto,
+                              List<ImageService.UploadedImage> uploaded) {
         // 작성자 및 상점 소유자 조회
         Member writer = memberRepository.findByMemberId(writerId)
                 .orElseThrow(() -> new IllegalArgumentException("작성자를 찾을 수 없습니다. ID: " + writerId));
         Member storeOwner = memberRepository.findByMemberId(storeOwnerId)
                 .orElseThrow(() -> new IllegalArgumentException("상점 주인을 찾을 수 없습니다. ID: " + storeOwnerId));
 
-        if (writerId.equals(storeOwnerId)) {
-            throw new IllegalArgumentException("자신의 상점에는 리뷰를 작성할 수 없습니다.");
-        }
-
         // 리뷰 생성 및 저장
         Review review = Review.builder()
                 .writer(writer)
@@ -51,15 +64,12 @@ public class ReviewService {
 
         Review savedReview = reviewRepository.save(review);
 
-        // 이미지 저장
-        if (imageFiles != null && !imageFiles.isEmpty()) {
-            logger.info("Saving images for review - reviewId: {}, imageCount: {}", savedReview.getReviewId(), imageFiles.size());
-            List<Image> images = imageService.saveImagesForReview(imageFiles, savedReview);
+        // 이미지 저장 (업로드는 이미 끝난 상태)
+        if (!uploaded.isEmpty()) {
+            logger.info("Saving images for review - reviewId: {}, imageCount: {}", savedReview.getReviewId(), uploaded.size());
+            List<Image> images = imageService.attachToReview(uploaded, savedReview);
             savedReview.setImages(images);
-
-            if (!images.isEmpty()) {
-                savedReview.setRepresentativeImagePath(images.get(0).getImagePath());
-            }
+            savedReview.setRepresentativeImagePath(images.get(0).getImagePath());
         } else {
             logger.warn("No images provided for review - reviewId: {}", savedReview.getReviewId());
         }
@@ -84,7 +94,7 @@ public class ReviewService {
     @Transactional(readOnly = true)
     public ReviewResponseDto getReviewByReviewId(Long reviewId) {
 
-        Review review = reviewRepository.findById(reviewId)
+        Review review = reviewRepository.findDetailByReviewId(reviewId)
                 .orElseThrow(()->new IllegalArgumentException("후기가 존재하지 않습니다."));
 
         return ReviewResponseDto.from(review);
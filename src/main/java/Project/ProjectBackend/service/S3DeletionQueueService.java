@@ -0,0 +1,219 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.dto.S3DeletionStatsDto;
+import Project.ProjectBackend.repository.S3DeletionTaskRepository;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+// S3 객체 삭제 대기열 (s3_deletion_task)
+// - 삭제할 키는 호출한 트랜잭션 안에서 INSERT (Image 행 삭제와 함께 커밋/롤백)
+// - 주기적으로 처리 시각이 된 작업을 모아 DeleteObjects(요청당 최대 1000개)로 삭제
+// - 키별 실패는 지수 백오프로 재시도, 한도를 넘기면 멈춘 작업으로 남김
+// 여러 인스턴스가 같은 작업을 동시에 가져가더라도 S3 삭제는 멱등이라 결과는 같음
+@Service
+@RequiredArgsConstructor
+public class S3DeletionQueueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3DeletionQueueService.class);
+
+    // DeleteObjects 한 번에 보낼 수 있는 최대 키 수 (S3 제한)
+    private static final int MAX_KEYS_PER_REQUEST = 1000;
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private static final long MAX_RETRY_DELAY_MS = 3_600_000L;
+
+    private static final String INSERT_TASK =
+            "INSERT INTO s3_deletion_task (object_key, attempts, next_attempt_at, created_at) VALUES (?, 0, ?, ?)";
+
+    private static final String SELECT_DUE_TASKS =
+            "SELECT task_id, object_key, attempts FROM s3_deletion_task " +
+            "WHERE next_attempt_at <= ? ORDER BY next_attempt_at, task_id LIMIT ?";
+
+    private static final String DELETE_TASK = "DELETE FROM s3_deletion_task WHERE task_id = ?";
+
+    private static final String UPDATE_FAILED_TASK =
+            "UPDATE s3_deletion_task SET attempts = ?, next_attempt_at = ?, last_error = ? WHERE task_id = ?";
+
+    private final AmazonS3 amazonS3;
+    private final S3Uploader s3Uploader;
+    private final S3DeletionTaskRepository s3DeletionTaskRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${cloud.aws.s3.bucket}")
+    private String bucket;
+
+    // 첫 재시도 대기 시간 (시도할 때마다 두 배, 최대 1시간)
+    @Value("${cloud.aws.s3.deletion.retry-base-ms:30000}")
+    private long retryBaseMs;
+
+    @Value("${cloud.aws.s3.deletion.max-attempts:10}")
+    private int maxAttempts;
+
+    // 지표 (애플리케이션 시작 이후 누적)
+    private final AtomicLong enqueuedTotal = new AtomicLong();
+    private final AtomicLong deletedTotal = new AtomicLong();
+    private final AtomicLong failedTotal = new AtomicLong();
+    private final AtomicLong requestsTotal = new AtomicLong();
+    private volatile LocalDateTime lastDrainedAt;
+
+
+    // 삭제할 객체 URL 등록 (트랜잭션 안에서 호출하면 커밋될 때만 삭제됨)
+    public void enqueue(Collection<String> imageUrls) {
+        if (imageUrls == null || imageUrls.isEmpty()) {
+            return;
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        for (String imageUrl : imageUrls) {
+            if (imageUrl != null && !imageUrl.isEmpty()) {
+                keys.add(s3Uploader.keyOf(imageUrl));
+            }
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<String> rows = new ArrayList<>(keys);
+        jdbcTemplate.batchUpdate(INSERT_TASK, rows, rows.size(), (ps, key) -> {
+            ps.setString(1, key);
+            ps.setTimestamp(2, now);
+            ps.setTimestamp(3, now);
+        });
+        enqueuedTotal.addAndGet(rows.size());
+    }
+
+
+    // 처리 시각이 된 작업을 1000개씩 삭제 (cloud.aws.s3.deletion.drain-interval-ms, 기본 2초)
+    @Scheduled(fixedDelayString = "${cloud.aws.s3.deletion.drain-interval-ms:2000}")
+    public synchronized void drain() {
+        try {
+            int processed;
+            do {
+                processed = drainBatch();
+            } while (processed == MAX_KEYS_PER_REQUEST);
+            lastDrainedAt = LocalDateTime.now();
+        } catch (Exception e) {
+            logger.warn("S3 삭제 대기열 처리 실패 - 다음 주기에 재시도합니다.", e);
+        }
+    }
+
+    private int drainBatch() {
+        List<Task> tasks = jdbcTemplate.query(SELECT_DUE_TASKS,
+                (rs, rowNum) -> new Task(rs.getLong("task_id"), rs.getString("object_key"), rs.getInt("attempts")),
+                Timestamp.valueOf(LocalDateTime.now()), MAX_KEYS_PER_REQUEST);
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+
+        // 같은 키가 여러 번 등록됐을 수 있으므로 요청에는 한 번만 담음
+        Map<String, List<Task>> tasksByKey = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            tasksByKey.computeIfAbsent(task.objectKey(), key -> new ArrayList<>()).add(task);
+        }
+
+        Map<String, String> errors = deleteObjects(new ArrayList<>(tasksByKey.keySet()));
+
+        List<Task> done = new ArrayList<>();
+        List<Task> failed = new ArrayList<>();
+        tasksByKey.forEach((key, keyTasks) -> (errors.containsKey(key) ? failed : done).addAll(keyTasks));
+
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(DELETE_TASK, done, done.size(),
+                    (ps, task) -> ps.setLong(1, task.taskId()));
+            jdbcTemplate.batchUpdate(UPDATE_FAILED_TASK, failed, failed.size(), (ps, task) -> {
+                int attempts = task.attempts() + 1;
+                ps.setInt(1, attempts);
+                // 한도를 넘기면 더 이상 조회되지 않도록 next_attempt_at을 비움
+                ps.setTimestamp(2, attempts >= maxAttempts
+                        ? null
+                        : Timestamp.valueOf(now.plus(Duration.ofMillis(retryDelayMs(attempts)))));
+                ps.setString(3, truncate(errors.get(task.objectKey())));
+                ps.setLong(4, task.taskId());
+            });
+        });
+
+        deletedTotal.addAndGet(tasksByKey.size() - errors.size());
+        failedTotal.addAndGet(errors.size());
+        if (!errors.isEmpty()) {
+            logger.warn("S3 객체 삭제 실패 {}건 / {}건 - 예: {}", errors.size(), tasksByKey.size(),
+                    errors.entrySet().iterator().next());
+        }
+        return tasks.size();
+    }
+
+    // DeleteObjects 호출 후 실패한 키와 사유 반환 (없는 키는 S3가 성공으로 처리)
+    private Map<String, String> deleteObjects(List<String> keys) {
+        DeleteObjectsRequest request = new DeleteObjectsRequest(bucket)
+                .withKeys(keys.toArray(new String[0]))
+                .withQuiet(true);
+        requestsTotal.incrementAndGet();
+
+        Map<String, String> errors = new HashMap<>();
+        try {
+            amazonS3.deleteObjects(request);
+        } catch (MultiObjectDeleteException e) {
+            for (MultiObjectDeleteException.DeleteError error : e.getErrors()) {
+                errors.put(error.getKey(), error.getCode() + ": " + error.getMessage());
+            }
+        } catch (Exception e) {
+            // 요청 자체가 실패하면 모든 키를 다시 시도
+            keys.forEach(key -> errors.put(key, e.getClass().getSimpleName() + ": " + e.getMessage()));
+        }
+        return errors;
+    }
+
+    private long retryDelayMs(int attempts) {
+        long delay = retryBaseMs << Math.min(attempts - 1, 20);
+        return Math.min(delay, MAX_RETRY_DELAY_MS);
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+
+    // ===== 지표 =====
+
+    public S3DeletionStatsDto getStats() {
+        return new S3DeletionStatsDto(
+                s3DeletionTaskRepository.countByNextAttemptAtIsNotNull(),
+                s3DeletionTaskRepository.countByNextAttemptAtIsNull(),
+                enqueuedTotal.get(),
+                deletedTotal.get(),
+                failedTotal.get(),
+                requestsTotal.get(),
+                lastDrainedAt);
+    }
+
+
+    private record Task(long taskId, String objectKey, int attempts) {
+    }
+}
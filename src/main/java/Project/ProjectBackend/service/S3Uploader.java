@@ -1,7 +1,17 @@
 package Project.ProjectBackend.service;
 
+import com.amazonaws.HttpMethod;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.UploadPartRequest;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,9 +19,15 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,6 +35,9 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class S3Uploader {
 
+    // uploadStream 버퍼 시작 크기 (파일이 더 크면 partSize까지 두 배씩 늘림)
+    private static final int INITIAL_STREAM_BUFFER_SIZE = 64 * 1024;
+
     private final AmazonS3 amazonS3;
     private final Logger logger = LoggerFactory.getLogger(S3Uploader.class);
 
@@ -47,9 +66,138 @@ public class S3Uploader {
     }
 
 
+    // 이미 만들어진 바이트 배열 업로드 (파생 이미지 등, 키를 그대로 사용)
+    public String upload(byte[] bytes, String key, String contentType) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(bytes.length);
+        metadata.setContentType(contentType);
+
+        amazonS3.putObject(bucket, key, new ByteArrayInputStream(bytes), metadata);
+        return amazonS3.getUrl(bucket, key).toString();
+    }
+
+    // 길이를 모르는 스트림 업로드 (요청 본문에서 바로 읽는 파일 등)
+    // - partSize보다 작으면 PUT 한 번, 크면 S3 multipart 업로드로 partSize씩 전송
+    // - 메모리에는 partSize 이하의 버퍼 하나만 사용 (partSize는 S3 최소 파트 크기 5MB 이상)
+    //   버퍼는 작게 시작해 읽은 만큼만 늘리므로 작은 파일은 partSize를 할당하지 않음
+    // - maxSize를 넘으면 업로드를 중단하고 예외 (multipart 업로드는 abort)
+    // 업로드한 바이트 수 반환
+    public long uploadStream(InputStream in, String key, String contentType, int partSize, long maxSize) throws IOException {
+        byte[] buffer = new byte[Math.min(partSize, INITIAL_STREAM_BUFFER_SIZE)];
+        int length = 0;
+        while (true) {
+            length += in.readNBytes(buffer, length, buffer.length - length);
+            if (length > maxSize) {
+                throw new IllegalArgumentException("파일 크기는 " + maxSize + "바이트 이하여야 합니다.");
+            }
+            if (length < buffer.length || buffer.length == partSize) {
+                break;
+            }
+            buffer = Arrays.copyOf(buffer, (int) Math.min((long) buffer.length * 2, partSize));
+        }
+
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        if (length < partSize) {
+            metadata.setContentLength(length);
+            amazonS3.putObject(bucket, key, new ByteArrayInputStream(buffer, 0, length), metadata);
+            return length;
+        }
+
+        String uploadId = amazonS3.initiateMultipartUpload(
+                new InitiateMultipartUploadRequest(bucket, key, metadata)).getUploadId();
+        List<PartETag> partETags = new ArrayList<>();
+        long total = 0;
+        try {
+            while (length > 0) {
+                total += length;
+                if (total > maxSize) {
+                    throw new IllegalArgumentException("파일 크기는 " + maxSize + "바이트 이하여야 합니다.");
+                }
+                UploadPartRequest request = new UploadPartRequest()
+                        .withBucketName(bucket)
+                        .withKey(key)
+                        .withUploadId(uploadId)
+                        .withPartNumber(partETags.size() + 1)
+                        .withInputStream(new ByteArrayInputStream(buffer, 0, length))
+                        .withPartSize(length);
+                partETags.add(amazonS3.uploadPart(request).getPartETag());
+                length = in.readNBytes(buffer, 0, partSize);
+            }
+            amazonS3.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, key, uploadId, partETags));
+            return total;
+        } catch (IOException | RuntimeException e) {
+            try {
+                amazonS3.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId));
+            } catch (Exception abortError) {
+                logger.warn("S3 multipart 업로드 취소 실패: {}", key, abortError);
+            }
+            throw e;
+        }
+    }
+
+    // 객체 앞부분 length바이트 (Range GET - 파일 형식 확인용)
+    public byte[] readHead(String key, int length) {
+        GetObjectRequest request = new GetObjectRequest(bucket, key).withRange(0, length - 1);
+        try (S3Object object = amazonS3.getObject(request);
+             InputStream in = object.getObjectContent()) {
+            return in.readNBytes(length);
+        } catch (IOException e) {
+            throw new IllegalStateException("S3 다운로드 실패: " + key, e);
+        }
+    }
+
+    // 업로드된 객체 내용 전체 읽기
+    public byte[] download(String fileUrl) {
+        try (S3Object object = amazonS3.getObject(bucket, keyOf(fileUrl));
+             InputStream in = object.getObjectContent()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException("S3 다운로드 실패: " + fileUrl, e);
+        }
+    }
+
+    // 객체 URL -> S3 키 (로컬 S3 호환 서버의 경로 방식 URL도 처리)
+    public String keyOf(String fileUrl) {
+        String bucketUrl = amazonS3.getUrl(bucket, "").toString();
+        String fileKey = fileUrl.startsWith(bucketUrl)
+                ? fileUrl.substring(bucketUrl.length())
+                : fileUrl.substring(fileUrl.indexOf(".com/") + 5);
+        return URLDecoder.decode(fileKey, StandardCharsets.UTF_8);
+    }
+
+    // S3 키 -> 객체 URL
+    public String urlOf(String key) {
+        return amazonS3.getUrl(bucket, key).toString();
+    }
+
+    // 클라이언트가 직접 PUT할 수 있는 서명 URL (Content-Type도 서명에 포함되므로 같은 값으로 올려야 함)
+    public URL presignPut(String key, String contentType, Date expiration) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucket, key, HttpMethod.PUT)
+                .withExpiration(expiration)
+                .withContentType(contentType);
+        return amazonS3.generatePresignedUrl(request);
+    }
+
+    // 같은 버킷 안에서 객체 복사 (서버 쪽 CopyObject, Content-Type 등 메타데이터도 그대로 복사)
+    public void copy(String sourceKey, String targetKey) {
+        amazonS3.copyObject(bucket, sourceKey, bucket, targetKey);
+    }
+
+    // 객체 메타데이터 (객체가 없으면 null)
+    public ObjectMetadata headObject(String key) {
+        try {
+            return amazonS3.getObjectMetadata(bucket, key);
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
     public void delete(String fileUrl) {
-        String fileKey = fileUrl.substring(fileUrl.indexOf(".com/") + 5);
-        String decodedKey = URLDecoder.decode(fileKey, StandardCharsets.UTF_8);
+        String decodedKey = keyOf(fileUrl);
 
 //        logger.info("S3 삭제 대상 key: {}", fileKey);  // 이 값이 실제 S3의 키와 일치해야 함
         logger.info("디코딩된 S3 삭제 대상 key: {}", decodedKey);
@@ -0,0 +1,313 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.dto.SalesDailyDto;
+import Project.ProjectBackend.entity.OrderItem;
+import Project.ProjectBackend.entity.Orders;
+import Project.ProjectBackend.entity.SalesDimension;
+import Project.ProjectBackend.repository.SalesDailyRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 일별 매출 집계 (sales_daily)
+// - 주문 생성/취소가 커밋되면 판매자/상품/카테고리/전체 기준 증감분을 메모리에 합산
+// - 주기적으로 INSERT ... ON DUPLICATE KEY UPDATE 일괄 반영 (주문 트랜잭션이 인기 판매자 집계 행을 잠그지 않음)
+// - 대시보드는 기간(일) 수만큼의 행만 읽음
+@Service
+@RequiredArgsConstructor
+public class SalesRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesRollupService.class);
+
+    public static final String TOTAL_KEY = "ALL";
+
+    // 한 번에 조회할 수 있는 최대 기간 (일)
+    private static final int MAX_RANGE_DAYS = 366;
+
+    private static final String UPSERT_SALES_DAILY =
+            "INSERT INTO sales_daily (dimension, dimension_key, sales_date, order_count, units, gross_amount, discount_amount) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), units = units + VALUES(units), " +
+            "gross_amount = gross_amount + VALUES(gross_amount), discount_amount = discount_amount + VALUES(discount_amount)";
+
+    // 재구성용 - {key}에 기준 컬럼이 들어감, 주문 할인은 주문 상품 금액 비율로 나눠서 배분
+    private static final String REBUILD_SALES_DAILY =
+            "INSERT INTO sales_daily (dimension, dimension_key, sales_date, order_count, units, gross_amount, discount_amount) " +
+            "SELECT ?, {key}, DATE(o.order_date), COUNT(DISTINCT o.order_id), SUM(oi.count), " +
+            "SUM(oi.order_price * oi.count), " +
+            "COALESCE(SUM(ROUND(COALESCE(o.discount_amount, 0) * oi.order_price * oi.count / NULLIF(t.gross, 0), 2)), 0) " +
+            "FROM orders o " +
+            "JOIN order_item oi ON oi.order_id = o.order_id " +
+            "JOIN item i ON i.item_id = oi.item_id " +
+            "JOIN (SELECT oi2.order_id, SUM(oi2.order_price * oi2.count) AS gross FROM order_item oi2 " +
+            "      JOIN orders o2 ON o2.order_id = oi2.order_id " +
+            "      WHERE o2.order_date >= ? AND o2.order_date < ? GROUP BY oi2.order_id) t ON t.order_id = o.order_id " +
+            "WHERE o.order_date >= ? AND o.order_date < ? AND o.status <> 'CANCELED' AND {key} IS NOT NULL " +
+            "GROUP BY {key}, DATE(o.order_date)";
+
+    // 재구성 동안 기간 내 주문의 생성/취소 커밋을 막음 (재계산 결과와 버퍼가 같은 주문을 두 번 세지 않도록)
+    private static final String LOCK_ORDERS_IN_RANGE =
+            "SELECT COUNT(*) FROM orders WHERE order_date >= ? AND order_date < ? LOCK IN SHARE MODE";
+
+    private static final Map<SalesDimension, String> REBUILD_KEY_COLUMNS = Map.of(
+            SalesDimension.TOTAL, "'" + TOTAL_KEY + "'",
+            SalesDimension.SELLER, "i.member_id",
+            SalesDimension.ITEM, "CAST(oi.item_id AS CHAR)",
+            SalesDimension.CATEGORY, "CAST(i.category_id AS CHAR)");
+
+    private final SalesDailyRepository salesDailyRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // 아직 DB에 반영되지 않은 증감분
+    private final Map<RollupKey, Delta> pending = new ConcurrentHashMap<>();
+
+    // 재구성 중인 기간 (없으면 null) - 이 기간의 증감분은 재계산에 포함되므로 버퍼에 쌓지 않음
+    private volatile DateRange rebuilding;
+    // 재구성 중 버린 증감분 (재구성이 실패하면 버퍼로 되돌림)
+    private final Map<RollupKey, Delta> droppedDuringRebuild = new ConcurrentHashMap<>();
+
+
+    // ===== 증분 반영 (주문 트랜잭션 안에서 호출, 커밋 후 버퍼에 합산) =====
+
+    public void recordOrdered(Orders order) {
+        Map<RollupKey, Delta> deltas = deltasOf(order, 1);
+        afterCommit(() -> addPending(deltas));
+    }
+
+    // 주문일 집계에서 차감
+    public void recordCanceled(Orders order) {
+        Map<RollupKey, Delta> deltas = deltasOf(order, -1);
+        afterCommit(() -> addPending(deltas));
+    }
+
+    // 버퍼를 sales_daily에 반영 (sales-rollup.flush-interval-ms, 기본 5초)
+    @Scheduled(fixedDelayString = "${sales-rollup.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Map<RollupKey, Delta> drained = new HashMap<>();
+        for (RollupKey key : new ArrayList<>(pending.keySet())) {
+            Delta delta = pending.remove(key);
+            if (delta != null && !delta.isZero()) {
+                drained.put(key, delta);
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<RollupKey, Delta>> rows = new ArrayList<>(drained.entrySet());
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(UPSERT_SALES_DAILY, rows, rows.size(), (ps, row) -> {
+                        RollupKey key = row.getKey();
+                        Delta delta = row.getValue();
+                        ps.setString(1, key.dimension().name());
+                        ps.setString(2, key.dimensionKey());
+                        ps.setDate(3, Date.valueOf(key.salesDate()));
+                        ps.setLong(4, delta.orderCount());
+                        ps.setLong(5, delta.units());
+                        ps.setBigDecimal(6, delta.grossAmount());
+                        ps.setBigDecimal(7, delta.discountAmount());
+                    }));
+            logger.debug("매출 집계 반영 완료 - {}건", rows.size());
+        } catch (Exception e) {
+            // 실패한 분량은 다음 주기에 다시 반영되도록 되돌림
+            logger.warn("매출 집계 반영 실패 - 다음 주기에 재시도합니다. {}건", rows.size(), e);
+            drained.forEach((key, delta) -> pending.merge(key, delta, Delta::plus));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        logger.info("종료 전 매출 집계 버퍼 반영");
+        flush();
+    }
+
+
+    // ===== 조회 =====
+
+    // 일별 매출 (TOTAL은 key 생략 가능)
+    public List<SalesDailyDto> getDaily(SalesDimension dimension, String dimensionKey, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        String key = dimension == SalesDimension.TOTAL ? TOTAL_KEY : dimensionKey;
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("조회할 대상(key)을 입력해주세요.");
+        }
+        return salesDailyRepository.findDaily(dimension, key, from, to).stream()
+                .map(SalesDailyDto::new)
+                .toList();
+    }
+
+    // 기간 합계 매출 상위 목록
+    public List<SalesDailyDto> getRanking(SalesDimension dimension, LocalDate from, LocalDate to, int limit) {
+        validateRange(from, to);
+        if (limit < 1 || limit > 100) {
+            throw new IllegalArgumentException("limit은 1~100 사이여야 합니다.");
+        }
+        return salesDailyRepository.findRanking(dimension, from, to, PageRequest.of(0, limit));
+    }
+
+
+    // ===== 재구성 =====
+
+    // 기간 내 집계를 orders/order_item에서 다시 계산 (버퍼 유실, 집계 도입 이전 주문 보정용)
+    // flush와 같은 락 안에서 실행하고, 기간 내 주문 행을 공유 잠금으로 잡아 재계산 동안 기간 내 주문 커밋을 막는다.
+    // - 잠금 전에 커밋된 주문은 재계산에 포함되므로 그 증감분은 버퍼에서 제거 (재계산이 끝날 때까지 들어오는 것도 버림)
+    // - 잠금 때문에 기다린 주문은 재구성 커밋 뒤에 커밋되므로 평소처럼 버퍼에 쌓임
+    //   (그래서 기간 표시는 커밋으로 잠금이 풀리기 전, 트랜잭션 안에서 해제)
+    public synchronized int rebuild(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        long start = System.currentTimeMillis();
+        DateRange range = new DateRange(from, to);
+        rebuilding = range;
+        flush();
+
+        Timestamp fromTs = Timestamp.valueOf(from.atStartOfDay());
+        Timestamp toTs = Timestamp.valueOf(to.plusDays(1).atStartOfDay());
+
+        Integer rows;
+        try {
+            rows = transactionTemplate.execute(status -> {
+                jdbcTemplate.queryForObject(LOCK_ORDERS_IN_RANGE, Long.class, fromTs, toTs);
+                salesDailyRepository.deleteByRange(from, to);
+                int inserted = 0;
+                for (Map.Entry<SalesDimension, String> entry : REBUILD_KEY_COLUMNS.entrySet()) {
+                    inserted += jdbcTemplate.update(REBUILD_SALES_DAILY.replace("{key}", entry.getValue()),
+                            entry.getKey().name(), fromTs, toTs, fromTs, toTs);
+                }
+                // 잠금을 잡고 있는 동안 표시 해제 - 이후 들어오는 증감분은 잠금 전에 커밋된 주문(아래에서 제거)이거나
+                // 재구성 커밋 뒤에 커밋되는 주문(재계산에 없음)이므로 버퍼에 쌓아야 함
+                rebuilding = null;
+                // 기간을 표시하기 전이나 해제한 직후에 버퍼에 들어간 잠금 전 주문의 증감분은 재계산에 포함되므로 제거
+                for (RollupKey key : new ArrayList<>(pending.keySet())) {
+                    if (range.contains(key.salesDate())) {
+                        Delta delta = pending.remove(key);
+                        if (delta != null) {
+                            droppedDuringRebuild.merge(key, delta, Delta::plus);
+                        }
+                    }
+                }
+                return inserted;
+            });
+            droppedDuringRebuild.clear();
+        } catch (RuntimeException e) {
+            // 재계산이 롤백되면 버린 증감분은 기존 집계에 없으므로 버퍼로 되돌림
+            rebuilding = null;
+            droppedDuringRebuild.forEach((key, delta) -> pending.merge(key, delta, Delta::plus));
+            droppedDuringRebuild.clear();
+            throw e;
+        }
+
+        logger.info("매출 집계 재구성 완료 - {} ~ {}, {}건 ({}ms)", from, to, rows, System.currentTimeMillis() - start);
+        return rows != null ? rows : 0;
+    }
+
+
+    // 주문 1건의 기준별 증감분 (주문 수는 기준마다 한 번만, 할인은 주문 상품 금액 비율로 배분)
+    private Map<RollupKey, Delta> deltasOf(Orders order, int sign) {
+        LocalDate salesDate = order.getOrderDate().toLocalDate();
+        BigDecimal orderGross = order.getTotalPriceBeforeDiscount();
+        BigDecimal orderDiscount = order.getDiscountAmount() != null ? order.getDiscountAmount() : BigDecimal.ZERO;
+        BigDecimal signum = BigDecimal.valueOf(sign);
+
+        Map<RollupKey, Delta> deltas = new HashMap<>();
+        for (OrderItem orderItem : order.getOrderItems()) {
+            BigDecimal gross = BigDecimal.valueOf(orderItem.getTotalPrice());
+            BigDecimal discount = orderGross.signum() == 0 ? BigDecimal.ZERO
+                    : orderDiscount.multiply(gross).divide(orderGross, 2, RoundingMode.HALF_UP);
+            Delta line = new Delta(0, (long) orderItem.getCount() * sign, gross.multiply(signum), discount.multiply(signum));
+
+            List<RollupKey> keys = new ArrayList<>(4);
+            keys.add(new RollupKey(SalesDimension.TOTAL, TOTAL_KEY, salesDate));
+            keys.add(new RollupKey(SalesDimension.ITEM, String.valueOf(orderItem.getItem().getItemId()), salesDate));
+            if (orderItem.getItem().getSeller() != null) {
+                keys.add(new RollupKey(SalesDimension.SELLER, orderItem.getItem().getSeller().getMemberId(), salesDate));
+            }
+            if (orderItem.getItem().getCategory() != null) {
+                keys.add(new RollupKey(SalesDimension.CATEGORY,
+                        String.valueOf(orderItem.getItem().getCategory().getCategoryId()), salesDate));
+            }
+
+            for (RollupKey key : keys) {
+                // 같은 기준의 첫 주문 상품에서만 주문 수 반영
+                Delta first = deltas.containsKey(key) ? line : line.plus(new Delta(sign, 0, BigDecimal.ZERO, BigDecimal.ZERO));
+                deltas.merge(key, first, Delta::plus);
+            }
+        }
+        return deltas;
+    }
+
+    private void addPending(Map<RollupKey, Delta> deltas) {
+        DateRange range = rebuilding;
+        deltas.forEach((key, delta) -> {
+            if (range != null && range.contains(key.salesDate())) {
+                droppedDuringRebuild.merge(key, delta, Delta::plus);
+            } else {
+                pending.merge(key, delta, Delta::plus);
+            }
+        });
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("조회 기간이 올바르지 않습니다.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("조회 기간은 최대 " + MAX_RANGE_DAYS + "일입니다.");
+        }
+    }
+
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+
+    private record RollupKey(SalesDimension dimension, String dimensionKey, LocalDate salesDate) {
+    }
+
+    private record DateRange(LocalDate from, LocalDate to) {
+        boolean contains(LocalDate date) {
+            return !date.isBefore(from) && !date.isAfter(to);
+        }
+    }
+
+    private record Delta(long orderCount, long units, BigDecimal grossAmount, BigDecimal discountAmount) {
+        Delta plus(Delta other) {
+            return new Delta(orderCount + other.orderCount, units + other.units,
+                    grossAmount.add(other.grossAmount), discountAmount.add(other.discountAmount));
+        }
+
+        boolean isZero() {
+            return orderCount == 0 && units == 0 && grossAmount.signum() == 0 && discountAmount.signum() == 0;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.entity.Item;
+import Project.ProjectBackend.entity.Post;
+import Project.ProjectBackend.repository.ItemRepository;
+import Project.ProjectBackend.repository.PostRepository;
+import Project.ProjectBackend.search.InvertedIndex;
+import Project.ProjectBackend.search.NGramTokenizer;
+import Project.ProjectBackend.search.SearchDocument;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 상품/게시글 검색용 메모리 역색인 관리
+// LIKE '%kw%' 풀스캔 대신 bigram 역색인으로 후보를 찾고 TF-IDF 점수로 정렬한다.
+// 1글자 검색어("책", "옷")를 위해 글자 단위(unigram) 토큰도 함께 색인한다.
+@Service
+@RequiredArgsConstructor
+public class SearchIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexService.class);
+
+    // 제목(상품명)에 걸린 토큰은 본문보다 가중치를 높게
+    private static final int TITLE_WEIGHT = 3;
+    private static final int BODY_WEIGHT = 1;
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    // 한 번의 검색에서 정렬/페이징 대상으로 삼는 최대 후보 수
+    public static final int MAX_CANDIDATES = 1000;
+
+    private final ItemRepository itemRepository;
+    private final PostRepository postRepository;
+
+    private final InvertedIndex itemIndex = new InvertedIndex();
+    private final InvertedIndex postIndex = new InvertedIndex();
+
+    // 재구성 도중 삭제된 문서가 다시 색인되지 않도록 기록
+    private final Set<Long> removedItemsDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final Set<Long> removedPostsDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean ready = false;
+
+
+    // 애플리케이션 시작 시 DB에서 전체 색인 재구성
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+
+        Long lastItemId = 0L;
+        List<SearchDocument> itemDocs;
+        do {
+            itemDocs = itemRepository.findSearchDocumentsAfter(lastItemId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (SearchDocument doc : itemDocs) {
+                if (!removedItemsDuringRebuild.contains(doc.id())) {
+                    itemIndex.putIfAbsent(doc.id(), termFrequencies(doc.title(), doc.body()), doc.categoryName());
+                }
+                lastItemId = doc.id();
+            }
+        } while (itemDocs.size() == REBUILD_BATCH_SIZE);
+
+        Long lastPostId = 0L;
+        List<SearchDocument> postDocs;
+        do {
+            postDocs = postRepository.findSearchDocumentsAfter(lastPostId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (SearchDocument doc : postDocs) {
+                if (!removedPostsDuringRebuild.contains(doc.id())) {
+                    postIndex.putIfAbsent(doc.id(),
+                            termFrequencies(doc.title(), NGramTokenizer.stripHtml(doc.body())), doc.categoryName());
+                }
+                lastPostId = doc.id();
+            }
+        } while (postDocs.size() == REBUILD_BATCH_SIZE);
+
+        ready = true;
+        removedItemsDuringRebuild.clear();
+        removedPostsDuringRebuild.clear();
+
+        logger.info("검색 인덱스 재구성 완료 - 상품 {}건, 게시글 {}건 ({}ms)",
+                itemIndex.size(), postIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    // 재구성이 끝나기 전에는 기존 LIKE 검색을 사용
+    public boolean isReady() {
+        return ready;
+    }
+
+
+    // ===== 증분 색인 (트랜잭션 커밋 후 반영) =====
+
+    public void indexItem(Item item) {
+        Long itemId = item.getItemId();
+        Map<String, Integer> terms = termFrequencies(item.getItemName(), item.getDescription());
+        String categoryName = item.getCategory() != null ? item.getCategory().getCategoryName() : null;
+        afterCommit(() -> itemIndex.put(itemId, terms, categoryName));
+    }
+
+    public void removeItem(Long itemId) {
+        afterCommit(() -> {
+            if (!ready) {
+                removedItemsDuringRebuild.add(itemId);
+            }
+            itemIndex.remove(itemId);
+        });
+    }
+
+    public void indexPost(Post post) {
+        Long postId = post.getPostId();
+        Map<String, Integer> terms = termFrequencies(post.getTitle(), NGramTokenizer.stripHtml(post.getContent()));
+        String categoryName = post.getPostCategory() != null ? post.getPostCategory().getCategoryName() : null;
+        afterCommit(() -> postIndex.put(postId, terms, categoryName));
+    }
+
+    public void removePost(Long postId) {
+        afterCommit(() -> {
+            if (!ready) {
+                removedPostsDuringRebuild.add(postId);
+            }
+            postIndex.remove(postId);
+        });
+    }
+
+
+    // 카테고리 이름 변경 - 해당 카테고리 문서들의 색인된 카테고리 이름을 커밋 후 교체
+    public void renameItemCategory(Long categoryId, String categoryName) {
+        List<Long> itemIds = itemRepository.findItemIdsByCategoryId(categoryId);
+        afterCommit(() -> itemIndex.updateCategory(itemIds, categoryName));
+    }
+
+    public void renamePostCategory(Long categoryId, String categoryName) {
+        List<Long> postIds = postRepository.findPostIdsByCategoryId(categoryId);
+        afterCommit(() -> postIndex.updateCategory(postIds, categoryName));
+    }
+
+
+    // ===== 검색 =====
+
+    // 관련도순 상품 id 목록 (category가 null이면 전체)
+    public List<Long> searchItemIds(String keyword, String categoryName, int limit) {
+        return itemIndex.search(queryTerms(keyword), emptyToNull(categoryName), limit);
+    }
+
+    // 관련도순 게시글 id 목록 (category가 null이면 전체)
+    public List<Long> searchPostIds(String keyword, String categoryName, int limit) {
+        return postIndex.search(queryTerms(keyword), emptyToNull(categoryName), limit);
+    }
+
+    // 관련도순 id 목록에서 현재 페이지만 잘라 조회한 뒤 원래 순서대로 정렬
+    public static <T> Slice<T> toRelevanceSlice(List<Long> rankedIds, Pageable pageable,
+                                                Function<List<Long>, List<T>> loader, Function<T, Long> idGetter) {
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(from, to);
+
+        if (pageIds.isEmpty()) {
+            return new SliceImpl<>(Collections.emptyList(), pageable, false);
+        }
+
+        Map<Long, T> loaded = loader.apply(pageIds).stream()
+                .collect(Collectors.toMap(idGetter, Function.identity()));
+        List<T> content = pageIds.stream()
+                .map(loaded::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new SliceImpl<>(content, pageable, to < rankedIds.size());
+    }
+
+
+    // 검색어 토큰 (2글자 이상 단어는 bigram, 1글자 단어는 unigram 색인에서 그대로 조회)
+    private List<String> queryTerms(String keyword) {
+        return NGramTokenizer.tokenize(keyword);
+    }
+
+    private Map<String, Integer> termFrequencies(String title, String body) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addTerms(frequencies, title, TITLE_WEIGHT);
+        addTerms(frequencies, body, BODY_WEIGHT);
+        return frequencies;
+    }
+
+    // bigram + unigram (1글자 단어 토큰은 unigram과 같으므로 bigram만 따로 추가)
+    private void addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        for (String token : NGramTokenizer.tokenize(text)) {
+            if (token.length() > 1) {
+                frequencies.merge(token, weight, Integer::sum);
+            }
+        }
+        for (String token : NGramTokenizer.unigrams(text)) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    private String emptyToNull(String value) {
+        return (value == null || value.isEmpty()) ? null : value;
+    }
+}
@@ -23,6 +23,8 @@ public class SortService {
 
     private Sort getItemSort(String sortOption) {
         switch (sortOption.toLowerCase()) {
+            case "relevance":
+                return Sort.unsorted(); // 검색 관련도순 (검색 인덱스 점수)
             case "popular":
                 return Sort.by(Sort.Direction.DESC, "favoriteCount");
             case "lowprice":
@@ -37,9 +39,11 @@ public class SortService {
 
     private Sort getPostSort(String sortOption) {
         switch (sortOption.toLowerCase()) {
-            case "mostHitCount":
+            case "relevance":
+                return Sort.unsorted(); // 검색 관련도순 (검색 인덱스 점수)
+            case "mosthitcount":
                 return Sort.by(Sort.Direction.DESC, "hitCount");
-            case "mostlikeCount":
+            case "mostlikecount":
                 return Sort.by(Sort.Direction.DESC, "likeCount");
             case "latest":
             default:
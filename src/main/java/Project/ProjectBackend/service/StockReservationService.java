@@ -0,0 +1,391 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.repository.ItemRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// 주문서 작성 중인 구매자를 위한 재고 임시 확보 (메모리 예약 테이블)
+// 예약은 DB에 쓰지 않고, 주문으로 전환될 때만 item.stock_quantity를 조건부 UPDATE로 차감한다.
+// 가용 재고 = DB 재고(메모리 캐시) - 유효한 예약 수량
+// DB 재고는 호출자(주문) 트랜잭션과 별도의 새 트랜잭션에서, 상품 잠금을 잡기 전에 읽는다.
+// (주문 트랜잭션은 REPEATABLE READ라 트랜잭션 시작 시점의 재고가 보일 수 있고, 잠금 안에서 DB를 기다리지 않기 위함)
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockReservationService.class);
+
+    private final ItemRepository itemRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${stock-reservation.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    // 예약이 없는 상품의 재고 캐시를 유지하는 시간
+    @Value("${stock-reservation.idle-seconds:60}")
+    private long idleSeconds;
+
+    // 회원 한 명이 한 상품에 대해 동시에 예약해 둘 수 있는 최대 수량 (한 명이 재고를 모두 잡아두는 것 방지)
+    @Value("${stock-reservation.max-quantity-per-member:10}")
+    private int maxQuantityPerMember;
+
+    // 재고 적재용 읽기 전용 트랜잭션 (항상 새 트랜잭션)
+    private TransactionTemplate stockLoader;
+
+    private final Map<Long, ItemStock> stocks = new ConcurrentHashMap<>();
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        stockLoader = new TransactionTemplate(transactionManager);
+        stockLoader.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        stockLoader.setReadOnly(true);
+    }
+
+
+    // ===== 조회 =====
+
+    // 현재 예약 가능한 수량 (캐시가 있으면 DB 조회 없음)
+    public int getAvailableQuantity(Long itemId) {
+        return withStock(itemId, ItemStock::available);
+    }
+
+
+    // ===== 예약 / 해제 =====
+
+    // 주문서 작성 동안의 예약 (회원별 상품당 예약 수량 한도 적용)
+    public Reservation hold(Long itemId, String memberId, int count) {
+        return reserve(itemId, memberId, count, true);
+    }
+
+    // 주문 생성 시 즉시 확보 (같은 트랜잭션에서 바로 주문으로 전환되므로 한도 없음)
+    public Reservation reserve(Long itemId, String memberId, int count) {
+        return reserve(itemId, memberId, count, false);
+    }
+
+    private Reservation reserve(Long itemId, String memberId, int count, boolean limited) {
+        if (count < 1) {
+            throw new IllegalArgumentException("상품 수량은 최소 1개 이상이어야 합니다.");
+        }
+        if (limited && count > maxQuantityPerMember) {
+            throw new IllegalArgumentException("한 상품은 최대 " + maxQuantityPerMember + "개까지 예약할 수 있습니다.");
+        }
+
+        return withStock(itemId, stock -> {
+            if (limited && stock.heldBy(memberId) + count > maxQuantityPerMember) {
+                throw new IllegalArgumentException("한 상품은 최대 " + maxQuantityPerMember + "개까지 예약할 수 있습니다.");
+            }
+            if (stock.available() < count) {
+                throw new IllegalArgumentException("요청한 수량이 상품 재고를 초과합니다.");
+            }
+            Reservation reservation = new Reservation(UUID.randomUUID().toString(), itemId, memberId, count,
+                    Instant.now().plusSeconds(ttlSeconds), stock.generation);
+            stock.add(reservation);
+            reservations.put(reservation.getReservationId(), reservation);
+            return reservation;
+        });
+    }
+
+    // 본인 예약 취소
+    public void cancel(String reservationId, String memberId) {
+        Reservation reservation = reservations.get(reservationId);
+        if (reservation == null || !reservation.getMemberId().equals(memberId)) {
+            throw new IllegalArgumentException("예약이 존재하지 않거나 만료되었습니다.");
+        }
+        if (reservation.converting) {
+            throw new IllegalArgumentException("주문 처리 중인 예약입니다.");
+        }
+        release(reservation);
+    }
+
+
+    // ===== 주문 전환 =====
+
+    // 주문에 사용할 예약을 확보 (동시에 같은 예약으로 두 번 주문할 수 없음)
+    public Reservation claim(String reservationId, String memberId, Long itemId) {
+        Reservation reservation = reservations.get(reservationId);
+        if (reservation == null || !reservation.getMemberId().equals(memberId)
+                || !reservation.getItemId().equals(itemId)) {
+            throw new IllegalArgumentException("예약이 존재하지 않거나 만료되었습니다.");
+        }
+
+        ItemStock stock = stockOf(itemId);
+        synchronized (stock) {
+            if (reservation.converting || reservation.isExpired(Instant.now())
+                    || !reservations.containsKey(reservationId)) {
+                throw new IllegalArgumentException("예약이 존재하지 않거나 만료되었습니다.");
+            }
+            reservation.converting = true;
+            return reservation;
+        }
+    }
+
+    // 주문 트랜잭션 종료 시 예약 정리
+    // - 커밋: 예약 제거 + 캐시된 재고에서 주문 수량 차감 (DB를 다시 읽지 않음)
+    // - 롤백: releaseOnRollback이면 예약 제거, 아니면 만료 시각까지 다시 사용 가능
+    public void completeWithTransaction(Reservation reservation, boolean releaseOnRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            convert(reservation);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    convert(reservation);
+                } else {
+                    // DB 차감 실패였을 수 있으므로 재고 캐시도 다시 읽도록 폐기
+                    if (releaseOnRollback) {
+                        release(reservation);
+                    } else {
+                        reservation.converting = false;
+                    }
+                    evict(reservation.getItemId());
+                }
+            }
+        });
+    }
+
+    // DB 재고가 직접 바뀐 경우 (판매자 수정, 주문 취소 등) 커밋 후 캐시 폐기
+    public void evictAfterCommit(Long itemId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(itemId);
+                }
+            });
+        } else {
+            evict(itemId);
+        }
+    }
+
+
+    // ===== 만료 정리 =====
+
+    // 만료된 예약 해제, 오래 쓰이지 않은 재고 캐시 제거 (stock-reservation.sweep-interval-ms, 기본 1초)
+    @Scheduled(fixedDelayString = "${stock-reservation.sweep-interval-ms:1000}")
+    public void sweep() {
+        Instant now = Instant.now();
+        int expired = 0;
+
+        for (Reservation reservation : reservations.values()) {
+            if (!reservation.converting && reservation.isExpired(now)) {
+                ItemStock stock = stocks.get(reservation.getItemId());
+                if (stock == null) {
+                    reservations.remove(reservation.getReservationId());
+                    continue;
+                }
+                synchronized (stock) {
+                    if (!reservation.converting && reservations.remove(reservation.getReservationId(), reservation)) {
+                        stock.remove(reservation);
+                        expired++;
+                    }
+                }
+            }
+        }
+
+        Instant idleBefore = now.minusSeconds(idleSeconds);
+        for (Iterator<Map.Entry<Long, ItemStock>> it = stocks.entrySet().iterator(); it.hasNext(); ) {
+            ItemStock stock = it.next().getValue();
+            synchronized (stock) {
+                if (stock.held == 0 && stock.lastAccess.isBefore(idleBefore)) {
+                    stock.removed = true;
+                    it.remove();
+                }
+            }
+        }
+
+        if (expired > 0) {
+            logger.debug("만료된 재고 예약 {}건 해제", expired);
+        }
+    }
+
+    // 상품별 예약 현황 (모니터링용)
+    public Map<Long, Integer> heldQuantities() {
+        Map<Long, Integer> held = new HashMap<>();
+        stocks.forEach((itemId, stock) -> {
+            if (stock.held > 0) {
+                held.put(itemId, stock.held);
+            }
+        });
+        return held;
+    }
+
+
+    private void convert(Reservation reservation) {
+        ItemStock stock = stocks.get(reservation.getItemId());
+        if (stock == null) {
+            reservations.remove(reservation.getReservationId());
+            return;
+        }
+        synchronized (stock) {
+            if (reservations.remove(reservation.getReservationId(), reservation)) {
+                stock.remove(reservation);
+            }
+            stock.sold(reservation);
+        }
+    }
+
+    private void release(Reservation reservation) {
+        ItemStock stock = stocks.get(reservation.getItemId());
+        if (stock == null) {
+            reservations.remove(reservation.getReservationId());
+            return;
+        }
+        synchronized (stock) {
+            if (reservations.remove(reservation.getReservationId(), reservation)) {
+                stock.remove(reservation);
+            }
+        }
+    }
+
+    private void evict(Long itemId) {
+        ItemStock stock = stocks.get(itemId);
+        if (stock != null) {
+            synchronized (stock) {
+                stock.invalidate();
+            }
+        }
+    }
+
+    // 재고가 적재된 캐시 항목의 잠금 안에서 action 실행
+    // stockOf가 돌려준 뒤 잠금을 다시 잡기 전에 캐시가 폐기/제거되었으면 다시 적재
+    private <T> T withStock(Long itemId, Function<ItemStock, T> action) {
+        while (true) {
+            ItemStock stock = stockOf(itemId);
+            synchronized (stock) {
+                if (stock.removed || stock.dbStock == null) {
+                    continue;
+                }
+                stock.touch();
+                return action.apply(stock);
+            }
+        }
+    }
+
+    // 재고 캐시 항목 (정리 중 제거된 항목이면 새로 만듦)
+    // DB 재고는 잠금 밖에서 읽고, 읽는 동안 캐시가 폐기되었으면 읽은 값을 버리고 다시 읽음
+    // 돌려준 뒤에는 잠금이 풀려 있으므로 dbStock을 읽는 쪽은 withStock 사용
+    private ItemStock stockOf(Long itemId) {
+        while (true) {
+            ItemStock stock = stocks.computeIfAbsent(itemId, id -> new ItemStock());
+            long generation;
+            synchronized (stock) {
+                if (stock.removed) {
+                    continue;
+                }
+                if (stock.dbStock != null) {
+                    stock.touch();
+                    return stock;
+                }
+                generation = stock.generation;
+            }
+
+            int loaded = loadStock(itemId);
+            synchronized (stock) {
+                if (stock.removed || stock.generation != generation) {
+                    continue;
+                }
+                if (stock.dbStock == null) {
+                    stock.dbStock = loaded;
+                }
+                stock.touch();
+                return stock;
+            }
+        }
+    }
+
+    // 호출자 트랜잭션의 스냅샷이 아닌 최신 커밋 재고
+    private int loadStock(Long itemId) {
+        return stockLoader.execute(status -> itemRepository.findStockQuantityByItemId(itemId)
+                .orElseThrow(() -> new IllegalArgumentException("해당 상품이 존재하지 않습니다.")));
+    }
+
+
+    // 상품별 재고 캐시 + 예약 합계 (해당 객체로 동기화)
+    private static class ItemStock {
+        private Integer dbStock;   // null이면 다음 접근 시 DB에서 다시 읽음
+        private long generation;   // 캐시를 폐기할 때마다 증가 (폐기 전에 읽기 시작한 값은 사용하지 않음)
+        private int held;          // 유효한 예약 수량 합계
+        private final Map<String, Integer> heldByMember = new HashMap<>();
+        private Instant lastAccess = Instant.now();
+        private boolean removed;
+
+        int available() {
+            return Math.max(0, dbStock - held);
+        }
+
+        int heldBy(String memberId) {
+            return heldByMember.getOrDefault(memberId, 0);
+        }
+
+        void add(Reservation reservation) {
+            held += reservation.getCount();
+            heldByMember.merge(reservation.getMemberId(), reservation.getCount(), Integer::sum);
+        }
+
+        void remove(Reservation reservation) {
+            held -= reservation.getCount();
+            heldByMember.computeIfPresent(reservation.getMemberId(),
+                    (memberId, count) -> count > reservation.getCount() ? count - reservation.getCount() : null);
+        }
+
+        void invalidate() {
+            dbStock = null;
+            generation++;
+        }
+
+        // 주문으로 전환된 수량을 캐시에서 차감
+        // 예약 이후 캐시를 다시 읽었다면 이미 차감된 값일 수 있으므로 폐기하고 다시 읽음
+        void sold(Reservation reservation) {
+            if (dbStock != null && generation == reservation.stockGeneration) {
+                dbStock = Math.max(0, dbStock - reservation.getCount());
+            } else {
+                invalidate();
+            }
+        }
+
+        void touch() {
+            lastAccess = Instant.now();
+        }
+    }
+
+    // 재고 예약 (메모리에만 존재)
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Reservation {
+        private final String reservationId;
+        private final Long itemId;
+        private final String memberId;
+        private final int count;
+        private final Instant expiresAt;
+        @Getter(AccessLevel.NONE)
+        private final long stockGeneration; // 예약할 때의 재고 캐시 세대
+        private volatile boolean converting;
+
+        boolean isExpired(Instant now) {
+            return now.isAfter(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.entity.StoredObject;
+import Project.ProjectBackend.exception.ImageSaveException;
+import Project.ProjectBackend.repository.StoredObjectRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// 내용 기준 이미지 저장 (stored_object)
+// - 업로드 파일의 SHA-256을 먼저 계산해서 같은 내용이 이미 있으면 S3 PUT 없이 기존 객체를 참조
+// - 참조 수는 업로드 시점에 잡고(트랜잭션 밖), Image 행이 삭제될 때 호출한 트랜잭션 안에서 해제
+// - 참조가 0이 되면 행을 지우고 호출한 쪽에서 S3 객체를 삭제 대기열에 등록
+// 참조가 남아 있는 행은 지워지지 않으므로 acquire에 성공한 객체는 S3에 남아 있음이 보장됨
+@Service
+@RequiredArgsConstructor
+public class StoredObjectService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoredObjectService.class);
+
+    private static final String INSERT_STORED_OBJECT =
+            "INSERT INTO stored_object (content_hash, image_path, file_size, ref_count, created_at) VALUES (?, ?, ?, 1, ?)";
+
+    private final StoredObjectRepository storedObjectRepository;
+    private final S3Uploader s3Uploader;
+    private final S3DeletionQueueService s3DeletionQueueService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // 저장된 객체 (contentHash가 null이면 참조 관리 없이 올린 일반 객체)
+    public record StoredImage(String imagePath, String contentHash) {
+    }
+
+
+    // 파일 저장 (트랜잭션 밖에서 호출) - 반환된 객체는 참조 1개가 잡힌 상태이므로
+    // Image 행 저장이 실패하면 release로 되돌려야 함
+    public StoredImage store(MultipartFile file, String dir) {
+        String contentHash = sha256(file);
+
+        String existingPath = acquire(contentHash);
+        if (existingPath != null) {
+            logger.debug("같은 내용의 이미지가 있어 업로드를 건너뜁니다: {} -> {}", file.getOriginalFilename(), existingPath);
+            return new StoredImage(existingPath, contentHash);
+        }
+
+        String imagePath = s3Uploader.upload(file, dir);
+        try {
+            if (insert(contentHash, imagePath, file.getSize())) {
+                return new StoredImage(imagePath, contentHash);
+            }
+
+            // 같은 파일이 동시에 먼저 등록됨 - 그 객체를 참조하고 방금 올린 객체는 삭제
+            String winnerPath = acquire(contentHash);
+            if (winnerPath != null) {
+                s3DeletionQueueService.enqueue(List.of(imagePath));
+                return new StoredImage(winnerPath, contentHash);
+            }
+            // 먼저 등록된 객체가 그 사이 지워짐 - 참조 관리 없이 방금 올린 객체를 사용
+            return new StoredImage(imagePath, null);
+        } catch (RuntimeException e) {
+            try {
+                s3Uploader.delete(imagePath);
+            } catch (Exception deleteError) {
+                logger.warn("S3 객체 정리 실패: {}", imagePath, deleteError);
+            }
+            throw e;
+        }
+    }
+
+    // 참조 해제 (호출한 트랜잭션 안에서) - 마지막 참조가 지워진 해시 반환
+    // 여러 트랜잭션이 같은 행들을 잠글 때 교착이 생기지 않도록 해시 순서대로 처리
+    public Set<String> release(Map<String, Integer> referenceCounts) {
+        Set<String> unreferenced = new HashSet<>();
+        for (Map.Entry<String, Integer> entry : new TreeMap<>(referenceCounts).entrySet()) {
+            storedObjectRepository.release(entry.getKey(), entry.getValue());
+            if (storedObjectRepository.deleteIfUnreferenced(entry.getKey()) == 1) {
+                unreferenced.add(entry.getKey());
+            }
+        }
+        return unreferenced;
+    }
+
+
+    // 참조를 잡고 객체 경로 반환 (없으면 null)
+    private String acquire(String contentHash) {
+        return transactionTemplate.execute(status -> storedObjectRepository.acquire(contentHash) == 1
+                ? storedObjectRepository.findById(contentHash).map(StoredObject::getImagePath).orElse(null)
+                : null);
+    }
+
+    // 새 객체 등록 (같은 해시가 이미 있으면 false)
+    private boolean insert(String contentHash, String imagePath, long fileSize) {
+        try {
+            jdbcTemplate.update(INSERT_STORED_OBJECT, contentHash, imagePath, fileSize, Timestamp.valueOf(LocalDateTime.now()));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    // 업로드 파일을 버퍼 단위로 읽으며 해시 계산 (파일 전체를 메모리에 올리지 않음)
+    private String sha256(MultipartFile file) {
+        try (InputStream in = file.getInputStream()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new ImageSaveException("이미지 파일을 읽을 수 없습니다: " + file.getOriginalFilename(), e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
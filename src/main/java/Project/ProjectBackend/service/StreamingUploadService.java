@@ -0,0 +1,94 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.exception.ImageSaveException;
+import Project.ProjectBackend.image.ImageSignature;
+import Project.ProjectBackend.upload.MultipartStreamReader;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// 요청 본문을 그대로 S3로 흘려보내는 이미지 업로드
+// - multipart 본문을 파트 순서대로 읽으며 파일 파트마다 바로 S3에 업로드 (임시 파일/파일 전체 버퍼링 없음)
+// - 파일 앞부분(매직 넘버)으로 형식을 먼저 확인하므로 이미지가 아니면 S3에 아무것도 올리지 않음
+// - 큰 파일은 S3 multipart 업로드로 cloud.aws.s3.stream.part-size(기본 5MB)씩 전송
+// - 모든 파일을 올린 뒤 서명 URL 업로드의 확정 단계와 같은 방식으로 대상에 추가
+@Service
+@RequiredArgsConstructor
+public class StreamingUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingUploadService.class);
+
+    // S3 multipart 업로드의 최소 파트 크기 (마지막 파트 제외)
+    private static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    private final S3Uploader s3Uploader;
+    private final ImageService imageService;
+    private final PresignedUploadService presignedUploadService;
+
+    @Value("${cloud.aws.s3.stream.part-size:5242880}")
+    private int partSize;
+
+    // 요청 본문의 파일들을 업로드하고 대상에 추가, 저장된 이미지 경로 반환
+    public List<String> upload(String memberId, String folder, Long targetId,
+                               String contentType, InputStream body) {
+        String dir = presignedUploadService.dirOf(folder);
+        String boundary = MultipartStreamReader.boundaryOf(contentType);
+        if (boundary == null) {
+            throw new IllegalArgumentException("multipart/form-data 요청만 업로드할 수 있습니다.");
+        }
+        int maxFiles = presignedUploadService.maxFilesOf(folder);
+
+        List<ImageService.UploadedImage> uploaded = new ArrayList<>();
+        try {
+            MultipartStreamReader reader = new MultipartStreamReader(body, boundary);
+            MultipartStreamReader.Part part;
+            while ((part = reader.nextPart()) != null) {
+                // 일반 필드와 비어 있는 파일 입력은 건너뜀
+                if (part.fileName() == null || part.fileName().isEmpty()) {
+                    continue;
+                }
+                if (uploaded.size() == maxFiles) {
+                    throw new IllegalArgumentException("한 번에 업로드할 수 있는 파일은 최대 " + maxFiles + "개입니다.");
+                }
+                uploaded.add(store(part, dir));
+            }
+        } catch (IOException e) {
+            imageService.discardUploaded(uploaded);
+            throw new ImageSaveException("업로드 요청을 읽는 중 오류가 발생했습니다.", e);
+        } catch (RuntimeException e) {
+            imageService.discardUploaded(uploaded);
+            throw e;
+        }
+
+        if (uploaded.isEmpty()) {
+            throw new IllegalArgumentException("업로드할 파일이 없습니다.");
+        }
+        logger.debug("스트리밍 업로드 {}건 완료 - {} {}", uploaded.size(), folder, targetId);
+        return presignedUploadService.attachUploaded(memberId, folder, targetId, uploaded);
+    }
+
+    // 파트 하나를 S3로 전송 (Content-Type은 클라이언트 값이 아니라 매직 넘버로 판별한 값 사용)
+    private ImageService.UploadedImage store(MultipartStreamReader.Part part, String dir) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(part.body(), ImageSignature.HEADER_LENGTH);
+        byte[] header = in.readNBytes(ImageSignature.HEADER_LENGTH);
+        String contentType = ImageSignature.detect(header);
+        if (contentType == null) {
+            throw new IllegalArgumentException("허용되지 않는 이미지 형식입니다: " + part.fileName());
+        }
+        in.unread(header);
+
+        String key = dir + "/" + UUID.randomUUID() + "." + ImageSignature.extensionOf(contentType);
+        long size = s3Uploader.uploadStream(in, key, contentType,
+                Math.max(partSize, MIN_PART_SIZE), presignedUploadService.getMaxFileSize());
+        return new ImageService.UploadedImage(s3Uploader.urlOf(key), part.fileName(), size, null);
+    }
+}
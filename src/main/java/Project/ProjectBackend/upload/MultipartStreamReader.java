@@ -0,0 +1,267 @@
+package Project.ProjectBackend.upload;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// multipart/form-data 본문을 앞에서부터 파트 단위로 읽는 파서
+// 서블릿 컨테이너의 multipart 처리(임시 파일/메모리에 파트 전체 저장) 없이 요청 본문을 직접 읽으며,
+// 파트 내용은 고정 크기 버퍼 하나로 흘려보내므로 파일 크기와 관계없이 메모리 사용량이 일정하다.
+// 파트는 순서대로만 읽을 수 있고, 다음 파트로 넘어가면 이전 파트의 남은 내용은 버려진다.
+// 파일이 아닌 파트(일반 필드)는 크기와 개수를 제한해 필드로 본문을 끝없이 보내는 요청을 차단한다.
+public final class MultipartStreamReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // 파트 헤더 전체 최대 크기 (헤더를 끝없이 보내는 요청 차단)
+    private static final int MAX_HEADER_SIZE = 8 * 1024;
+
+    // 일반 필드 파트 하나의 최대 크기 / 최대 개수
+    static final int MAX_FIELD_SIZE = 64 * 1024;
+    static final int MAX_FIELD_COUNT = 32;
+
+    private final InputStream in;
+    private final byte[] delimiter; // CRLF + "--" + boundary
+    private final byte[] buffer;
+    private int head; // 다음에 읽을 위치
+    private int tail; // 버퍼에 채워진 데이터의 끝
+    private boolean finished;
+    private int fieldCount;
+    private PartInputStream current;
+
+    public MultipartStreamReader(InputStream in, String boundary) {
+        if (boundary == null || boundary.isEmpty() || boundary.length() > 70) {
+            throw new IllegalArgumentException("multipart boundary가 올바르지 않습니다.");
+        }
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buffer = new byte[BUFFER_SIZE];
+        // 본문 첫 경계 앞에는 CRLF가 없으므로 채워 넣고, 경계 앞부분(preamble)은 첫 파트처럼 건너뜀
+        buffer[0] = '\r';
+        buffer[1] = '\n';
+        this.tail = 2;
+        this.current = new PartInputStream(MAX_FIELD_SIZE);
+    }
+
+    // Content-Type 헤더의 boundary 값 (multipart/form-data가 아니면 null)
+    public static String boundaryOf(String contentType) {
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/form-data")) {
+            return null;
+        }
+        return parameters(contentType).get("boundary");
+    }
+
+    // 다음 파트 (더 없으면 null)
+    public Part nextPart() throws IOException {
+        if (finished) {
+            return null;
+        }
+        current.skipRemaining();
+
+        // 경계 뒤가 "--"면 본문 끝, 아니면 줄 끝까지(공백만 허용) 읽고 헤더 시작
+        while (tail - head < 2) {
+            if (fill() == -1) {
+                throw new IOException("multipart 본문이 경계 직후에 끝났습니다.");
+            }
+        }
+        if (buffer[head] == '-' && buffer[head + 1] == '-') {
+            finished = true;
+            return null;
+        }
+        if (!readLine(new int[]{0}).isBlank()) {
+            throw new IOException("multipart 경계 뒤에 잘못된 내용이 있습니다.");
+        }
+
+        Map<String, String> headers = new HashMap<>();
+        int[] headerSize = {0};
+        String line;
+        while (!(line = readLine(headerSize)).isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+            }
+        }
+
+        Part part = new Part(headers, null);
+        long limit = Long.MAX_VALUE;
+        if (part.fileName() == null || part.fileName().isEmpty()) {
+            if (++fieldCount > MAX_FIELD_COUNT) {
+                throw new IOException("multipart 필드가 너무 많습니다.");
+            }
+            limit = MAX_FIELD_SIZE;
+        }
+        current = new PartInputStream(limit);
+        return new Part(headers, current);
+    }
+
+
+    // 한 줄 읽기 (CRLF 제외, 파일명에 UTF-8이 그대로 오는 브라우저가 많으므로 UTF-8로 해석)
+    private String readLine(int[] size) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        while (true) {
+            if (head == tail && fill() == -1) {
+                throw new IOException("multipart 본문이 헤더 도중에 끝났습니다.");
+            }
+            byte b = buffer[head++];
+            if (++size[0] > MAX_HEADER_SIZE) {
+                throw new IOException("multipart 파트 헤더가 너무 깁니다.");
+            }
+            if (b == '\n') {
+                byte[] bytes = line.toByteArray();
+                int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+                return new String(bytes, 0, length, StandardCharsets.UTF_8);
+            }
+            line.write(b);
+        }
+    }
+
+    // 남은 데이터를 버퍼 앞으로 옮기고 뒤를 채움 (읽은 바이트 수, 본문 끝이면 -1)
+    private int fill() throws IOException {
+        if (head > 0) {
+            System.arraycopy(buffer, head, buffer, 0, tail - head);
+            tail -= head;
+            head = 0;
+        }
+        int read = in.read(buffer, tail, buffer.length - tail);
+        if (read > 0) {
+            tail += read;
+        }
+        return read;
+    }
+
+    // [head, tail) 안에서 경계 위치 (없으면 -1)
+    private int indexOfDelimiter() {
+        outer:
+        for (int i = head; i <= tail - delimiter.length; i++) {
+            for (int j = 0; j < delimiter.length; j++) {
+                if (buffer[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    // Content-Type, Content-Disposition 등의 "; 이름=값" 목록 (따옴표 안의 ; 는 구분자로 보지 않음)
+    private static Map<String, String> parameters(String header) {
+        Map<String, String> parameters = new HashMap<>();
+        int start = header.indexOf(';');
+        while (start >= 0 && start < header.length()) {
+            int end = start + 1;
+            boolean quoted = false;
+            while (end < header.length() && (quoted || header.charAt(end) != ';')) {
+                char c = header.charAt(end);
+                if (c == '\\' && quoted) {
+                    end++;
+                } else if (c == '"') {
+                    quoted = !quoted;
+                }
+                end++;
+            }
+            String parameter = header.substring(start + 1, Math.min(end, header.length()));
+            int eq = parameter.indexOf('=');
+            if (eq > 0) {
+                String value = parameter.substring(eq + 1).trim();
+                if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                    value = value.substring(1, value.length() - 1).replace("\\\"", "\"").replace("\\\\", "\\");
+                }
+                parameters.put(parameter.substring(0, eq).trim().toLowerCase(Locale.ROOT), value);
+            }
+            start = end;
+        }
+        return parameters;
+    }
+
+
+    // 파트 하나 (헤더 이름은 소문자)
+    public record Part(Map<String, String> headers, InputStream body) {
+
+        // form 필드 이름
+        public String name() {
+            return disposition().get("name");
+        }
+
+        // 파일 파트의 원본 파일명 (일반 필드면 null)
+        public String fileName() {
+            return disposition().get("filename");
+        }
+
+        public String contentType() {
+            return headers.get("content-type");
+        }
+
+        private Map<String, String> disposition() {
+            String header = headers.get("content-disposition");
+            return header != null ? parameters(header) : Map.of();
+        }
+    }
+
+    // 다음 경계 직전까지만 읽히는 파트 본문 (limit바이트를 넘으면 예외)
+    private final class PartInputStream extends InputStream {
+
+        private final long limit;
+        private long consumed;
+        private boolean done;
+
+        private PartInputStream(long limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            int read = read(one, 0, 1);
+            return read == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (done || current != this) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            while (true) {
+                int index = indexOfDelimiter();
+                // 경계가 없으면 경계의 앞부분일 수 있는 마지막 (경계 길이 - 1)바이트는 남겨둠
+                int safeEnd = index >= 0 ? index : Math.max(head, tail - (delimiter.length - 1));
+                if (safeEnd > head) {
+                    int count = Math.min(len, safeEnd - head);
+                    consumed += count;
+                    if (consumed > limit) {
+                        throw new IOException("multipart 필드가 너무 큽니다.");
+                    }
+                    System.arraycopy(buffer, head, b, off, count);
+                    head += count;
+                    return count;
+                }
+                if (index >= 0) {
+                    head += delimiter.length;
+                    done = true;
+                    return -1;
+                }
+                if (fill() == -1) {
+                    throw new IOException("multipart 본문이 경계 없이 끝났습니다.");
+                }
+            }
+        }
+
+        @Override
+        public int available() {
+            return done ? 0 : Math.max(0, tail - head - delimiter.length);
+        }
+
+        private void skipRemaining() throws IOException {
+            byte[] skip = new byte[8192];
+            while (read(skip, 0, skip.length) != -1) {
+                // 버림
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package Project.ProjectBackend.dto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 커서 인코딩/디코딩과 키셋 페이징 불변식 (DB 없이 실행)
+class CursorSliceDtoTest {
+
+    private static final Sort.Order LATEST = Sort.Order.desc("postDate");
+
+    @Test
+    void cursorRoundTrip() {
+        FeedCursor cursor = new FeedCursor("postDate", "2024-05-01T10:15:30.123", 42L);
+
+        FeedCursor decoded = FeedCursor.decode(cursor.encode(), "postDate");
+
+        assertEquals("postDate", decoded.getSortProperty());
+        assertEquals("2024-05-01T10:15:30.123", decoded.getSortValue());
+        assertEquals(42L, decoded.getId());
+    }
+
+    @Test
+    void blankCursorIsFirstPage() {
+        assertNull(FeedCursor.decode(null, "postDate"));
+        assertNull(FeedCursor.decode("", "postDate"));
+        assertNull(FeedCursor.decode("   ", "postDate"));
+    }
+
+    @Test
+    void rejectsTamperedOrForeignCursor() {
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode("not base64!", "postDate"));
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode(encodeRaw("postDate|x"), "postDate"));
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode(encodeRaw("postDate|x|abc"), "postDate"));
+        // 다른 정렬로 만든 커서
+        String byHits = new FeedCursor("hitCount", "10", 1L).encode();
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode(byHits, "postDate"));
+    }
+
+    @Test
+    void sliceComputesHasNextAndCursorFromLastRow() {
+        LocalDateTime base = LocalDateTime.of(2024, 5, 1, 12, 0);
+        List<Row> rows = List.of(new Row(3L, base), new Row(2L, base), new Row(1L, base.minusDays(1)));
+
+        CursorSliceDto<Row> page = CursorSliceDto.of(rows, 2, LATEST, Row::getId);
+
+        assertTrue(page.isHasNext());
+        assertEquals(2, page.getContent().size());
+        FeedCursor next = FeedCursor.decode(page.getNextCursor(), "postDate");
+        assertEquals(2L, next.getId());
+        assertEquals(base, LocalDateTime.parse(next.getSortValue()));
+
+        CursorSliceDto<Row> last = CursorSliceDto.of(rows, 3, LATEST, Row::getId);
+        assertFalse(last.isHasNext());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void clampSizeKeepsPageSizeInRange() {
+        assertEquals(1, CursorSliceDto.clampSize(0));
+        assertEquals(1, CursorSliceDto.clampSize(-5));
+        assertEquals(20, CursorSliceDto.clampSize(20));
+        assertEquals(CursorSliceDto.MAX_SIZE, CursorSliceDto.clampSize(Integer.MAX_VALUE));
+    }
+
+    // 정렬값이 같은 행이 많아도 페이지를 넘기며 모든 행을 한 번씩, 정렬 순서대로 읽음
+    // (조회는 KeysetPredicates와 같은 조건: value < v OR (value = v AND id < id))
+    @Test
+    void keysetPagingVisitsEveryRowOnceWithTies() {
+        LocalDateTime base = LocalDateTime.of(2024, 5, 1, 0, 0);
+        List<Row> table = new ArrayList<>();
+        for (long id = 1; id <= 57; id++) {
+            // 정렬값 3종류 + 0초/나노초 포함 (문자열 변환 후 다시 읽어도 같은 값이어야 함)
+            LocalDateTime value = switch ((int) (id % 3)) {
+                case 0 -> base;
+                case 1 -> base.plusSeconds(1).plusNanos(500_000_000);
+                default -> base.plusNanos(1);
+            };
+            table.add(new Row(id, value));
+        }
+        Comparator<Row> order = Comparator.comparing(Row::getPostDate).thenComparing(Row::getId).reversed();
+        List<Row> expected = table.stream().sorted(order).toList();
+
+        List<Long> visited = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            FeedCursor feedCursor = FeedCursor.decode(cursor, "postDate");
+            int size = 10;
+            List<Row> rows = table.stream()
+                    .filter(row -> feedCursor == null || isAfter(row, feedCursor))
+                    .sorted(order)
+                    .limit(size + 1)
+                    .toList();
+            CursorSliceDto<Row> page = CursorSliceDto.of(rows, size, LATEST, Row::getId);
+            page.getContent().forEach(row -> visited.add(row.getId()));
+            cursor = page.getNextCursor();
+            assertTrue(++pages <= 6);
+        } while (cursor != null);
+
+        assertEquals(expected.stream().map(Row::getId).toList(), visited);
+    }
+
+
+    private static boolean isAfter(Row row, FeedCursor cursor) {
+        LocalDateTime value = LocalDateTime.parse(cursor.getSortValue());
+        int compared = row.getPostDate().compareTo(value);
+        return compared < 0 || (compared == 0 && row.getId() < cursor.getId());
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes());
+    }
+
+    // 목록 행 (CursorSliceDto가 getter로 정렬값을 읽음)
+    public static class Row {
+        private final Long id;
+        private final LocalDateTime postDate;
+
+        Row(Long id, LocalDateTime postDate) {
+            this.id = id;
+            this.postDate = postDate;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public LocalDateTime getPostDate() {
+            return postDate;
+        }
+    }
+}
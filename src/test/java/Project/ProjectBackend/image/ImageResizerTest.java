@@ -0,0 +1,162 @@
+package Project.ProjectBackend.image;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImageResizerTest {
+
+    @Test
+    void readsOrientationInBothByteOrders() {
+        for (int orientation : new int[]{1, 3, 6, 8}) {
+            assertEquals(orientation, ImageResizer.readExifOrientation(jpeg(exif(true, orientation))));
+            assertEquals(orientation, ImageResizer.readExifOrientation(jpeg(exif(false, orientation))));
+        }
+    }
+
+    // APP0(JFIF) 등 다른 세그먼트 뒤에 있는 APP1도 찾음
+    @Test
+    void skipsSegmentsBeforeExif() {
+        byte[] app0 = segment(0xE0, "JFIF\0\1\1\0\0\1\0\1\0\0".getBytes());
+        assertEquals(6, ImageResizer.readExifOrientation(jpeg(app0, exif(false, 6))));
+    }
+
+    @Test
+    void defaultsWhenNotJpegOrNoExif() {
+        assertEquals(1, ImageResizer.readExifOrientation(new byte[0]));
+        assertEquals(1, ImageResizer.readExifOrientation(new byte[]{(byte) 0x89, 'P', 'N', 'G'}));
+        assertEquals(1, ImageResizer.readExifOrientation(jpeg()));
+        // Exif가 아닌 APP1 (XMP)
+        assertEquals(1, ImageResizer.readExifOrientation(jpeg(segment(0xE1, "http://ns.adobe.com/xap/1.0/\0".getBytes()))));
+    }
+
+    @Test
+    void ignoresOutOfRangeOrientation() {
+        assertEquals(1, ImageResizer.readExifOrientation(jpeg(exif(true, 9))));
+        assertEquals(1, ImageResizer.readExifOrientation(jpeg(exif(false, 0))));
+    }
+
+    @Test
+    void toleratesTruncatedApp1() {
+        byte[] full = jpeg(exif(true, 6));
+        // 어느 위치에서 잘려도 예외 없이 1 또는 실제 값
+        for (int length = 0; length < full.length; length++) {
+            int orientation = ImageResizer.readExifOrientation(Arrays.copyOf(full, length));
+            assertTrue(orientation == 1 || orientation == 6, "length " + length);
+        }
+    }
+
+    @Test
+    void toleratesMalformedApp1() {
+        // 바이트 순서 표시가 II/MM이 아님
+        byte[] badByteOrder = exif(true, 6);
+        badByteOrder[6] = 'X';
+        badByteOrder[7] = 'X';
+        assertEquals(1, ImageResizer.readExifOrientation(jpeg(badByteOrder)));
+
+        // IFD0 위치가 세그먼트 밖 / 음수
+        byte[] farIfd = exif(true, 6);
+        writeInt(farIfd, 6 + 4, 0x7FFFFFF0, true);
+        assertEquals(1, ImageResizer.readExifOrientation(jpeg(farIfd)));
+        byte[] negativeIfd = exif(false, 6);
+        writeInt(negativeIfd, 6 + 4, -8, false);
+        assertEquals(1, ImageResizer.readExifOrientation(jpeg(negativeIfd)));
+
+        // 엔트리 수가 실제보다 많음
+        byte[] tooManyEntries = exif(true, 6);
+        writeShort(tooManyEntries, 6 + 8, 0xFFFF, true);
+        assertEquals(6, ImageResizer.readExifOrientation(jpeg(tooManyEntries)));
+
+        // 세그먼트 길이가 2보다 작음
+        byte[] broken = jpeg(exif(true, 6));
+        broken[4] = 0;
+        broken[5] = 1;
+        assertEquals(1, ImageResizer.readExifOrientation(broken));
+    }
+
+    // 회전 값 6(시계 방향 90도)이면 가로/세로가 바뀐 파생 이미지
+    @Test
+    void resizeAppliesOrientation() throws IOException {
+        byte[] plain = encodeJpeg(new BufferedImage(40, 20, BufferedImage.TYPE_INT_RGB));
+        // SOI 바로 뒤에 APP1 삽입
+        byte[] rotated = concat(Arrays.copyOf(plain, 2), segment(0xE1, exif(false, 6)),
+                Arrays.copyOfRange(plain, 2, plain.length));
+
+        Map<ImageResizer.Variant, byte[]> variants = ImageResizer.resize(rotated);
+
+        assertNotNull(variants);
+        BufferedImage detail = ImageIO.read(new ByteArrayInputStream(variants.get(ImageResizer.Variant.DETAIL)));
+        assertEquals(20, detail.getWidth());
+        assertEquals(40, detail.getHeight());
+    }
+
+
+    // "Exif\0\0" + TIFF 헤더 + IFD0(Orientation 엔트리 하나)
+    private static byte[] exif(boolean littleEndian, int orientation) {
+        byte[] data = new byte[6 + 8 + 2 + 12 + 4];
+        System.arraycopy("Exif\0\0".getBytes(), 0, data, 0, 6);
+        int tiff = 6;
+        data[tiff] = data[tiff + 1] = (byte) (littleEndian ? 'I' : 'M');
+        writeShort(data, tiff + 2, 42, littleEndian);
+        writeInt(data, tiff + 4, 8, littleEndian);
+        writeShort(data, tiff + 8, 1, littleEndian);
+        int entry = tiff + 10;
+        writeShort(data, entry, 0x0112, littleEndian);
+        writeShort(data, entry + 2, 3, littleEndian); // SHORT
+        writeInt(data, entry + 4, 1, littleEndian);
+        writeShort(data, entry + 8, orientation, littleEndian);
+        return data;
+    }
+
+    // SOI + APP 세그먼트들 + SOS
+    private static byte[] jpeg(byte[]... app1Payloads) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(0xFF);
+        out.write(0xD8);
+        for (byte[] payload : app1Payloads) {
+            // 이미 세그먼트 형태면 그대로
+            out.writeBytes(payload[0] == (byte) 0xFF ? payload : segment(0xE1, payload));
+        }
+        out.writeBytes(new byte[]{(byte) 0xFF, (byte) 0xDA, 0, 2});
+        return out.toByteArray();
+    }
+
+    private static byte[] segment(int marker, byte[] payload) {
+        int length = payload.length + 2;
+        return concat(new byte[]{(byte) 0xFF, (byte) marker, (byte) (length >> 8), (byte) length}, payload);
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeShort(byte[] data, int offset, int value, boolean littleEndian) {
+        data[offset + (littleEndian ? 0 : 1)] = (byte) value;
+        data[offset + (littleEndian ? 1 : 0)] = (byte) (value >> 8);
+    }
+
+    private static void writeInt(byte[] data, int offset, int value, boolean littleEndian) {
+        writeShort(data, offset + (littleEndian ? 0 : 2), value & 0xFFFF, littleEndian);
+        writeShort(data, offset + (littleEndian ? 2 : 0), (value >>> 16) & 0xFFFF, littleEndian);
+    }
+}
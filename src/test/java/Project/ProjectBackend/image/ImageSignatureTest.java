@@ -0,0 +1,55 @@
+package Project.ProjectBackend.image;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ImageSignatureTest {
+
+    @Test
+    void detectsAllowedFormats() {
+        assertEquals("image/jpeg", ImageSignature.detect(header(0xFF, 0xD8, 0xFF, 0xE0)));
+        assertEquals("image/png", ImageSignature.detect(header(0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n')));
+        assertEquals("image/webp", ImageSignature.detect(header('R', 'I', 'F', 'F', 0x24, 0, 0, 0, 'W', 'E', 'B', 'P')));
+    }
+
+    @Test
+    void rejectsBadMagicNumbers() {
+        assertNull(ImageSignature.detect("GIF89a......".getBytes(StandardCharsets.ISO_8859_1)));
+        assertNull(ImageSignature.detect("<svg xmlns=\"".getBytes(StandardCharsets.ISO_8859_1)));
+        assertNull(ImageSignature.detect("not an image".getBytes(StandardCharsets.ISO_8859_1)));
+        // PNG 시그니처 한 바이트가 다름
+        assertNull(ImageSignature.detect(header(0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, 0)));
+        // RIFF 컨테이너지만 WebP가 아님 (WAV)
+        assertNull(ImageSignature.detect(header('R', 'I', 'F', 'F', 0x24, 0, 0, 0, 'W', 'A', 'V', 'E')));
+    }
+
+    @Test
+    void rejectsTruncatedOrMissingHeader() {
+        assertNull(ImageSignature.detect(null));
+        assertNull(ImageSignature.detect(new byte[0]));
+        assertNull(ImageSignature.detect(new byte[]{(byte) 0xFF, (byte) 0xD8}));
+        assertNull(ImageSignature.detect(new byte[]{'R', 'I', 'F', 'F', 0x24, 0, 0, 0, 'W', 'E'}));
+    }
+
+    @Test
+    void extensionOfAllowedTypesOnly() {
+        assertEquals("jpg", ImageSignature.extensionOf("image/jpeg"));
+        assertEquals("png", ImageSignature.extensionOf("image/png"));
+        assertEquals("webp", ImageSignature.extensionOf("image/webp"));
+        assertNull(ImageSignature.extensionOf("image/gif"));
+        assertNull(ImageSignature.extensionOf(null));
+    }
+
+    // HEADER_LENGTH 길이로 채운 앞부분
+    private static byte[] header(int... values) {
+        byte[] bytes = new byte[ImageSignature.HEADER_LENGTH];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+}
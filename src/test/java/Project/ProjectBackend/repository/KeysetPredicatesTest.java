@@ -0,0 +1,98 @@
+package Project.ProjectBackend.repository;
+
+import Project.ProjectBackend.dto.FeedCursor;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.RETURNS_MOCKS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+// 키셋 조건이 커서 값을 정렬 컬럼 타입으로 읽고 방향에 맞는 비교를 만드는지 확인 (DB 없이 CriteriaBuilder mock 사용)
+class KeysetPredicatesTest {
+
+    private static final LocalDateTime POST_DATE = LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123_000_000);
+
+    private CriteriaBuilder cb;
+    private Root<Object> root;
+    private Path<LocalDateTime> datePath;
+    private Path<Integer> hitPath;
+    private Path<Long> idPath;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // or/and/desc 결과도 mock으로 (List.of에 null을 넣지 않도록)
+        cb = mock(CriteriaBuilder.class, RETURNS_MOCKS);
+        root = mock(Root.class);
+        datePath = mock(Path.class);
+        hitPath = mock(Path.class);
+        idPath = mock(Path.class);
+        doReturn(datePath).when(root).get("postDate");
+        doReturn(hitPath).when(root).get("hitCount");
+        doReturn(idPath).when(root).get("postId");
+        doReturn(LocalDateTime.class).when(datePath).getJavaType();
+        doReturn(Integer.class).when(hitPath).getJavaType();
+    }
+
+    @Test
+    void descendingComparesBelowCursor() {
+        FeedCursor cursor = new FeedCursor("postDate", POST_DATE.toString(), 42L);
+
+        KeysetPredicates.after(cb, root, Sort.Order.desc("postDate"), "postId", cursor);
+
+        verify(cb).lessThan(datePath, POST_DATE);
+        verify(cb).equal(datePath, POST_DATE);
+        verify(cb).lessThan(idPath, 42L);
+        verify(cb, never()).greaterThan(idPath, 42L);
+    }
+
+    @Test
+    void ascendingComparesAboveCursor() {
+        FeedCursor cursor = new FeedCursor("hitCount", "17", 9L);
+
+        KeysetPredicates.after(cb, root, Sort.Order.asc("hitCount"), "postId", cursor);
+
+        verify(cb).greaterThan(hitPath, 17);
+        verify(cb).equal(hitPath, 17);
+        verify(cb).greaterThan(idPath, 9L);
+        verify(cb, never()).lessThan(idPath, 9L);
+    }
+
+    @Test
+    void orderByAddsIdInSameDirection() {
+        KeysetPredicates.orderBy(cb, root, Sort.Order.desc("postDate"), "postId");
+
+        verify(cb).desc(datePath);
+        verify(cb).desc(idPath);
+    }
+
+    @Test
+    void rejectsCursorValueOfWrongType() {
+        FeedCursor cursor = new FeedCursor("postDate", "yesterday", 42L);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> KeysetPredicates.after(cb, root, Sort.Order.desc("postDate"), "postId", cursor));
+    }
+
+    @Test
+    void rejectsUnsupportedSortColumn() {
+        @SuppressWarnings("unchecked")
+        Path<String> titlePath = mock(Path.class);
+        doReturn(titlePath).when(root).get("title");
+        doReturn(String.class).when(titlePath).getJavaType();
+        FeedCursor cursor = new FeedCursor("title", "abc", 1L);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> KeysetPredicates.after(cb, root, Sort.Order.asc("title"), "postId", cursor));
+    }
+}
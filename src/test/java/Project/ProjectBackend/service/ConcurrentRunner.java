@@ -0,0 +1,64 @@
+package Project.ProjectBackend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntFunction;
+
+// 테스트용 동시 실행 - 작업을 모두 준비시킨 뒤 한꺼번에 시작해서 작업별 결과(또는 예외)를 모음
+final class ConcurrentRunner {
+
+    private ConcurrentRunner() {
+    }
+
+    record Outcome<T>(T value, Throwable error) {
+        boolean succeeded() {
+            return error == null;
+        }
+    }
+
+    static <T> List<Outcome<T>> run(int threads, int tasks, IntFunction<T> task) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(Math.min(threads, tasks));
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>(tasks);
+            for (int i = 0; i < tasks; i++) {
+                int index = i;
+                Callable<T> callable = () -> {
+                    ready.countDown();
+                    start.await();
+                    return task.apply(index);
+                };
+                futures.add(executor.submit(callable));
+            }
+            ready.await();
+            start.countDown();
+
+            List<Outcome<T>> outcomes = new ArrayList<>(tasks);
+            for (Future<T> future : futures) {
+                try {
+                    outcomes.add(new Outcome<>(future.get(30, TimeUnit.SECONDS), null));
+                } catch (ExecutionException e) {
+                    outcomes.add(new Outcome<>(null, e.getCause()));
+                } catch (TimeoutException e) {
+                    throw new AssertionError("동시 실행 작업이 끝나지 않았습니다.", e);
+                }
+            }
+            return outcomes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    static <T> long successes(List<Outcome<T>> outcomes) {
+        return outcomes.stream().filter(Outcome::succeeded).count();
+    }
+}
@@ -0,0 +1,144 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.entity.Coupon;
+import Project.ProjectBackend.repository.CouponRepository;
+import Project.ProjectBackend.repository.MemberCouponRepository;
+import Project.ProjectBackend.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 선착순 발급이 동시에 몰려도 한도/중복이 지켜지고, 저장 실패분이 빠짐없이 한 번씩 저장되는지 (DB 없이 실행)
+class CouponServiceTest {
+
+    private static final long COUPON_ID = 7L;
+    private static final String CODE = "FIRST100";
+
+    private JdbcTemplate jdbcTemplate;
+    private CouponService couponService;
+
+    // batchUpdate로 저장된 (회원 id) - 같은 회원이 두 번 저장되면 실패
+    private final Set<String> persisted = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean failNextPersist = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        CouponRepository couponRepository = mock(CouponRepository.class);
+        when(couponRepository.findByCouponCode(CODE)).thenReturn(Optional.of(coupon(100)));
+        MemberCouponRepository memberCouponRepository = mock(MemberCouponRepository.class);
+        when(memberCouponRepository.findMemberIdsByCouponId(COUPON_ID)).thenReturn(List.of());
+
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    if (failNextPersist.getAndSet(false)) {
+                        throw new IllegalStateException("DB 연결 실패");
+                    }
+                    Collection<Object> batch = invocation.getArgument(1);
+                    ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+                    for (Object task : batch) {
+                        PreparedStatement ps = mock(PreparedStatement.class);
+                        setter.setValues(ps, task);
+                        ArgumentCaptor<String> memberId = ArgumentCaptor.forClass(String.class);
+                        verify(ps).setString(eq(1), memberId.capture());
+                        if (!persisted.add(memberId.getValue())) {
+                            throw new AssertionError("중복 저장: " + memberId.getValue());
+                        }
+                    }
+                    return new int[0][];
+                });
+        when(couponRepository.increaseIssuedQuantity(anyLong(), anyInt())).thenReturn(1);
+
+        couponService = new CouponService(couponRepository, memberCouponRepository, mock(OrderRepository.class),
+                jdbcTemplate, new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(couponService, "flushBatchSize", 50);
+        ReflectionTestUtils.setField(couponService, "queueCapacity", 10_000);
+        couponService.init();
+    }
+
+    @Test
+    void concurrentIssuesNeverExceedLimit() throws Exception {
+        List<ConcurrentRunner.Outcome<CouponService.CouponInfo>> outcomes = ConcurrentRunner.run(32, 1000, i ->
+                couponService.issue(CODE, "member-" + i));
+
+        assertEquals(100, ConcurrentRunner.successes(outcomes));
+        assertEquals(0, couponService.getRemainingQuantity(couponService.getCoupon(CODE)));
+        outcomes.stream()
+                .filter(outcome -> !outcome.succeeded())
+                .forEach(outcome -> assertEquals(IllegalArgumentException.class, outcome.error().getClass()));
+
+        couponService.flushIssues();
+        assertEquals(100, persisted.size());
+    }
+
+    @Test
+    void sameMemberIsIssuedOnce() throws Exception {
+        List<ConcurrentRunner.Outcome<CouponService.CouponInfo>> outcomes = ConcurrentRunner.run(16, 200, i ->
+                couponService.issue(CODE, "same-member"));
+
+        assertEquals(1, ConcurrentRunner.successes(outcomes));
+        assertEquals(99, couponService.getRemainingQuantity(couponService.getCoupon(CODE)));
+    }
+
+    // 저장이 실패하면 다음 주기에 같은 분량을 다시 저장하고, 그 사이 들어온 발급도 빠짐없이 저장
+    @Test
+    void failedBatchIsRetriedWithoutLossOrDuplicates() throws Exception {
+        for (int i = 0; i < 60; i++) {
+            couponService.issue(CODE, "member-" + i);
+        }
+        failNextPersist.set(true);
+        couponService.flushIssues();
+        assertEquals(0, persisted.size());
+
+        // 재시도 대기 중에도 발급은 계속됨 (동시 flush 포함)
+        ConcurrentRunner.run(8, 40, i -> {
+            if (i % 10 == 0) {
+                couponService.flushIssues();
+                return null;
+            }
+            return couponService.issue(CODE, "late-" + i);
+        });
+        couponService.flushIssues();
+
+        assertEquals(60 + 36, persisted.size());
+    }
+
+    @Test
+    void unknownCodeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> couponService.issue("NOPE", "member"));
+    }
+
+
+    private static Coupon coupon(int totalQuantity) {
+        Coupon coupon = new Coupon();
+        ReflectionTestUtils.setField(coupon, "couponId", COUPON_ID);
+        ReflectionTestUtils.setField(coupon, "couponCode", CODE);
+        ReflectionTestUtils.setField(coupon, "discountAmount", 1000);
+        ReflectionTestUtils.setField(coupon, "totalQuantity", totalQuantity);
+        return coupon;
+    }
+}
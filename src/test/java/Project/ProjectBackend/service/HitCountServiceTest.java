@@ -0,0 +1,81 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.repository.ItemRepository;
+import Project.ProjectBackend.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 조회수 버퍼 - 증가와 반영이 동시에 일어나도 조회수를 잃거나 두 번 반영하지 않는지 (DB 없이 실행)
+// increaseHitCounts는 메모리의 조회수에 더하는 것으로 흉내냄
+class HitCountServiceTest {
+
+    private static final int ITEMS = 5;
+
+    private final Map<Long, Long> dbHits = new ConcurrentHashMap<>();
+    private final AtomicBoolean failNextUpdate = new AtomicBoolean();
+
+    private HitCountService hitCountService;
+
+    @BeforeEach
+    void setUp() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        when(itemRepository.increaseHitCounts(anyInt(), anyList())).thenAnswer(invocation -> {
+            if (failNextUpdate.compareAndSet(true, false)) {
+                throw new IllegalStateException("DB 연결 실패");
+            }
+            int delta = invocation.getArgument(0);
+            List<Long> itemIds = invocation.getArgument(1);
+            itemIds.forEach(itemId -> dbHits.merge(itemId, (long) delta, Long::sum));
+            return itemIds.size();
+        });
+        hitCountService = new HitCountService(itemRepository, mock(PostRepository.class));
+    }
+
+    @Test
+    void concurrentIncreasesAndFlushesKeepEveryHit() throws Exception {
+        failNextUpdate.set(true);
+
+        List<ConcurrentRunner.Outcome<Object>> outcomes = ConcurrentRunner.run(16, 50_000, i -> {
+            if (i % 1000 == 0) {
+                hitCountService.flush();
+            } else {
+                hitCountService.increaseItemHit((long) (i % ITEMS));
+            }
+            return null;
+        });
+        assertEquals(50_000, ConcurrentRunner.successes(outcomes));
+
+        hitCountService.flush();
+        long expected = 50_000 - 50_000 / 1000;
+        assertEquals(expected, dbHits.values().stream().mapToLong(Long::longValue).sum());
+        for (long itemId = 0; itemId < ITEMS; itemId++) {
+            assertEquals(0, hitCountService.getPendingItemHits(itemId));
+        }
+    }
+
+    // 반영에 실패한 분량은 대기 조회수로 남았다가 다음 주기에 반영됨
+    @Test
+    void failedFlushIsRetried() {
+        hitCountService.increaseItemHit(1L);
+        hitCountService.increaseItemHit(1L);
+
+        failNextUpdate.set(true);
+        hitCountService.flush();
+        assertEquals(2, hitCountService.getPendingItemHits(1L));
+
+        hitCountService.flush();
+        assertEquals(2L, dbHits.get(1L));
+        assertEquals(0, hitCountService.getPendingItemHits(1L));
+    }
+}
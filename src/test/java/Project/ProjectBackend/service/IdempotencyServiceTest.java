@@ -0,0 +1,159 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.exception.IdempotencyKeyException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 같은 Idempotency-Key 요청이 동시에 몰려도 한 번만 실행되는지 (DB 없이 실행)
+class IdempotencyServiceTest {
+
+    private static final String SCOPE = "POST /orders|buyer";
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = create(100);
+    }
+
+    @Test
+    void concurrentRequestsWithSameKeyRunOnce() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+
+        List<ConcurrentRunner.Outcome<ResponseEntity<String>>> outcomes = ConcurrentRunner.run(32, 32, i ->
+                idempotencyService.execute("key-1", SCOPE, Map.of("itemId", 1), () -> {
+                    executions.incrementAndGet();
+                    sleep(50);
+                    return ResponseEntity.ok("order-" + executions.get());
+                }));
+
+        assertEquals(1, executions.get());
+        assertEquals(32, ConcurrentRunner.successes(outcomes));
+        long replayed = outcomes.stream()
+                .filter(outcome -> "true".equals(outcome.value().getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)))
+                .count();
+        assertEquals(31, replayed);
+        outcomes.forEach(outcome -> assertEquals("order-1", outcome.value().getBody()));
+    }
+
+    @Test
+    void rejectsSameKeyWithDifferentPayload() {
+        idempotencyService.execute("key-1", SCOPE, Map.of("itemId", 1), () -> ResponseEntity.ok("first"));
+
+        IdempotencyKeyException e = assertThrows(IdempotencyKeyException.class, () ->
+                idempotencyService.execute("key-1", SCOPE, Map.of("itemId", 2), () -> ResponseEntity.ok("second")));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, e.getStatus());
+    }
+
+    @Test
+    void sameKeyInOtherScopeIsIndependent() {
+        idempotencyService.execute("key-1", SCOPE, "a", () -> ResponseEntity.ok("first"));
+
+        ResponseEntity<String> other = idempotencyService.execute("key-1", "POST /reviews|buyer", "b",
+                () -> ResponseEntity.ok("second"));
+
+        assertEquals("second", other.getBody());
+        assertNull(other.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    // 실패 응답과 예외는 저장하지 않으므로 같은 키로 다시 실행됨
+    @Test
+    void failuresAreNotStored() {
+        AtomicInteger executions = new AtomicInteger();
+
+        idempotencyService.execute("key-1", SCOPE, "a", () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.badRequest().body("invalid");
+        });
+        assertThrows(IllegalArgumentException.class, () -> idempotencyService.execute("key-1", SCOPE, "a", () -> {
+            executions.incrementAndGet();
+            throw new IllegalArgumentException("재고 부족");
+        }));
+        ResponseEntity<String> response = idempotencyService.execute("key-1", SCOPE, "a", () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok("created");
+        });
+
+        assertEquals(3, executions.get());
+        assertEquals("created", response.getBody());
+    }
+
+    // 처리 중인 키는 개수 초과로 제거하지 않음 (제거하면 같은 키가 다시 실행됨)
+    @Test
+    void neverEvictsInFlightKeys() throws Exception {
+        idempotencyService = create(2);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        List<CompletableFuture<ResponseEntity<String>>> inFlight = List.of(
+                CompletableFuture.supplyAsync(() -> blockingExecute("key-1", started, release, executions)),
+                CompletableFuture.supplyAsync(() -> blockingExecute("key-2", started, release, executions)));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        IdempotencyKeyException e = assertThrows(IdempotencyKeyException.class, () ->
+                idempotencyService.execute("key-3", SCOPE, "c", () -> ResponseEntity.ok("third")));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+
+        release.countDown();
+        for (CompletableFuture<ResponseEntity<String>> future : inFlight) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+
+        // 완료된 키는 제거할 수 있으므로 새 키를 받음
+        assertEquals("third", idempotencyService.execute("key-3", SCOPE, "c", () -> ResponseEntity.ok("third")).getBody());
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void rejectsTooLongKey() {
+        assertThrows(IllegalArgumentException.class, () ->
+                idempotencyService.execute("k".repeat(256), SCOPE, "a", () -> ResponseEntity.ok("x")));
+    }
+
+
+    private ResponseEntity<String> blockingExecute(String key, CountDownLatch started, CountDownLatch release,
+                                                   AtomicInteger executions) {
+        return idempotencyService.execute(key, SCOPE, key, () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ResponseEntity.ok(key);
+        });
+    }
+
+    private static IdempotencyService create(int maxEntries) {
+        IdempotencyService service = new IdempotencyService(maxEntries, new ObjectMapper());
+        ReflectionTestUtils.setField(service, "ttlSeconds", 3600L);
+        ReflectionTestUtils.setField(service, "waitTimeoutSeconds", 5L);
+        return service;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.entity.Image;
+import Project.ProjectBackend.entity.Item;
+import Project.ProjectBackend.entity.Member;
+import Project.ProjectBackend.repository.CategoryRepository;
+import Project.ProjectBackend.repository.ImageRepository;
+import Project.ProjectBackend.repository.ItemRepository;
+import Project.ProjectBackend.repository.MemberRepository;
+import Project.ProjectBackend.repository.StoredObjectRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 상품 삭제가 이미지 참조 수(stored_object.ref_count)를 해제하는지 (DB 없이 실행)
+// StoredObjectRepository의 UPDATE/DELETE는 메모리의 참조 수로 흉내냄
+class ItemServiceTest {
+
+    private static final long ITEM_ID = 1L;
+
+    // 해시 -> 참조 수 ("shared"는 다른 상품 이미지도 참조 중)
+    private final Map<String, Integer> refCounts = new HashMap<>(Map.of("own", 1, "shared", 2));
+
+    private ImageRepository imageRepository;
+    private S3DeletionQueueService s3DeletionQueueService;
+    private ItemService itemService;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        StoredObjectRepository storedObjectRepository = mock(StoredObjectRepository.class);
+        when(storedObjectRepository.release(anyString(), anyInt())).thenAnswer(invocation ->
+                refCounts.computeIfPresent(invocation.getArgument(0),
+                        (hash, count) -> count - invocation.<Integer>getArgument(1)) != null ? 1 : 0);
+        when(storedObjectRepository.deleteIfUnreferenced(anyString())).thenAnswer(invocation -> {
+            String hash = invocation.getArgument(0);
+            return refCounts.containsKey(hash) && refCounts.get(hash) <= 0 && refCounts.remove(hash) != null ? 1 : 0;
+        });
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        s3DeletionQueueService = mock(S3DeletionQueueService.class);
+        StoredObjectService storedObjectService = new StoredObjectService(storedObjectRepository, mock(S3Uploader.class),
+                s3DeletionQueueService, mock(JdbcTemplate.class), transactionTemplate);
+
+        imageRepository = mock(ImageRepository.class);
+        when(imageRepository.findImagePathsIn(anyCollection())).thenReturn(List.of());
+        ImageService imageService = new ImageService(imageRepository, mock(S3Uploader.class),
+                mock(ImageVariantService.class), s3DeletionQueueService, storedObjectService, transactionTemplate);
+        ReflectionTestUtils.setField(imageService, "entityManager", mock(EntityManager.class));
+
+        item = Item.builder()
+                .itemId(ITEM_ID)
+                .seller(Member.builder().memberId("seller").build())
+                .images(new ArrayList<>())
+                .build();
+        item.getImages().add(image(10L, "https://bucket/item/own.png", "own"));
+        item.getImages().add(image(11L, "https://bucket/item/shared.png", "shared"));
+
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.of(item));
+
+        itemService = new ItemService(itemRepository, mock(MemberRepository.class), mock(CategoryRepository.class),
+                mock(ItemCategoryClosureService.class), imageService, mock(HitCountService.class),
+                mock(SearchIndexService.class), mock(StockReservationService.class), transactionTemplate);
+    }
+
+    @Test
+    void deleteItemReleasesImageReferences() {
+        itemService.deleteItem(ITEM_ID);
+
+        // 이 상품만 참조하던 객체는 참조 수 0 -> 행 삭제 + S3 삭제 대기열 등록
+        assertFalse(refCounts.containsKey("own"));
+        // 다른 상품도 참조하는 객체는 참조 1개만 해제하고 유지
+        assertEquals(1, refCounts.get("shared"));
+        verify(s3DeletionQueueService).enqueue(List.of("https://bucket/item/own.png"));
+        verify(imageRepository).deleteAllByImageIds(List.of(10L, 11L));
+        // cascade로 다시 지워지지 않도록 상품의 이미지 컬렉션에서도 제거됨
+        assertTrue(item.getImages().isEmpty());
+    }
+
+
+    private Image image(Long imageId, String imagePath, String contentHash) {
+        return Image.builder()
+                .imageId(imageId)
+                .imagePath(imagePath)
+                .contentHash(contentHash)
+                .item(item)
+                .build();
+    }
+}
@@ -0,0 +1,179 @@
+package Project.ProjectBackend.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 테스트용 S3 호환 서버 (경로 방식 주소 /{bucket}/{key}, 버킷 하나, 서명 검사 없음)
+// 서명 URL PUT, CopyObject(x-amz-copy-source), HEAD, Range GET, DELETE만 지원
+final class LocalS3Stub implements AutoCloseable {
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+
+    // S3 응답의 ISO 8601 날짜 (밀리초까지)
+    private static final DateTimeFormatter ISO_MILLIS = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+
+    private final HttpServer server;
+    private final Map<String, StoredObject> objects = new ConcurrentHashMap<>();
+
+    record StoredObject(byte[] content, String contentType) {
+    }
+
+    LocalS3Stub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    boolean exists(String key) {
+        return objects.containsKey(key);
+    }
+
+    boolean isEmpty() {
+        return objects.isEmpty();
+    }
+
+    byte[] content(String key) {
+        StoredObject object = objects.get(key);
+        return object != null ? object.content() : null;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String key = keyOf(exchange.getRequestURI().getRawPath());
+            switch (exchange.getRequestMethod()) {
+                case "PUT" -> put(exchange, key);
+                case "HEAD" -> head(exchange, key);
+                case "GET" -> get(exchange, key);
+                case "DELETE" -> {
+                    objects.remove(key);
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        }
+    }
+
+    private void put(HttpExchange exchange, String key) throws IOException {
+        String copySource = exchange.getRequestHeaders().getFirst("x-amz-copy-source");
+        if (copySource != null) {
+            StoredObject source = objects.get(keyOf(copySource.startsWith("/") ? copySource : "/" + copySource));
+            if (source == null) {
+                sendError(exchange, 404, "NoSuchKey");
+                return;
+            }
+            objects.put(key, source);
+            byte[] body = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?><CopyObjectResult>"
+                    + "<LastModified>" + ISO_MILLIS.format(ZonedDateTime.now(ZoneOffset.UTC)) + "</LastModified>"
+                    + "<ETag>" + etag(source.content()) + "</ETag></CopyObjectResult>").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/xml");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            return;
+        }
+
+        byte[] content = exchange.getRequestBody().readAllBytes();
+        objects.put(key, new StoredObject(content, exchange.getRequestHeaders().getFirst("Content-Type")));
+        exchange.getResponseHeaders().set("ETag", etag(content));
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private void head(HttpExchange exchange, String key) throws IOException {
+        StoredObject object = objects.get(key);
+        if (object == null) {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+        setObjectHeaders(exchange, object);
+        exchange.getResponseHeaders().set("Content-Length", String.valueOf(object.content().length));
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private void get(HttpExchange exchange, String key) throws IOException {
+        StoredObject object = objects.get(key);
+        if (object == null) {
+            sendError(exchange, 404, "NoSuchKey");
+            return;
+        }
+        byte[] content = object.content();
+        int start = 0;
+        int end = content.length - 1;
+        int status = 200;
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        Matcher matcher = range != null ? RANGE.matcher(range) : null;
+        if (matcher != null && matcher.matches() && content.length > 0) {
+            start = Math.min(Integer.parseInt(matcher.group(1)), content.length - 1);
+            end = Math.min(Integer.parseInt(matcher.group(2)), content.length - 1);
+            status = 206;
+            exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + content.length);
+        }
+        setObjectHeaders(exchange, object);
+        int length = content.length == 0 ? 0 : end - start + 1;
+        exchange.sendResponseHeaders(status, length == 0 ? -1 : length);
+        if (length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(content, start, length);
+            }
+        }
+    }
+
+    private void setObjectHeaders(HttpExchange exchange, StoredObject object) {
+        if (object.contentType() != null) {
+            exchange.getResponseHeaders().set("Content-Type", object.contentType());
+        }
+        exchange.getResponseHeaders().set("ETag", etag(object.content()));
+        exchange.getResponseHeaders().set("Last-Modified",
+                DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC)));
+    }
+
+    private void sendError(HttpExchange exchange, int status, String code) throws IOException {
+        byte[] body = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?><Error><Code>" + code + "</Code>"
+                + "<Message>" + code + "</Message></Error>").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    // "/{bucket}/{key}" -> key
+    private static String keyOf(String rawPath) {
+        int slash = rawPath.indexOf('/', 1);
+        String rawKey = slash < 0 ? "" : rawPath.substring(slash + 1);
+        return URLDecoder.decode(rawKey.replace("+", "%2B"), StandardCharsets.UTF_8);
+    }
+
+    private static String etag(byte[] content) {
+        try {
+            return "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
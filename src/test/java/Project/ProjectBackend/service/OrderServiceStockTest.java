@@ -0,0 +1,129 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.dto.AddressDto;
+import Project.ProjectBackend.dto.OrderCreateRequestDto;
+import Project.ProjectBackend.entity.Item;
+import Project.ProjectBackend.entity.Member;
+import Project.ProjectBackend.entity.Orders;
+import Project.ProjectBackend.repository.ItemRepository;
+import Project.ProjectBackend.repository.MemberRepository;
+import Project.ProjectBackend.repository.OrderItemRepository;
+import Project.ProjectBackend.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 동시 주문/취소가 조건부 UPDATE만으로 재고를 지키는지 (DB 없이 실행 - 실제 DB 검증은 OrderStockConcurrencyTest)
+// decreaseStock/increaseStock은 stock >= count 조건부 UPDATE와 같은 의미로 흉내냄
+class OrderServiceStockTest {
+
+    private static final long ITEM_ID = 1L;
+    private static final int STOCK = 100;
+
+    private final AtomicInteger dbStock = new AtomicInteger(STOCK);
+    private final AtomicInteger savedOrders = new AtomicInteger();
+
+    private Member buyer;
+    private OrderRepository orderRepository;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        buyer = Member.builder().memberId("buyer").build();
+        Item item = Item.builder().itemId(ITEM_ID).seller(buyer).price(1000).stockQuantity(STOCK).build();
+
+        MemberRepository memberRepository = mock(MemberRepository.class);
+        when(memberRepository.findById("buyer")).thenReturn(Optional.of(buyer));
+
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        when(itemRepository.findById(ITEM_ID)).thenReturn(Optional.of(item));
+        when(itemRepository.findStockQuantityByItemId(ITEM_ID)).thenAnswer(invocation -> Optional.of(dbStock.get()));
+        when(itemRepository.decreaseStock(eq(ITEM_ID), anyInt())).thenAnswer(invocation -> {
+            int count = invocation.getArgument(1);
+            while (true) {
+                int current = dbStock.get();
+                if (current < count) {
+                    return 0;
+                }
+                if (dbStock.compareAndSet(current, current - count)) {
+                    return 1;
+                }
+            }
+        });
+        when(itemRepository.increaseStock(eq(ITEM_ID), anyInt()))
+                .thenAnswer(invocation -> dbStock.addAndGet(invocation.<Integer>getArgument(1)) > 0 ? 1 : 0);
+
+        orderRepository = mock(OrderRepository.class);
+        when(orderRepository.save(any(Orders.class))).thenAnswer(invocation -> {
+            savedOrders.incrementAndGet();
+            return invocation.getArgument(0);
+        });
+
+        StockReservationService stockReservationService =
+                new StockReservationService(itemRepository, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(stockReservationService, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(stockReservationService, "idleSeconds", 60L);
+        ReflectionTestUtils.setField(stockReservationService, "maxQuantityPerMember", 10);
+        stockReservationService.init();
+
+        orderService = new OrderService(orderRepository, mock(OrderItemRepository.class), memberRepository,
+                itemRepository, mock(CouponService.class), stockReservationService, mock(SalesRollupService.class));
+    }
+
+    @Test
+    void concurrentOrdersNeverOversell() throws Exception {
+        List<ConcurrentRunner.Outcome<Orders>> outcomes = ConcurrentRunner.run(32, 1000, i ->
+                orderService.createOrder(orderRequest(1), buyer));
+
+        assertEquals(STOCK, ConcurrentRunner.successes(outcomes));
+        assertEquals(STOCK, savedOrders.get());
+        assertEquals(0, dbStock.get());
+        outcomes.stream()
+                .filter(outcome -> !outcome.succeeded())
+                .forEach(outcome -> assertEquals(IllegalArgumentException.class, outcome.error().getClass()));
+    }
+
+    // 중복 취소가 동시에 들어와도 취소 상태를 선점한 한 건만 재고를 복구
+    @Test
+    void concurrentCancelsRestoreStockOnce() throws Exception {
+        Orders order = orderService.createOrder(orderRequest(3), buyer);
+        ReflectionTestUtils.setField(order, "orderId", 10L);
+        assertEquals(STOCK - 3, dbStock.get());
+
+        AtomicBoolean canceled = new AtomicBoolean();
+        when(orderRepository.findDetailByOrderId(10L)).thenReturn(Optional.of(order));
+        when(orderRepository.markCanceled(anyLong(), any())).thenAnswer(invocation -> canceled.compareAndSet(false, true) ? 1 : 0);
+
+        List<ConcurrentRunner.Outcome<Object>> outcomes = ConcurrentRunner.run(8, 8, i -> {
+            orderService.cancelOrder(10L, buyer);
+            return null;
+        });
+
+        assertEquals(1, ConcurrentRunner.successes(outcomes));
+        assertEquals(STOCK, dbStock.get());
+    }
+
+
+    private OrderCreateRequestDto orderRequest(int count) {
+        OrderCreateRequestDto request = new OrderCreateRequestDto();
+        ReflectionTestUtils.setField(request, "memberId", buyer.getMemberId());
+        ReflectionTestUtils.setField(request, "itemId", ITEM_ID);
+        ReflectionTestUtils.setField(request, "count", count);
+        ReflectionTestUtils.setField(request, "address", new AddressDto("서울시", "101호", "12345"));
+        return request;
+    }
+}
@@ -0,0 +1,168 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.dto.AddressDto;
+import Project.ProjectBackend.dto.OrderCreateRequestDto;
+import Project.ProjectBackend.entity.Item;
+import Project.ProjectBackend.entity.Member;
+import Project.ProjectBackend.entity.OrderItem;
+import Project.ProjectBackend.entity.Orders;
+import Project.ProjectBackend.entity.Role;
+import Project.ProjectBackend.repository.ItemRepository;
+import Project.ProjectBackend.repository.MemberRepository;
+import Project.ProjectBackend.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 한 상품에 동시 주문이 몰려도 재고 이상으로 팔리지 않는지 확인
+@SpringBootTest
+class OrderStockConcurrencyTest {
+
+    private static final int STOCK = 500;
+    private static final int ORDERS = 2000;
+    private static final int THREADS = 32;
+    private static final long MAX_DURATION_MS = 60_000;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private Member buyer;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        buyer = memberRepository.save(Member.builder()
+                .memberId("stock-test-" + suffix)
+                .password("password")
+                .memberName("재고테스트")
+                .nickName("stock-" + suffix)
+                .email(suffix + "@test.com")
+                .birthDate(LocalDate.of(2000, 1, 1))
+                .role(Role.ROLE_USER)
+                .phoneNum("010-0000-0000")
+                .enabled(true)
+                .build());
+
+        item = itemRepository.save(Item.builder()
+                .seller(buyer)
+                .itemName("동시 주문 테스트 상품")
+                .price(1000)
+                .description("재고 동시성 테스트")
+                .stockQuantity(STOCK)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll(orderRepository.findByMember(buyer, Pageable.unpaged()).getContent());
+        itemRepository.deleteById(item.getItemId());
+        memberRepository.deleteById(buyer.getMemberId());
+    }
+
+    @Test
+    void concurrentOrdersNeverOversell() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    orderService.createOrder(orderRequest(1), buyer);
+                    succeeded.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    rejected.incrementAndGet(); // 재고 부족
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.currentTimeMillis();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.currentTimeMillis() - begin;
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        int remaining = itemRepository.findById(item.getItemId()).orElseThrow().getStockQuantity();
+        int ordered = orderRepository.findByMember(buyer, Pageable.unpaged()).getContent().stream()
+                .flatMap(order -> orderedItems(order).stream())
+                .mapToInt(OrderItem::getCount)
+                .sum();
+
+        assertEquals(STOCK, succeeded.get());
+        assertEquals(ORDERS - STOCK, rejected.get());
+        assertEquals(0, remaining);
+        assertEquals(STOCK, ordered);
+        assertTrue(elapsed < MAX_DURATION_MS, "주문 " + ORDERS + "건 처리 시간 " + elapsed + "ms");
+    }
+
+    @Test
+    void cancelRestoresStockOnce() throws Exception {
+        Orders order = orderService.createOrder(orderRequest(3), buyer);
+        assertEquals(STOCK - 3, itemRepository.findById(item.getItemId()).orElseThrow().getStockQuantity());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(executor.submit(() -> {
+                try {
+                    orderService.cancelOrder(order.getOrderId(), buyer);
+                } catch (IllegalArgumentException ignored) {
+                    // 이미 취소된 주문
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(STOCK, itemRepository.findById(item.getItemId()).orElseThrow().getStockQuantity());
+    }
+
+
+    private OrderCreateRequestDto orderRequest(int count) {
+        OrderCreateRequestDto request = new OrderCreateRequestDto();
+        ReflectionTestUtils.setField(request, "memberId", buyer.getMemberId());
+        ReflectionTestUtils.setField(request, "itemId", item.getItemId());
+        ReflectionTestUtils.setField(request, "count", count);
+        ReflectionTestUtils.setField(request, "address", new AddressDto("서울시", "101호", "12345"));
+        return request;
+    }
+
+    private List<OrderItem> orderedItems(Orders order) {
+        return orderRepository.findDetailByOrderId(order.getOrderId()).orElseThrow().getOrderItems();
+    }
+}
@@ -0,0 +1,181 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.config.AwsS3Config;
+import Project.ProjectBackend.dto.PresignedUploadConfirmDto;
+import Project.ProjectBackend.dto.PresignedUploadDto;
+import Project.ProjectBackend.dto.PresignedUploadRequestDto;
+import Project.ProjectBackend.entity.Image;
+import Project.ProjectBackend.entity.Member;
+import Project.ProjectBackend.repository.ItemRepository;
+import Project.ProjectBackend.repository.MemberRepository;
+import Project.ProjectBackend.repository.PostRepository;
+import Project.ProjectBackend.repository.ReviewRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 서명 URL 발급 -> 클라이언트 PUT -> 확정 흐름을 로컬 S3 스텁으로 확인 (DB 없이 실행)
+class PresignedUploadServiceTest {
+
+    private static final String MEMBER_ID = "uploader";
+
+    // PNG 시그니처 + 임의 내용
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13, 'I', 'H', 'D', 'R'};
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private LocalS3Stub stub;
+    private ImageService imageService;
+    private PresignedUploadService presignedUploadService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new LocalS3Stub();
+
+        AwsS3Config config = new AwsS3Config();
+        ReflectionTestUtils.setField(config, "accessKey", "test");
+        ReflectionTestUtils.setField(config, "secretKey", "test");
+        ReflectionTestUtils.setField(config, "region", "ap-northeast-2");
+        ReflectionTestUtils.setField(config, "endpoint", stub.endpoint());
+        S3Uploader s3Uploader = new S3Uploader(config.amazonS3());
+        ReflectionTestUtils.setField(s3Uploader, "bucket", "test-bucket");
+
+        imageService = mock(ImageService.class);
+        when(imageService.attachToProfile(any(), any())).thenAnswer(invocation -> {
+            ImageService.UploadedImage uploaded = invocation.getArgument(0);
+            return Image.builder().imagePath(uploaded.imagePath()).build();
+        });
+        MemberRepository memberRepository = mock(MemberRepository.class);
+        when(memberRepository.findById(MEMBER_ID))
+                .thenReturn(Optional.of(Member.builder().memberId(MEMBER_ID).build()));
+
+        presignedUploadService = new PresignedUploadService(s3Uploader, imageService,
+                mock(ItemRepository.class), mock(PostRepository.class), mock(ReviewRepository.class),
+                memberRepository, new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(presignedUploadService, "profileDir", "profile");
+        ReflectionTestUtils.setField(presignedUploadService, "expirationSeconds", 600L);
+        ReflectionTestUtils.setField(presignedUploadService, "maxFileSize", 1024L);
+        ReflectionTestUtils.setField(presignedUploadService, "stagingPrefix", "staging");
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void confirmCopiesStagedObjectAndAttachesIt() throws Exception {
+        PresignedUploadDto issued = issue(PNG.length);
+        assertEquals(200, put(issued, PNG));
+
+        List<String> paths = presignedUploadService.confirm(MEMBER_ID, confirmRequest(issued.getUploadId()));
+
+        assertEquals(1, paths.size());
+        String key = keyOf(paths.get(0));
+        assertTrue(key.startsWith("profile/"));
+        assertArrayEquals(PNG, stub.content(key));
+        // 클라이언트가 PUT한 스테이징 객체는 확정 후 남지 않음
+        assertFalse(stub.exists(stagingKeyOf(issued)));
+    }
+
+    @Test
+    void confirmRejectsContentThatIsNotTheDeclaredImage() throws Exception {
+        byte[] text = Arrays.copyOf("not an image....".getBytes(), PNG.length);
+        PresignedUploadDto issued = issue(text.length);
+        assertEquals(200, put(issued, text));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> presignedUploadService.confirm(MEMBER_ID, confirmRequest(issued.getUploadId())));
+
+        // 검증에 실패한 객체는 스테이징/최종 키 모두 삭제하고 대상에 붙이지 않음
+        assertTrue(stub.isEmpty());
+        verify(imageService, never()).attachToProfile(any(), any());
+        // 같은 uploadId로 다시 확정할 수 없음
+        assertThrows(IllegalArgumentException.class,
+                () -> presignedUploadService.confirm(MEMBER_ID, confirmRequest(issued.getUploadId())));
+    }
+
+    @Test
+    void confirmRejectsUnknownUploadId() {
+        assertThrows(IllegalArgumentException.class,
+                () -> presignedUploadService.confirm(MEMBER_ID, confirmRequest("unknown-upload")));
+        verify(imageService, never()).discardUploaded(anyList());
+    }
+
+    @Test
+    void confirmRejectsExpiredUploadId() throws Exception {
+        ReflectionTestUtils.setField(presignedUploadService, "expirationSeconds", 1L);
+        PresignedUploadDto issued = issue(PNG.length);
+        assertEquals(200, put(issued, PNG));
+
+        Thread.sleep(1100);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> presignedUploadService.confirm(MEMBER_ID, confirmRequest(issued.getUploadId())));
+        verify(imageService, never()).attachToProfile(any(), any());
+    }
+
+    @Test
+    void confirmRejectsUploadIssuedToAnotherMember() throws Exception {
+        PresignedUploadDto issued = issue(PNG.length);
+        assertEquals(200, put(issued, PNG));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> presignedUploadService.confirm("someone-else", confirmRequest(issued.getUploadId())));
+    }
+
+
+    private PresignedUploadDto issue(long fileSize) {
+        PresignedUploadRequestDto request = new PresignedUploadRequestDto("profile",
+                List.of(new PresignedUploadRequestDto.FileInfo("photo.png", "image/png", fileSize)));
+        List<PresignedUploadDto> issued = presignedUploadService.issue(MEMBER_ID, request);
+        assertEquals(1, issued.size());
+        return issued.get(0);
+    }
+
+    // 브라우저처럼 서명 URL로 직접 PUT
+    private int put(PresignedUploadDto issued, byte[] content) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(issued.getUploadUrl()))
+                .header("Content-Type", issued.getContentType())
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(content))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private PresignedUploadConfirmDto confirmRequest(String uploadId) {
+        return new PresignedUploadConfirmDto(List.of(uploadId), null);
+    }
+
+    // 서명 URL의 경로(/{bucket}/{key})에서 스테이징 키 추출
+    private String stagingKeyOf(PresignedUploadDto issued) {
+        return keyOf(issued.getUploadUrl().split("\\?")[0]);
+    }
+
+    private String keyOf(String url) {
+        String path = URI.create(url).getPath();
+        return path.substring(path.indexOf('/', 1) + 1);
+    }
+}
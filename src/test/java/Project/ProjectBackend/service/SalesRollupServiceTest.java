@@ -0,0 +1,198 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.entity.Item;
+import Project.ProjectBackend.entity.Member;
+import Project.ProjectBackend.entity.OrderItem;
+import Project.ProjectBackend.entity.Orders;
+import Project.ProjectBackend.repository.SalesDailyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.Invocation;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 매출 집계 버퍼가 동시 기록/반영/재구성에서 주문을 잃거나 두 번 세지 않는지 (DB 없이 실행)
+class SalesRollupServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 1);
+
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+    private SalesRollupService salesRollupService;
+
+    // sales_daily에 반영된 값 ("기준|키|날짜" -> [주문 수, 수량])
+    private final Map<String, long[]> persisted = new ConcurrentHashMap<>();
+    private final AtomicBoolean failNextFlush = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    if (failNextFlush.getAndSet(false)) {
+                        throw new IllegalStateException("DB 연결 실패");
+                    }
+                    Collection<Object> rows = invocation.getArgument(1);
+                    ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+                    for (Object row : rows) {
+                        Map<Integer, Object> values = valuesOf(setter, row);
+                        String key = values.get(1) + "|" + values.get(2) + "|" + values.get(3);
+                        persisted.merge(key, new long[]{(Long) values.get(4), (Long) values.get(5)},
+                                (a, b) -> new long[]{a[0] + b[0], a[1] + b[1]});
+                    }
+                    return new int[0][];
+                });
+
+        transactionManager = mock(PlatformTransactionManager.class);
+        salesRollupService = new SalesRollupService(mock(SalesDailyRepository.class), jdbcTemplate,
+                new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void concurrentRecordsAndFlushesLoseNothing() throws Exception {
+        failNextFlush.set(true);
+
+        List<ConcurrentRunner.Outcome<Object>> outcomes = ConcurrentRunner.run(16, 4000, i -> {
+            if (i % 100 == 0) {
+                salesRollupService.flush();
+            } else if (i % 10 == 0) {
+                salesRollupService.recordCanceled(order(DAY, 1L, 2));
+            } else {
+                salesRollupService.recordOrdered(order(DAY, 1L + i % 4, 2));
+            }
+            return null;
+        });
+        salesRollupService.flush();
+
+        assertEquals(4000, ConcurrentRunner.successes(outcomes));
+        // 주문 3600건 - 취소 360건 (flush 40건 제외)
+        assertEquals(3240, persisted.get("TOTAL|ALL|" + DAY)[0]);
+        assertEquals(3240 * 2, persisted.get("TOTAL|ALL|" + DAY)[1]);
+        // 상품 1 주문 800건 (i % 4 == 0, 취소/flush 순번 제외) - 취소 360건
+        assertEquals(800 - 360, persisted.get("ITEM|1|" + DAY)[0]);
+        assertEquals(3240, persisted.get("SELLER|seller|" + DAY)[0]);
+    }
+
+    // 재구성 중 커밋된 기간 내 주문은 재계산 결과에 포함되므로 버퍼에서 빠지고, 기간 밖 주문은 그대로 반영
+    @Test
+    void rebuildDropsDeltasForRebuiltRange() {
+        salesRollupService.recordOrdered(order(DAY, 1L, 1));
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            salesRollupService.recordOrdered(order(DAY, 1L, 1));
+            salesRollupService.recordOrdered(order(DAY.plusDays(1), 1L, 1));
+            return 1;
+        });
+
+        salesRollupService.rebuild(DAY, DAY);
+        // 재구성 시작 시 이전 버퍼는 먼저 반영
+        assertEquals(1, persisted.get("TOTAL|ALL|" + DAY)[0]);
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Long.class), any(Object[].class));
+
+        persisted.clear();
+        salesRollupService.flush();
+
+        assertFalse(persisted.containsKey("TOTAL|ALL|" + DAY));
+        // 재계산 쿼리(기준별 4번)마다 기간 밖 주문 1건
+        assertEquals(4, persisted.get("TOTAL|ALL|" + DAY.plusDays(1))[0]);
+    }
+
+    // 재구성 잠금 때문에 기다리던 주문은 재구성이 커밋(잠금 해제)되는 순간 커밋되므로 재계산에 없음 - 버퍼에 남아야 함
+    @Test
+    void orderBlockedByRebuildLockIsKept() {
+        AtomicBoolean rebuildCommitting = new AtomicBoolean();
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            rebuildCommitting.set(true);
+            return 1;
+        });
+        doAnswer(invocation -> {
+            if (rebuildCommitting.getAndSet(false)) {
+                salesRollupService.recordOrdered(order(DAY, 1L, 2));
+            }
+            return null;
+        }).when(transactionManager).commit(any());
+
+        salesRollupService.rebuild(DAY, DAY);
+        salesRollupService.flush();
+
+        assertEquals(1, persisted.get("TOTAL|ALL|" + DAY)[0]);
+        assertEquals(2, persisted.get("TOTAL|ALL|" + DAY)[1]);
+    }
+
+    // 재구성이 실패하면 재구성 중 버린 증감분을 되돌려 다음 flush에서 반영
+    @Test
+    void failedRebuildRestoresDroppedDeltas() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            salesRollupService.recordOrdered(order(DAY, 1L, 3));
+            throw new IllegalStateException("재계산 실패");
+        });
+
+        assertThrows(IllegalStateException.class, () -> salesRollupService.rebuild(DAY, DAY));
+        salesRollupService.flush();
+
+        assertEquals(1, persisted.get("TOTAL|ALL|" + DAY)[0]);
+        assertEquals(3, persisted.get("TOTAL|ALL|" + DAY)[1]);
+    }
+
+    @Test
+    void rejectsInvalidRange() {
+        assertThrows(IllegalArgumentException.class, () -> salesRollupService.rebuild(DAY, DAY.minusDays(1)));
+        assertThrows(IllegalArgumentException.class, () -> salesRollupService.rebuild(DAY, DAY.plusDays(400)));
+    }
+
+
+    private static Orders order(LocalDate day, Long itemId, int count) {
+        Item item = Item.builder()
+                .itemId(itemId)
+                .seller(Member.builder().memberId("seller").build())
+                .price(1000)
+                .build();
+        OrderItem orderItem = new OrderItem();
+        orderItem.setItem(item);
+        orderItem.setOrderPrice(1000);
+        orderItem.setCount(count);
+
+        Orders order = new Orders();
+        order.setOrderDate(day.atTime(12, 0));
+        order.setDiscountAmount(BigDecimal.ZERO);
+        order.getOrderItems().add(orderItem);
+        return order;
+    }
+
+    // setter가 PreparedStatement에 넣은 값 (파라미터 위치 -> 값)
+    private static Map<Integer, Object> valuesOf(ParameterizedPreparedStatementSetter<Object> setter, Object row)
+            throws Exception {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.setValues(ps, row);
+        Map<Integer, Object> values = new HashMap<>();
+        for (Invocation invocation : mockingDetails(ps).getInvocations()) {
+            Object value = invocation.getArgument(1);
+            values.put(invocation.getArgument(0), value instanceof java.sql.Date date ? date.toLocalDate() : value);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,53 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.entity.Item;
+import Project.ProjectBackend.repository.ItemRepository;
+import Project.ProjectBackend.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+// 메모리 역색인 검색 - 1글자/2글자 이상 검색어 (DB 없이 실행)
+class SearchIndexServiceTest {
+
+    private SearchIndexService searchIndexService;
+
+    @BeforeEach
+    void setUp() {
+        searchIndexService = new SearchIndexService(mock(ItemRepository.class), mock(PostRepository.class));
+        searchIndexService.indexItem(item(1L, "만화책 세트", "전권 일괄 판매"));
+        searchIndexService.indexItem(item(2L, "원목 책상", "거의 새 것"));
+        searchIndexService.indexItem(item(3L, "겨울 옷", "패딩 점퍼"));
+    }
+
+    // 1글자 검색어도 해당 글자가 들어간 상품을 찾음 (단어 중간/끝 포함)
+    @Test
+    void singleCharacterTermsAreSearchable() {
+        assertEquals(Set.of(1L, 2L), Set.copyOf(searchIndexService.searchItemIds("책", null, 10)));
+        assertEquals(List.of(3L), searchIndexService.searchItemIds("옷", null, 10));
+        assertTrue(searchIndexService.searchItemIds("폰", null, 10).isEmpty());
+    }
+
+    @Test
+    void multiCharacterTermsUseBigrams() {
+        assertEquals(List.of(1L), searchIndexService.searchItemIds("만화", null, 10));
+        // 1글자 + 2글자 단어는 둘 다 포함하는 문서만
+        assertEquals(List.of(1L), searchIndexService.searchItemIds("책 세트", null, 10));
+        assertTrue(searchIndexService.searchItemIds("책 패딩", null, 10).isEmpty());
+    }
+
+
+    private static Item item(Long itemId, String itemName, String description) {
+        return Item.builder()
+                .itemId(itemId)
+                .itemName(itemName)
+                .description(description)
+                .build();
+    }
+}
@@ -0,0 +1,152 @@
+package Project.ProjectBackend.service;
+
+import Project.ProjectBackend.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 예약이 동시에 몰려도 재고/회원별 한도를 넘지 않고, 한 예약이 두 번 주문되지 않는지 (DB 없이 실행)
+class StockReservationServiceTest {
+
+    private static final long ITEM_ID = 1L;
+
+    private final AtomicInteger dbStock = new AtomicInteger(100);
+    private ItemRepository itemRepository;
+    private StockReservationService stockReservationService;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = mock(ItemRepository.class);
+        when(itemRepository.findStockQuantityByItemId(ITEM_ID)).thenAnswer(invocation -> Optional.of(dbStock.get()));
+
+        stockReservationService = new StockReservationService(itemRepository, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(stockReservationService, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(stockReservationService, "idleSeconds", 60L);
+        ReflectionTestUtils.setField(stockReservationService, "maxQuantityPerMember", 10);
+        stockReservationService.init();
+    }
+
+    @Test
+    void concurrentHoldsNeverExceedStock() throws Exception {
+        List<ConcurrentRunner.Outcome<StockReservationService.Reservation>> outcomes = ConcurrentRunner.run(32, 1000, i ->
+                stockReservationService.hold(ITEM_ID, "member-" + i, 1 + i % 3));
+
+        int held = outcomes.stream()
+                .filter(ConcurrentRunner.Outcome::succeeded)
+                .mapToInt(outcome -> outcome.value().getCount())
+                .sum();
+        assertEquals(held, stockReservationService.heldQuantities().get(ITEM_ID));
+        assertEquals(100 - held, stockReservationService.getAvailableQuantity(ITEM_ID));
+        // 남은 수량으로는 어떤 요청(1~3개)도 받을 수 없을 만큼만 남음
+        assertTrue(100 - held < 3);
+    }
+
+    @Test
+    void concurrentHoldsRespectPerMemberCap() throws Exception {
+        List<ConcurrentRunner.Outcome<StockReservationService.Reservation>> outcomes = ConcurrentRunner.run(16, 50, i ->
+                stockReservationService.hold(ITEM_ID, "greedy", 1));
+
+        assertEquals(10, ConcurrentRunner.successes(outcomes));
+        assertEquals(90, stockReservationService.getAvailableQuantity(ITEM_ID));
+        // 다른 회원은 영향 없음
+        stockReservationService.hold(ITEM_ID, "other", 10);
+    }
+
+    // reserve는 주문 생성 즉시 확보용이라 회원별 한도 없음
+    @Test
+    void reserveIsNotCappedPerMember() {
+        stockReservationService.reserve(ITEM_ID, "buyer", 50);
+        assertEquals(50, stockReservationService.getAvailableQuantity(ITEM_ID));
+    }
+
+    @Test
+    void reservationIsClaimedOnce() throws Exception {
+        StockReservationService.Reservation reservation = stockReservationService.hold(ITEM_ID, "buyer", 2);
+
+        List<ConcurrentRunner.Outcome<StockReservationService.Reservation>> outcomes = ConcurrentRunner.run(16, 16, i ->
+                stockReservationService.claim(reservation.getReservationId(), "buyer", ITEM_ID));
+
+        assertEquals(1, ConcurrentRunner.successes(outcomes));
+        // 주문 처리 중인 예약은 취소할 수 없음
+        assertThrows(IllegalArgumentException.class,
+                () -> stockReservationService.cancel(reservation.getReservationId(), "buyer"));
+    }
+
+    // 주문으로 전환되면 예약이 빠지고 캐시된 재고에서 차감 (DB를 다시 읽지 않음)
+    @Test
+    void convertedReservationIsSubtractedFromCachedStock() {
+        StockReservationService.Reservation reservation = stockReservationService.hold(ITEM_ID, "buyer", 3);
+        stockReservationService.claim(reservation.getReservationId(), "buyer", ITEM_ID);
+
+        dbStock.addAndGet(-3);
+        stockReservationService.completeWithTransaction(reservation, true);
+
+        assertEquals(97, stockReservationService.getAvailableQuantity(ITEM_ID));
+        assertNull(stockReservationService.heldQuantities().get(ITEM_ID));
+        verify(itemRepository, times(1)).findStockQuantityByItemId(ITEM_ID);
+    }
+
+    // 예약 이후 캐시가 폐기되고 다시 읽혔으면 이미 차감된 값일 수 있으므로 차감하지 않고 다시 읽음
+    @Test
+    void conversionAfterReloadReadsStockAgain() {
+        StockReservationService.Reservation reservation = stockReservationService.hold(ITEM_ID, "buyer", 3);
+        stockReservationService.claim(reservation.getReservationId(), "buyer", ITEM_ID);
+
+        dbStock.addAndGet(-3);
+        stockReservationService.evictAfterCommit(ITEM_ID);
+        stockReservationService.getAvailableQuantity(ITEM_ID);
+        stockReservationService.completeWithTransaction(reservation, true);
+
+        assertEquals(97, stockReservationService.getAvailableQuantity(ITEM_ID));
+    }
+
+    // 다른 주문의 커밋/취소로 캐시가 계속 폐기되어도 조회/예약이 실패하지 않음 (적재 직후 폐기되면 다시 적재)
+    @Test
+    void concurrentEvictionsNeverBreakReservations() throws Exception {
+        dbStock.set(1_000_000);
+
+        List<ConcurrentRunner.Outcome<Integer>> outcomes = ConcurrentRunner.run(32, 5000, i -> {
+            switch (i % 3) {
+                case 0 -> stockReservationService.evictAfterCommit(ITEM_ID);
+                case 1 -> stockReservationService.hold(ITEM_ID, "member-" + i, 1);
+                default -> stockReservationService.getAvailableQuantity(ITEM_ID);
+            }
+            return i;
+        });
+
+        assertEquals(5000, ConcurrentRunner.successes(outcomes));
+    }
+
+    @Test
+    void cancelReleasesQuantityAndMemberCap() {
+        StockReservationService.Reservation reservation = stockReservationService.hold(ITEM_ID, "buyer", 10);
+        assertThrows(IllegalArgumentException.class, () -> stockReservationService.hold(ITEM_ID, "buyer", 1));
+
+        stockReservationService.cancel(reservation.getReservationId(), "buyer");
+
+        assertEquals(100, stockReservationService.getAvailableQuantity(ITEM_ID));
+        stockReservationService.hold(ITEM_ID, "buyer", 10);
+    }
+
+    @Test
+    void onlyOwnerCanCancel() {
+        StockReservationService.Reservation reservation = stockReservationService.hold(ITEM_ID, "buyer", 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> stockReservationService.cancel(reservation.getReservationId(), "someone-else"));
+    }
+}
@@ -0,0 +1,206 @@
+package Project.ProjectBackend.upload;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MultipartStreamReaderTest {
+
+    private static final String BOUNDARY = "----boundary7MA4YWxk";
+
+    @Test
+    void boundaryOfReadsQuotedAndPlainValues() {
+        assertEquals(BOUNDARY, MultipartStreamReader.boundaryOf("multipart/form-data; boundary=" + BOUNDARY));
+        assertEquals("a;b", MultipartStreamReader.boundaryOf("Multipart/Form-Data; boundary=\"a;b\""));
+        assertNull(MultipartStreamReader.boundaryOf("application/json"));
+        assertNull(MultipartStreamReader.boundaryOf(null));
+    }
+
+    @Test
+    void readsFieldAndFileParts() throws IOException {
+        byte[] file = binary(1000);
+        byte[] body = body(field("folder", "post"), filePart("photo.png", file));
+
+        List<byte[]> contents = readAll(new ByteArrayInputStream(body));
+
+        assertEquals(2, contents.size());
+        assertArrayEquals("post".getBytes(StandardCharsets.UTF_8), contents.get(0));
+        assertArrayEquals(file, contents.get(1));
+    }
+
+    // 경계가 read 호출 사이에 나뉘어 들어와도 같은 결과
+    @Test
+    void handlesBoundarySplitAcrossReads() throws IOException {
+        byte[] file = binary(5000);
+        byte[] body = body(field("folder", "post"), filePart("a.png", file), filePart("b.png", file));
+
+        for (int chunk : new int[]{1, 2, 3, 7, BOUNDARY.length() + 3, 4096}) {
+            List<byte[]> contents = readAll(new ChunkedInputStream(body, chunk));
+            assertEquals(3, contents.size(), "chunk " + chunk);
+            assertArrayEquals(file, contents.get(1), "chunk " + chunk);
+            assertArrayEquals(file, contents.get(2), "chunk " + chunk);
+        }
+    }
+
+    // 파일 내용에 경계의 앞부분과 같은 바이트가 있어도 경계로 보지 않음
+    @Test
+    void keepsPartialDelimiterInsideContent() throws IOException {
+        byte[] file = ("before\r\n--" + BOUNDARY.substring(0, 10) + "after").getBytes(StandardCharsets.ISO_8859_1);
+        byte[] body = body(filePart("a.png", file));
+
+        List<byte[]> contents = readAll(new ChunkedInputStream(body, 3));
+
+        assertEquals(1, contents.size());
+        assertArrayEquals(file, contents.get(0));
+    }
+
+    @Test
+    void rejectsBodyWithoutFinalBoundary() {
+        String truncated = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"files\"; filename=\"a.png\"\r\n\r\n"
+                + "partial content";
+
+        assertThrows(IOException.class,
+                () -> readAll(new ByteArrayInputStream(truncated.getBytes(StandardCharsets.ISO_8859_1))));
+    }
+
+    @Test
+    void rejectsBodyEndingRightAfterBoundary() {
+        byte[] body = ("--" + BOUNDARY).getBytes(StandardCharsets.ISO_8859_1);
+
+        assertThrows(IOException.class, () -> readAll(new ByteArrayInputStream(body)));
+    }
+
+    @Test
+    void rejectsOversizedField() {
+        char[] value = new char[MultipartStreamReader.MAX_FIELD_SIZE + 1];
+        Arrays.fill(value, 'a');
+        byte[] body = body(field("note", new String(value)), filePart("a.png", binary(10)));
+
+        assertThrows(IOException.class, () -> readAll(new ByteArrayInputStream(body)));
+    }
+
+    // 필드를 읽지 않고 다음 파트로 넘어가도 버리는 양이 제한됨
+    @Test
+    void rejectsOversizedFieldWhenSkipped() {
+        char[] value = new char[MultipartStreamReader.MAX_FIELD_SIZE + 1];
+        Arrays.fill(value, 'a');
+        byte[] body = body(field("note", new String(value)), filePart("a.png", binary(10)));
+
+        assertThrows(IOException.class, () -> {
+            MultipartStreamReader reader = new MultipartStreamReader(new ByteArrayInputStream(body), BOUNDARY);
+            while (reader.nextPart() != null) {
+                // 내용은 읽지 않음
+            }
+        });
+    }
+
+    @Test
+    void allowsLargeFilePart() throws IOException {
+        byte[] file = binary(MultipartStreamReader.MAX_FIELD_SIZE * 3);
+        byte[] body = body(filePart("big.png", file));
+
+        List<byte[]> contents = readAll(new ChunkedInputStream(body, 8192));
+
+        assertArrayEquals(file, contents.get(0));
+    }
+
+    @Test
+    void rejectsTooManyFields() {
+        String[] fields = new String[MultipartStreamReader.MAX_FIELD_COUNT + 1];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = field("f" + i, "v");
+        }
+
+        assertThrows(IOException.class, () -> readAll(new ByteArrayInputStream(body(fields))));
+    }
+
+    @Test
+    void rejectsOversizedHeader() {
+        char[] name = new char[9 * 1024];
+        Arrays.fill(name, 'n');
+        byte[] body = body(field(new String(name), "v"));
+
+        assertThrows(IOException.class, () -> readAll(new ByteArrayInputStream(body)));
+    }
+
+
+    private static List<byte[]> readAll(InputStream in) throws IOException {
+        MultipartStreamReader reader = new MultipartStreamReader(in, BOUNDARY);
+        List<byte[]> contents = new ArrayList<>();
+        MultipartStreamReader.Part part;
+        while ((part = reader.nextPart()) != null) {
+            contents.add(part.body().readAllBytes());
+        }
+        return contents;
+    }
+
+    private static String field(String name, String value) {
+        return "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n" + value;
+    }
+
+    private static String filePart(String fileName, byte[] content) {
+        return "Content-Disposition: form-data; name=\"files\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: image/png\r\n\r\n" + new String(content, StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] body(String... parts) {
+        StringBuilder body = new StringBuilder("preamble\r\n");
+        for (String part : parts) {
+            body.append("--").append(BOUNDARY).append("\r\n").append(part).append("\r\n");
+        }
+        body.append("--").append(BOUNDARY).append("--\r\n");
+        return body.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] binary(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i * 31 + 7);
+        }
+        return bytes;
+    }
+
+    // read 한 번에 최대 chunk바이트만 돌려주는 스트림 (네트워크에서 나뉘어 도착하는 본문)
+    private static final class ChunkedInputStream extends InputStream {
+
+        private final byte[] data;
+        private final int chunk;
+        private int position;
+
+        private ChunkedInputStream(byte[] data, int chunk) {
+            this.data = data;
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read() {
+            return position < data.length ? data[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= data.length) {
+                return -1;
+            }
+            int count = Math.min(Math.min(len, chunk), data.length - position);
+            System.arraycopy(data, position, b, off, count);
+            position += count;
+            return count;
+        }
+    }
+}